@@ -1,13 +1,32 @@
 package com.studentmanagement.studentmanagementserver.domain.common;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @MappedSuperclass
 public abstract class BaseEntity {
 
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Pooled per-entity sequence instead of IDENTITY so Hibernate can batch inserts; one sequence call
+     * reserves a block of ids. Sequences on existing tables are moved past max(id) by EntityIdSequenceAligner.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_id")
+    @GenericGenerator(
+            name = "entity_id",
+            strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+                    @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+            }
+    )
     private Long id;
 
     @Column(nullable = false, updatable = false)
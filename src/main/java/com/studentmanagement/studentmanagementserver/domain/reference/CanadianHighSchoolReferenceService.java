@@ -1,5 +1,6 @@
 package com.studentmanagement.studentmanagementserver.domain.reference;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
 import java.util.ArrayList;
@@ -30,28 +32,66 @@ public class CanadianHighSchoolReferenceService {
     private static final int DEFAULT_LIMIT = 10;
     private static final int MAX_LIMIT = 50;
     private static final double MIN_SCORE = 0.20d;
+    private static final String METRICS_ENDPOINT = "canadian-high-schools";
+    private static final String[] DATASET_FIELDS = {
+            "id", "name", "streetAddress", "city", "state", "country", "postal"
+    };
+
+    private final ReferenceSearchMetrics searchMetrics;
+    private final ReferenceStringDictionary dictionary = new ReferenceStringDictionary();
+    private final SchoolColumns schools;
+    private final ReferenceDataset dataset;
+
+    public CanadianHighSchoolReferenceService(ObjectMapper objectMapper, ReferenceSearchMetrics searchMetrics) {
+        this.searchMetrics = searchMetrics;
+        this.schools = new SchoolColumns(loadSchools(), dictionary);
+        serializeEntries(objectMapper);
+        dictionary.freeze();
+        this.dataset = ReferenceDataset.of(objectMapper, DATASET_FIELDS, datasetRows());
+        log.info(
+                "Loaded {} Ontario high school entries from {} ({} distinct strings, dataset version {})",
+                schools.size,
+                SEED_FILE,
+                dictionary.size(),
+                dataset.getVersion()
+        );
+    }
 
-    private final List<SchoolEntry> schools;
-
-    public CanadianHighSchoolReferenceService() {
-        this.schools = Collections.unmodifiableList(loadSchools());
-        log.info("Loaded {} Ontario high school entries from {}", schools.size(), SEED_FILE);
+    public ReferenceDataset getDataset() {
+        return dataset;
     }
 
     public List<CanadianHighSchoolReferenceDto> search(String queryRaw, Integer limitRaw) {
+        int[] rows = searchRows(queryRaw, limitRaw);
+        List<CanadianHighSchoolReferenceDto> results = new ArrayList<CanadianHighSchoolReferenceDto>(rows.length);
+        for (int row : rows) {
+            results.add(toDto(row));
+        }
+        return results;
+    }
+
+    public void writeSearchJson(String queryRaw, Integer limitRaw, OutputStream out) throws IOException {
+        ReferenceJsonEntries.writeArray(out, schools.json, searchRows(queryRaw, limitRaw));
+    }
+
+    private int[] searchRows(String queryRaw, Integer limitRaw) {
+        long start = System.nanoTime();
         int limit = normalizeLimit(limitRaw);
         String normalizedQuery = normalizeForSearch(queryRaw);
         if (normalizedQuery == null) {
-            return toDtos(schools.subList(0, Math.min(limit, schools.size())));
+            int[] rows = firstRows(Math.min(limit, schools.size));
+            searchMetrics.record(METRICS_ENDPOINT, "", System.nanoTime() - start, 0, rows.length, rows.length);
+            return rows;
         }
 
         List<String> queryTokens = tokenize(normalizedQuery);
+        int[] queryTokenIds = lookupTokenIds(queryTokens);
         List<ScoredSchool> scored = new ArrayList<ScoredSchool>();
         String compactQuery = normalizedQuery.replace(" ", "");
-        for (SchoolEntry school : schools) {
-            double score = scoreSchool(school, normalizedQuery, compactQuery, queryTokens);
+        for (int row = 0; row < schools.size; row++) {
+            double score = scoreSchool(row, normalizedQuery, compactQuery, queryTokens, queryTokenIds);
             if (score >= MIN_SCORE) {
-                scored.add(new ScoredSchool(school, score));
+                scored.add(new ScoredSchool(row, score));
             }
         }
 
@@ -62,19 +102,29 @@ public class CanadianHighSchoolReferenceService {
                 if (scoreCompare != 0) {
                     return scoreCompare;
                 }
-                int nameCompare = left.school.name.compareToIgnoreCase(right.school.name);
+                int nameCompare = dictionary.get(schools.name[left.row])
+                        .compareToIgnoreCase(dictionary.get(schools.name[right.row]));
                 if (nameCompare != 0) {
                     return nameCompare;
                 }
-                return left.school.city.compareToIgnoreCase(right.school.city);
+                return dictionary.get(schools.city[left.row])
+                        .compareToIgnoreCase(dictionary.get(schools.city[right.row]));
             }
         });
 
-        List<CanadianHighSchoolReferenceDto> results = new ArrayList<CanadianHighSchoolReferenceDto>();
-        for (int i = 0; i < scored.size() && i < limit; i++) {
-            results.add(scored.get(i).school.toDto());
-        }
-        return results;
+        int[] rows = new int[Math.min(limit, scored.size())];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = scored.get(i).row;
+        }
+        searchMetrics.record(
+                METRICS_ENDPOINT,
+                normalizedQuery,
+                System.nanoTime() - start,
+                schools.size,
+                scored.size(),
+                rows.length
+        );
+        return rows;
     }
 
     private int normalizeLimit(Integer limitRaw) {
@@ -182,69 +232,118 @@ public class CanadianHighSchoolReferenceService {
         return out;
     }
 
-    private List<CanadianHighSchoolReferenceDto> toDtos(List<SchoolEntry> entries) {
-        List<CanadianHighSchoolReferenceDto> out = new ArrayList<CanadianHighSchoolReferenceDto>();
-        for (SchoolEntry entry : entries) {
-            out.add(entry.toDto());
+    private void serializeEntries(ObjectMapper objectMapper) {
+        for (int row = 0; row < schools.size; row++) {
+            schools.json[row] = ReferenceJsonEntries.serialize(objectMapper, toDto(row));
         }
-        return out;
     }
 
-    private double scoreSchool(SchoolEntry school,
+    private String[][] datasetRows() {
+        String[][] rows = new String[schools.size][];
+        for (int row = 0; row < schools.size; row++) {
+            rows[row] = new String[]{
+                    dictionary.get(schools.id[row]),
+                    dictionary.get(schools.name[row]),
+                    dictionary.get(schools.streetAddress[row]),
+                    dictionary.get(schools.city[row]),
+                    dictionary.get(schools.state[row]),
+                    dictionary.get(schools.country[row]),
+                    dictionary.get(schools.postal[row])
+            };
+        }
+        return rows;
+    }
+
+    private int[] firstRows(int count) {
+        int[] rows = new int[count];
+        for (int row = 0; row < count; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    private CanadianHighSchoolReferenceDto toDto(int row) {
+        return new CanadianHighSchoolReferenceDto(
+                dictionary.get(schools.id[row]),
+                dictionary.get(schools.name[row]),
+                dictionary.get(schools.streetAddress[row]),
+                dictionary.get(schools.city[row]),
+                dictionary.get(schools.state[row]),
+                dictionary.get(schools.country[row]),
+                dictionary.get(schools.postal[row])
+        );
+    }
+
+    private int[] lookupTokenIds(List<String> tokens) {
+        int[] ids = new int[tokens.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.lookup(tokens.get(i));
+        }
+        return ids;
+    }
+
+    private double scoreSchool(int row,
                                String normalizedQuery,
                                String compactQuery,
-                               List<String> queryTokens) {
-        if (school.normalizedName.equals(normalizedQuery)) {
+                               List<String> queryTokens,
+                               int[] queryTokenIds) {
+        String normalizedName = dictionary.get(schools.normalizedName[row]);
+        String normalizedAcronym = dictionary.get(schools.normalizedAcronym[row]);
+        if (normalizedName.equals(normalizedQuery)) {
             return 1.50d;
         }
-        if (!school.normalizedAcronym.isEmpty() && school.normalizedAcronym.equals(compactQuery)) {
+        if (!normalizedAcronym.isEmpty() && normalizedAcronym.equals(compactQuery)) {
             return 1.35d;
         }
 
+        String normalizedSearchText = dictionary.get(schools.normalizedSearchText[row]);
         double score = 0d;
-        if (school.normalizedName.startsWith(normalizedQuery)) {
+        if (normalizedName.startsWith(normalizedQuery)) {
             score += 0.95d;
-        } else if (school.normalizedName.contains(normalizedQuery)) {
+        } else if (normalizedName.contains(normalizedQuery)) {
             score += 0.80d;
-        } else if (school.normalizedSearchText.contains(normalizedQuery)) {
+        } else if (normalizedSearchText.contains(normalizedQuery)) {
             score += 0.45d;
         }
         if (!compactQuery.isEmpty()) {
-            if (school.normalizedCompactName.startsWith(compactQuery)) {
+            String normalizedCompactName = dictionary.get(schools.normalizedCompactName[row]);
+            if (normalizedCompactName.startsWith(compactQuery)) {
                 score += 0.50d;
-            } else if (school.normalizedCompactName.contains(compactQuery)) {
+            } else if (normalizedCompactName.contains(compactQuery)) {
                 score += 0.35d;
             }
-            if (!school.normalizedAcronym.isEmpty()) {
-                if (school.normalizedAcronym.startsWith(compactQuery)) {
+            if (!normalizedAcronym.isEmpty()) {
+                if (normalizedAcronym.startsWith(compactQuery)) {
                     score += 0.85d;
-                } else if (school.normalizedAcronym.contains(compactQuery)) {
+                } else if (normalizedAcronym.contains(compactQuery)) {
                     score += 0.45d;
                 }
             }
         }
 
-        score += 0.45d * diceCoefficient(school.normalizedName, normalizedQuery);
-        score += 0.25d * diceCoefficient(school.normalizedSearchText, normalizedQuery);
-        score += 0.30d * tokenCoverage(queryTokens, school.normalizedTokens);
-        if (!school.normalizedAcronym.isEmpty() && !compactQuery.isEmpty()) {
-            score += 0.35d * diceCoefficient(school.normalizedAcronym, compactQuery);
+        score += 0.45d * diceCoefficient(normalizedName, normalizedQuery);
+        score += 0.25d * diceCoefficient(normalizedSearchText, normalizedQuery);
+        score += 0.30d * tokenCoverage(queryTokens, queryTokenIds, schools.normalizedTokens[row]);
+        if (!normalizedAcronym.isEmpty() && !compactQuery.isEmpty()) {
+            score += 0.35d * diceCoefficient(normalizedAcronym, compactQuery);
         }
         return score;
     }
 
-    private double tokenCoverage(List<String> queryTokens, List<String> schoolTokens) {
-        if (queryTokens.isEmpty() || schoolTokens.isEmpty()) {
+    private double tokenCoverage(List<String> queryTokens, int[] queryTokenIds, int[] schoolTokenIds) {
+        if (queryTokens.isEmpty() || schoolTokenIds.length == 0) {
             return 0d;
         }
         int matched = 0;
-        for (String queryToken : queryTokens) {
-            if (schoolTokens.contains(queryToken)) {
+        for (int i = 0; i < queryTokenIds.length; i++) {
+            if (containsId(schoolTokenIds, queryTokenIds[i])) {
                 matched++;
                 continue;
             }
+            String queryToken = queryTokens.get(i);
             boolean fuzzyMatched = false;
-            for (String schoolToken : schoolTokens) {
+            for (int schoolTokenId : schoolTokenIds) {
+                String schoolToken = dictionary.get(schoolTokenId);
                 if (schoolToken.contains(queryToken) || queryToken.contains(schoolToken)) {
                     fuzzyMatched = true;
                     break;
@@ -261,6 +360,18 @@ public class CanadianHighSchoolReferenceService {
         return ((double) matched) / ((double) queryTokens.size());
     }
 
+    private boolean containsId(int[] ids, int id) {
+        if (id == ReferenceStringDictionary.ABSENT) {
+            return false;
+        }
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private double diceCoefficient(String left, String right) {
         if (left == null || right == null) {
             return 0d;
@@ -401,10 +512,6 @@ public class CanadianHighSchoolReferenceService {
             this.normalizedTokens = tokenize(this.normalizedSearchText);
         }
 
-        private CanadianHighSchoolReferenceDto toDto() {
-            return new CanadianHighSchoolReferenceDto(id, name, streetAddress, city, state, country, postal);
-        }
-
         private void appendSearchPart(StringBuilder builder, String part) {
             if (part == null || part.isEmpty()) {
                 return;
@@ -436,12 +543,66 @@ public class CanadianHighSchoolReferenceService {
         }
     }
 
+    private static final class SchoolColumns {
+        private final int size;
+        private final int[] id;
+        private final int[] name;
+        private final int[] streetAddress;
+        private final int[] city;
+        private final int[] state;
+        private final int[] country;
+        private final int[] postal;
+        private final int[] normalizedName;
+        private final int[] normalizedCompactName;
+        private final int[] normalizedAcronym;
+        private final int[] normalizedSearchText;
+        private final int[][] normalizedTokens;
+        private final byte[][] json;
+
+        private SchoolColumns(List<SchoolEntry> entries, ReferenceStringDictionary dictionary) {
+            this.size = entries.size();
+            this.id = new int[size];
+            this.name = new int[size];
+            this.streetAddress = new int[size];
+            this.city = new int[size];
+            this.state = new int[size];
+            this.country = new int[size];
+            this.postal = new int[size];
+            this.normalizedName = new int[size];
+            this.normalizedCompactName = new int[size];
+            this.normalizedAcronym = new int[size];
+            this.normalizedSearchText = new int[size];
+            this.normalizedTokens = new int[size][];
+            this.json = new byte[size][];
+
+            for (int row = 0; row < size; row++) {
+                SchoolEntry entry = entries.get(row);
+                id[row] = dictionary.intern(entry.id);
+                name[row] = dictionary.intern(entry.name);
+                streetAddress[row] = dictionary.intern(entry.streetAddress);
+                city[row] = dictionary.intern(entry.city);
+                state[row] = dictionary.intern(entry.state);
+                country[row] = dictionary.intern(entry.country);
+                postal[row] = dictionary.intern(entry.postal);
+                normalizedName[row] = dictionary.intern(entry.normalizedName);
+                normalizedCompactName[row] = dictionary.intern(entry.normalizedCompactName);
+                normalizedAcronym[row] = dictionary.intern(entry.normalizedAcronym);
+                normalizedSearchText[row] = dictionary.intern(entry.normalizedSearchText);
+                int[] tokenIds = new int[entry.normalizedTokens.size()];
+                for (int i = 0; i < tokenIds.length; i++) {
+                    tokenIds[i] = dictionary.intern(entry.normalizedTokens.get(i));
+                }
+                normalizedTokens[row] = tokenIds;
+            }
+        }
+    }
+
     private static class ScoredSchool {
-        private final SchoolEntry school;
+        private final int row;
         private final double score;
 
-        private ScoredSchool(SchoolEntry school, double score) {
-            this.school = school;
+        private ScoredSchool(int row, double score) {
+            this.row = row;
             this.score = score;
         }
     }
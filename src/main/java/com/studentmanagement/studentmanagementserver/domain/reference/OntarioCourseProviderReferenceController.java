@@ -1,14 +1,16 @@
 package com.studentmanagement.studentmanagementserver.domain.reference;
 
 import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.List;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/reference/ontario-course-providers")
@@ -24,11 +26,21 @@ public class OntarioCourseProviderReferenceController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<OntarioCourseProviderReferenceDto>> search(
+    public void search(
             @RequestParam(name = "q", required = false) String query,
             @RequestParam(name = "limit", required = false) Integer limit,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         authSessionService.requireAuthenticatedUser(request);
-        return ResponseEntity.ok(ontarioCourseProviderReferenceService.search(query, limit));
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ontarioCourseProviderReferenceService.writeSearchJson(query, limit, response.getOutputStream());
+    }
+
+    @GetMapping("/dataset")
+    public void dataset(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        authSessionService.requireAuthenticatedUser(request);
+        ontarioCourseProviderReferenceService.getDataset().write(request, response);
     }
 }
@@ -1,5 +1,6 @@
 package com.studentmanagement.studentmanagementserver.domain.reference;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
 import java.util.ArrayList;
@@ -30,28 +32,66 @@ public class OntarioCourseProviderReferenceService {
     private static final int DEFAULT_LIMIT = 10;
     private static final int MAX_LIMIT = 50;
     private static final double MIN_SCORE = 0.20d;
+    private static final String METRICS_ENDPOINT = "ontario-course-providers";
+    private static final String[] DATASET_FIELDS = {
+            "id", "name", "boardName", "schoolSpecialConditions", "streetAddress", "city", "state", "country", "postal"
+    };
+
+    private final ReferenceSearchMetrics searchMetrics;
+    private final ReferenceStringDictionary dictionary = new ReferenceStringDictionary();
+    private final ProviderColumns providers;
+    private final ReferenceDataset dataset;
+
+    public OntarioCourseProviderReferenceService(ObjectMapper objectMapper, ReferenceSearchMetrics searchMetrics) {
+        this.searchMetrics = searchMetrics;
+        this.providers = new ProviderColumns(loadProviders(), dictionary);
+        serializeEntries(objectMapper);
+        dictionary.freeze();
+        this.dataset = ReferenceDataset.of(objectMapper, DATASET_FIELDS, datasetRows());
+        log.info(
+                "Loaded {} Ontario course provider entries from {} ({} distinct strings, dataset version {})",
+                providers.size,
+                SEED_FILE,
+                dictionary.size(),
+                dataset.getVersion()
+        );
+    }
 
-    private final List<ProviderEntry> providers;
-
-    public OntarioCourseProviderReferenceService() {
-        this.providers = Collections.unmodifiableList(loadProviders());
-        log.info("Loaded {} Ontario course provider entries from {}", providers.size(), SEED_FILE);
+    public ReferenceDataset getDataset() {
+        return dataset;
     }
 
     public List<OntarioCourseProviderReferenceDto> search(String queryRaw, Integer limitRaw) {
+        int[] rows = searchRows(queryRaw, limitRaw);
+        List<OntarioCourseProviderReferenceDto> results = new ArrayList<OntarioCourseProviderReferenceDto>(rows.length);
+        for (int row : rows) {
+            results.add(toDto(row));
+        }
+        return results;
+    }
+
+    public void writeSearchJson(String queryRaw, Integer limitRaw, OutputStream out) throws IOException {
+        ReferenceJsonEntries.writeArray(out, providers.json, searchRows(queryRaw, limitRaw));
+    }
+
+    private int[] searchRows(String queryRaw, Integer limitRaw) {
+        long start = System.nanoTime();
         int limit = normalizeLimit(limitRaw);
         String normalizedQuery = normalizeForSearch(queryRaw);
         if (normalizedQuery == null) {
-            return toDtos(providers.subList(0, Math.min(limit, providers.size())));
+            int[] rows = firstRows(Math.min(limit, providers.size));
+            searchMetrics.record(METRICS_ENDPOINT, "", System.nanoTime() - start, 0, rows.length, rows.length);
+            return rows;
         }
 
         List<String> queryTokens = tokenize(normalizedQuery);
+        int[] queryTokenIds = lookupTokenIds(queryTokens);
         String compactQuery = normalizedQuery.replace(" ", "");
         List<ScoredProvider> scored = new ArrayList<ScoredProvider>();
-        for (ProviderEntry provider : providers) {
-            double score = scoreProvider(provider, normalizedQuery, compactQuery, queryTokens);
+        for (int row = 0; row < providers.size; row++) {
+            double score = scoreProvider(row, normalizedQuery, compactQuery, queryTokens, queryTokenIds);
             if (score >= MIN_SCORE) {
-                scored.add(new ScoredProvider(provider, score));
+                scored.add(new ScoredProvider(row, score));
             }
         }
 
@@ -62,19 +102,29 @@ public class OntarioCourseProviderReferenceService {
                 if (scoreCompare != 0) {
                     return scoreCompare;
                 }
-                int nameCompare = left.provider.name.compareToIgnoreCase(right.provider.name);
+                int nameCompare = dictionary.get(providers.name[left.row])
+                        .compareToIgnoreCase(dictionary.get(providers.name[right.row]));
                 if (nameCompare != 0) {
                     return nameCompare;
                 }
-                return left.provider.city.compareToIgnoreCase(right.provider.city);
+                return dictionary.get(providers.city[left.row])
+                        .compareToIgnoreCase(dictionary.get(providers.city[right.row]));
             }
         });
 
-        List<OntarioCourseProviderReferenceDto> results = new ArrayList<OntarioCourseProviderReferenceDto>();
-        for (int i = 0; i < scored.size() && i < limit; i++) {
-            results.add(scored.get(i).provider.toDto());
-        }
-        return results;
+        int[] rows = new int[Math.min(limit, scored.size())];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = scored.get(i).row;
+        }
+        searchMetrics.record(
+                METRICS_ENDPOINT,
+                normalizedQuery,
+                System.nanoTime() - start,
+                providers.size,
+                scored.size(),
+                rows.length
+        );
+        return rows;
     }
 
     private int normalizeLimit(Integer limitRaw) {
@@ -186,70 +236,123 @@ public class OntarioCourseProviderReferenceService {
         return out;
     }
 
-    private List<OntarioCourseProviderReferenceDto> toDtos(List<ProviderEntry> entries) {
-        List<OntarioCourseProviderReferenceDto> out = new ArrayList<OntarioCourseProviderReferenceDto>();
-        for (ProviderEntry entry : entries) {
-            out.add(entry.toDto());
+    private void serializeEntries(ObjectMapper objectMapper) {
+        for (int row = 0; row < providers.size; row++) {
+            providers.json[row] = ReferenceJsonEntries.serialize(objectMapper, toDto(row));
         }
-        return out;
     }
 
-    private double scoreProvider(ProviderEntry provider,
+    private String[][] datasetRows() {
+        String[][] rows = new String[providers.size][];
+        for (int row = 0; row < providers.size; row++) {
+            rows[row] = new String[]{
+                    dictionary.get(providers.id[row]),
+                    dictionary.get(providers.name[row]),
+                    dictionary.get(providers.boardName[row]),
+                    dictionary.get(providers.schoolSpecialConditions[row]),
+                    dictionary.get(providers.streetAddress[row]),
+                    dictionary.get(providers.city[row]),
+                    dictionary.get(providers.state[row]),
+                    dictionary.get(providers.country[row]),
+                    dictionary.get(providers.postal[row])
+            };
+        }
+        return rows;
+    }
+
+    private int[] firstRows(int count) {
+        int[] rows = new int[count];
+        for (int row = 0; row < count; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    private OntarioCourseProviderReferenceDto toDto(int row) {
+        return new OntarioCourseProviderReferenceDto(
+                dictionary.get(providers.id[row]),
+                dictionary.get(providers.name[row]),
+                dictionary.get(providers.boardName[row]),
+                dictionary.get(providers.schoolSpecialConditions[row]),
+                dictionary.get(providers.streetAddress[row]),
+                dictionary.get(providers.city[row]),
+                dictionary.get(providers.state[row]),
+                dictionary.get(providers.country[row]),
+                dictionary.get(providers.postal[row])
+        );
+    }
+
+    private int[] lookupTokenIds(List<String> tokens) {
+        int[] ids = new int[tokens.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.lookup(tokens.get(i));
+        }
+        return ids;
+    }
+
+    private double scoreProvider(int row,
                                  String normalizedQuery,
                                  String compactQuery,
-                                 List<String> queryTokens) {
-        if (provider.normalizedName.equals(normalizedQuery)) {
+                                 List<String> queryTokens,
+                                 int[] queryTokenIds) {
+        String normalizedName = dictionary.get(providers.normalizedName[row]);
+        String normalizedAcronym = dictionary.get(providers.normalizedAcronym[row]);
+        if (normalizedName.equals(normalizedQuery)) {
             return 1.50d;
         }
-        if (!provider.normalizedAcronym.isEmpty() && provider.normalizedAcronym.equals(compactQuery)) {
+        if (!normalizedAcronym.isEmpty() && normalizedAcronym.equals(compactQuery)) {
             return 1.35d;
         }
 
+        String normalizedSearchText = dictionary.get(providers.normalizedSearchText[row]);
         double score = 0d;
-        if (provider.normalizedName.startsWith(normalizedQuery)) {
+        if (normalizedName.startsWith(normalizedQuery)) {
             score += 0.95d;
-        } else if (provider.normalizedName.contains(normalizedQuery)) {
+        } else if (normalizedName.contains(normalizedQuery)) {
             score += 0.80d;
-        } else if (provider.normalizedSearchText.contains(normalizedQuery)) {
+        } else if (normalizedSearchText.contains(normalizedQuery)) {
             score += 0.45d;
         }
 
         if (!compactQuery.isEmpty()) {
-            if (provider.normalizedCompactName.startsWith(compactQuery)) {
+            String normalizedCompactName = dictionary.get(providers.normalizedCompactName[row]);
+            if (normalizedCompactName.startsWith(compactQuery)) {
                 score += 0.50d;
-            } else if (provider.normalizedCompactName.contains(compactQuery)) {
+            } else if (normalizedCompactName.contains(compactQuery)) {
                 score += 0.35d;
             }
-            if (!provider.normalizedAcronym.isEmpty()) {
-                if (provider.normalizedAcronym.startsWith(compactQuery)) {
+            if (!normalizedAcronym.isEmpty()) {
+                if (normalizedAcronym.startsWith(compactQuery)) {
                     score += 0.85d;
-                } else if (provider.normalizedAcronym.contains(compactQuery)) {
+                } else if (normalizedAcronym.contains(compactQuery)) {
                     score += 0.45d;
                 }
             }
         }
 
-        score += 0.45d * diceCoefficient(provider.normalizedName, normalizedQuery);
-        score += 0.25d * diceCoefficient(provider.normalizedSearchText, normalizedQuery);
-        score += 0.30d * tokenCoverage(queryTokens, provider.normalizedTokens);
-        if (!provider.normalizedAcronym.isEmpty() && !compactQuery.isEmpty()) {
-            score += 0.35d * diceCoefficient(provider.normalizedAcronym, compactQuery);
+        score += 0.45d * diceCoefficient(normalizedName, normalizedQuery);
+        score += 0.25d * diceCoefficient(normalizedSearchText, normalizedQuery);
+        score += 0.30d * tokenCoverage(queryTokens, queryTokenIds, providers.normalizedTokens[row]);
+        if (!normalizedAcronym.isEmpty() && !compactQuery.isEmpty()) {
+            score += 0.35d * diceCoefficient(normalizedAcronym, compactQuery);
         }
         return score;
     }
 
-    private double tokenCoverage(List<String> queryTokens, List<String> providerTokens) {
-        if (queryTokens.isEmpty() || providerTokens.isEmpty()) {
+    private double tokenCoverage(List<String> queryTokens, int[] queryTokenIds, int[] providerTokenIds) {
+        if (queryTokens.isEmpty() || providerTokenIds.length == 0) {
             return 0d;
         }
         int matched = 0;
-        for (String queryToken : queryTokens) {
-            if (providerTokens.contains(queryToken)) {
+        for (int i = 0; i < queryTokenIds.length; i++) {
+            if (containsId(providerTokenIds, queryTokenIds[i])) {
                 matched++;
                 continue;
             }
+            String queryToken = queryTokens.get(i);
             boolean fuzzyMatched = false;
-            for (String providerToken : providerTokens) {
+            for (int providerTokenId : providerTokenIds) {
+                String providerToken = dictionary.get(providerTokenId);
                 if (providerToken.contains(queryToken) || queryToken.contains(providerToken)) {
                     fuzzyMatched = true;
                     break;
@@ -266,6 +369,18 @@ public class OntarioCourseProviderReferenceService {
         return ((double) matched) / ((double) queryTokens.size());
     }
 
+    private boolean containsId(int[] ids, int id) {
+        if (id == ReferenceStringDictionary.ABSENT) {
+            return false;
+        }
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private double diceCoefficient(String left, String right) {
         if (left == null || right == null) {
             return 0d;
@@ -418,20 +533,6 @@ public class OntarioCourseProviderReferenceService {
             this.normalizedTokens = tokenize(this.normalizedSearchText);
         }
 
-        private OntarioCourseProviderReferenceDto toDto() {
-            return new OntarioCourseProviderReferenceDto(
-                    id,
-                    name,
-                    boardName,
-                    schoolSpecialConditions,
-                    streetAddress,
-                    city,
-                    state,
-                    country,
-                    postal
-            );
-        }
-
         private void appendSearchPart(StringBuilder builder, String part) {
             if (part == null || part.isEmpty()) {
                 return;
@@ -463,12 +564,72 @@ public class OntarioCourseProviderReferenceService {
         }
     }
 
+    private static final class ProviderColumns {
+        private final int size;
+        private final int[] id;
+        private final int[] name;
+        private final int[] boardName;
+        private final int[] schoolSpecialConditions;
+        private final int[] streetAddress;
+        private final int[] city;
+        private final int[] state;
+        private final int[] country;
+        private final int[] postal;
+        private final int[] normalizedName;
+        private final int[] normalizedCompactName;
+        private final int[] normalizedAcronym;
+        private final int[] normalizedSearchText;
+        private final int[][] normalizedTokens;
+        private final byte[][] json;
+
+        private ProviderColumns(List<ProviderEntry> entries, ReferenceStringDictionary dictionary) {
+            this.size = entries.size();
+            this.id = new int[size];
+            this.name = new int[size];
+            this.boardName = new int[size];
+            this.schoolSpecialConditions = new int[size];
+            this.streetAddress = new int[size];
+            this.city = new int[size];
+            this.state = new int[size];
+            this.country = new int[size];
+            this.postal = new int[size];
+            this.normalizedName = new int[size];
+            this.normalizedCompactName = new int[size];
+            this.normalizedAcronym = new int[size];
+            this.normalizedSearchText = new int[size];
+            this.normalizedTokens = new int[size][];
+            this.json = new byte[size][];
+
+            for (int row = 0; row < size; row++) {
+                ProviderEntry entry = entries.get(row);
+                id[row] = dictionary.intern(entry.id);
+                name[row] = dictionary.intern(entry.name);
+                boardName[row] = dictionary.intern(entry.boardName);
+                schoolSpecialConditions[row] = dictionary.intern(entry.schoolSpecialConditions);
+                streetAddress[row] = dictionary.intern(entry.streetAddress);
+                city[row] = dictionary.intern(entry.city);
+                state[row] = dictionary.intern(entry.state);
+                country[row] = dictionary.intern(entry.country);
+                postal[row] = dictionary.intern(entry.postal);
+                normalizedName[row] = dictionary.intern(entry.normalizedName);
+                normalizedCompactName[row] = dictionary.intern(entry.normalizedCompactName);
+                normalizedAcronym[row] = dictionary.intern(entry.normalizedAcronym);
+                normalizedSearchText[row] = dictionary.intern(entry.normalizedSearchText);
+                int[] tokenIds = new int[entry.normalizedTokens.size()];
+                for (int i = 0; i < tokenIds.length; i++) {
+                    tokenIds[i] = dictionary.intern(entry.normalizedTokens.get(i));
+                }
+                normalizedTokens[row] = tokenIds;
+            }
+        }
+    }
+
     private static class ScoredProvider {
-        private final ProviderEntry provider;
+        private final int row;
         private final double score;
 
-        private ScoredProvider(ProviderEntry provider, double score) {
-            this.provider = provider;
+        private ScoredProvider(int row, double score) {
+            this.row = row;
             this.score = score;
         }
     }
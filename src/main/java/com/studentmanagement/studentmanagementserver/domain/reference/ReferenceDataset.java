@@ -0,0 +1,170 @@
+package com.studentmanagement.studentmanagementserver.domain.reference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full reference dataset rendered once at startup, versioned by content hash so clients can cache it. The body
+ * is a column layout: field names once in {@code fields}, then each entry as an array of values in that order,
+ * so keys are not repeated per entry. Only the gzipped body is kept; the rare client that refuses gzip gets it
+ * inflated on the fly.
+ */
+public final class ReferenceDataset {
+
+    private static final int VERSION_LENGTH = 16;
+    private static final String GZIP = "gzip";
+
+    private final String version;
+    private final int count;
+    private final int jsonLength;
+    private final byte[] gzippedJson;
+
+    private ReferenceDataset(String version, int count, int jsonLength, byte[] gzippedJson) {
+        this.version = version;
+        this.count = count;
+        this.jsonLength = jsonLength;
+        this.gzippedJson = gzippedJson;
+    }
+
+    static ReferenceDataset of(ObjectMapper objectMapper, String[] fields, String[][] rows) {
+        byte[] header = ReferenceJsonEntries.serialize(objectMapper, fields);
+        byte[][] entries = new byte[rows.length][];
+        int[] order = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            entries[i] = ReferenceJsonEntries.serialize(objectMapper, rows[i]);
+            order[i] = i;
+        }
+        String version = contentHash(header, entries);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            out.write(("{\"version\":\"" + version + "\",\"count\":" + rows.length + ",\"fields\":")
+                    .getBytes(StandardCharsets.UTF_8));
+            out.write(header);
+            out.write(",\"rows\":".getBytes(StandardCharsets.UTF_8));
+            ReferenceJsonEntries.writeArray(out, entries, order);
+            out.write('}');
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to render reference dataset", e);
+        }
+        byte[] json = out.toByteArray();
+        return new ReferenceDataset(version, rows.length, json.length, gzip(json));
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(request);
+        String etag = "\"" + version + (gzip ? "-gz" : "") + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            response.setContentLength(gzippedJson.length);
+            response.getOutputStream().write(gzippedJson);
+        } else {
+            response.setContentLength(jsonLength);
+            try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(gzippedJson))) {
+                StreamUtils.copy(json, response.getOutputStream());
+            }
+        }
+        response.getOutputStream().flush();
+    }
+
+    /**
+     * Reads every {@code Accept-Encoding} coding with its {@code q} weight. An explicit {@code gzip} entry decides;
+     * otherwise {@code *} does. A weight of zero means refused.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String entry : headers.nextElement().split(",")) {
+                String[] parts = entry.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean accepted = qualityOf(parts) > 0.0d;
+                if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+                    gzip = gzip == null ? accepted : gzip || accepted;
+                } else if ("*".equals(coding)) {
+                    wildcard = accepted;
+                }
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 1 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0.0d;
+                }
+            }
+        }
+        return 1.0d;
+    }
+
+    private static String contentHash(byte[] header, byte[][] entries) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(header);
+            md.update((byte) '\n');
+            for (byte[] entry : entries) {
+                md.update(entry);
+                md.update((byte) '\n');
+            }
+            byte[] digest = md.digest();
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.substring(0, VERSION_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress reference dataset", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,40 @@
+package com.studentmanagement.studentmanagementserver.domain.reference;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Helpers for reference entries whose JSON is serialized once at index build time.
+ */
+final class ReferenceJsonEntries {
+
+    private static final int ARRAY_START = '[';
+    private static final int ARRAY_END = ']';
+    private static final int SEPARATOR = ',';
+
+    private ReferenceJsonEntries() {
+    }
+
+    static byte[] serialize(ObjectMapper objectMapper, Object dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reference entry", e);
+        }
+    }
+
+    static void writeArray(OutputStream out, byte[][] entries, int[] rows) throws IOException {
+        out.write(ARRAY_START);
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0) {
+                out.write(SEPARATOR);
+            }
+            out.write(entries[rows[i]]);
+        }
+        out.write(ARRAY_END);
+        out.flush();
+    }
+}
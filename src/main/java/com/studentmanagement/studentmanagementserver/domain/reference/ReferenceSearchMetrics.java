@@ -0,0 +1,241 @@
+package com.studentmanagement.studentmanagementserver.domain.reference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class ReferenceSearchMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceSearchMetrics.class);
+
+    private static final long[] LATENCY_BUCKETS_MICROS = {
+            100L, 250L, 500L, 1000L, 2500L, 5000L, 10000L, 25000L, 50000L, 100000L, 250000L
+    };
+    private static final long[] COUNT_BUCKETS = {
+            0L, 1L, 5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L
+    };
+    private static final int SLOW_QUERY_HISTORY = 50;
+
+    private final long slowQueryMicros;
+    private final double slowQuerySampleRate;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<String, EndpointStats>();
+    private final ArrayDeque<SlowQuery> recentSlowQueries = new ArrayDeque<SlowQuery>();
+
+    public ReferenceSearchMetrics(@Value("${app.reference.slow-query-ms:50}") long slowQueryMillis,
+                                  @Value("${app.reference.slow-query-sample-rate:1.0}") double slowQuerySampleRate) {
+        this.slowQueryMicros = TimeUnit.MILLISECONDS.toMicros(Math.max(0L, slowQueryMillis));
+        this.slowQuerySampleRate = Math.max(0d, Math.min(1d, slowQuerySampleRate));
+    }
+
+    public void record(String endpoint,
+                       String normalizedQuery,
+                       long durationNanos,
+                       int candidates,
+                       int matched,
+                       int returned) {
+        long durationMicros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            endpoints.putIfAbsent(endpoint, new EndpointStats());
+            stats = endpoints.get(endpoint);
+        }
+        stats.latencyMicros.record(durationMicros);
+        stats.candidates.record(candidates);
+        stats.matched.record(matched);
+
+        if (durationMicros < slowQueryMicros) {
+            return;
+        }
+        stats.slowQueries.incrementAndGet();
+        if (slowQuerySampleRate < 1d && ThreadLocalRandom.current().nextDouble() >= slowQuerySampleRate) {
+            return;
+        }
+        SlowQuery slowQuery = new SlowQuery(
+                endpoint,
+                normalizedQuery,
+                durationMicros,
+                candidates,
+                matched,
+                returned,
+                LocalDateTime.now().toString()
+        );
+        synchronized (recentSlowQueries) {
+            if (recentSlowQueries.size() >= SLOW_QUERY_HISTORY) {
+                recentSlowQueries.removeFirst();
+            }
+            recentSlowQueries.addLast(slowQuery);
+        }
+        log.warn(
+                "Slow reference search endpoint={} query=\"{}\" durationMs={} candidates={} matched={} returned={}",
+                endpoint,
+                normalizedQuery,
+                durationMicros / 1000d,
+                candidates,
+                matched,
+                returned
+        );
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> endpointSnapshots = new LinkedHashMap<String, Object>();
+        for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Map<String, Object> snapshot = new LinkedHashMap<String, Object>();
+            snapshot.put("latencyMicros", stats.latencyMicros.snapshot());
+            snapshot.put("candidates", stats.candidates.snapshot());
+            snapshot.put("matched", stats.matched.snapshot());
+            snapshot.put("slowQueries", stats.slowQueries.get());
+            endpointSnapshots.put(entry.getKey(), snapshot);
+        }
+
+        List<SlowQuery> slowQueries = new ArrayList<SlowQuery>();
+        synchronized (recentSlowQueries) {
+            Iterator<SlowQuery> iterator = recentSlowQueries.descendingIterator();
+            while (iterator.hasNext()) {
+                slowQueries.add(iterator.next());
+            }
+        }
+
+        Map<String, Object> out = new LinkedHashMap<String, Object>();
+        out.put("slowQueryThresholdMicros", slowQueryMicros);
+        out.put("endpoints", endpointSnapshots);
+        out.put("recentSlowQueries", slowQueries);
+        return out;
+    }
+
+    private static class EndpointStats {
+        private final Histogram latencyMicros = new Histogram(LATENCY_BUCKETS_MICROS);
+        private final Histogram candidates = new Histogram(COUNT_BUCKETS);
+        private final Histogram matched = new Histogram(COUNT_BUCKETS);
+        private final AtomicLong slowQueries = new AtomicLong();
+    }
+
+    private static class Histogram {
+        private final long[] upperBounds;
+        private final AtomicLongArray buckets;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram(long[] upperBounds) {
+            this.upperBounds = upperBounds;
+            this.buckets = new AtomicLongArray(upperBounds.length + 1);
+        }
+
+        private void record(long value) {
+            int index = 0;
+            while (index < upperBounds.length && value > upperBounds[index]) {
+                index++;
+            }
+            buckets.incrementAndGet(index);
+            count.incrementAndGet();
+            sum.addAndGet(value);
+            long currentMax = max.get();
+            while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+                currentMax = max.get();
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            long total = count.get();
+            Map<String, Long> bucketCounts = new LinkedHashMap<String, Long>();
+            for (int i = 0; i < upperBounds.length; i++) {
+                bucketCounts.put("le_" + upperBounds[i], buckets.get(i));
+            }
+            bucketCounts.put("le_inf", buckets.get(upperBounds.length));
+
+            Map<String, Object> out = new LinkedHashMap<String, Object>();
+            out.put("count", total);
+            out.put("mean", total == 0L ? 0d : ((double) sum.get()) / total);
+            out.put("max", max.get());
+            out.put("p50", estimatePercentile(total, 0.50d));
+            out.put("p99", estimatePercentile(total, 0.99d));
+            out.put("buckets", bucketCounts);
+            return out;
+        }
+
+        private long estimatePercentile(long total, double fraction) {
+            if (total == 0L) {
+                return 0L;
+            }
+            long target = (long) Math.ceil(fraction * total);
+            long seen = 0L;
+            for (int i = 0; i < upperBounds.length; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return upperBounds[i];
+                }
+            }
+            return max.get();
+        }
+    }
+
+    public static class SlowQuery {
+        private final String endpoint;
+        private final String normalizedQuery;
+        private final long durationMicros;
+        private final int candidates;
+        private final int matched;
+        private final int returned;
+        private final String recordedAt;
+
+        public SlowQuery(String endpoint,
+                         String normalizedQuery,
+                         long durationMicros,
+                         int candidates,
+                         int matched,
+                         int returned,
+                         String recordedAt) {
+            this.endpoint = endpoint;
+            this.normalizedQuery = normalizedQuery;
+            this.durationMicros = durationMicros;
+            this.candidates = candidates;
+            this.matched = matched;
+            this.returned = returned;
+            this.recordedAt = recordedAt;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getNormalizedQuery() {
+            return normalizedQuery;
+        }
+
+        public long getDurationMicros() {
+            return durationMicros;
+        }
+
+        public int getCandidates() {
+            return candidates;
+        }
+
+        public int getMatched() {
+            return matched;
+        }
+
+        public int getReturned() {
+            return returned;
+        }
+
+        public String getRecordedAt() {
+            return recordedAt;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.studentmanagement.studentmanagementserver.domain.reference;
+
+import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reference/search-metrics")
+public class ReferenceSearchMetricsController {
+
+    private final ManagementAccessService managementAccessService;
+    private final ReferenceSearchMetrics referenceSearchMetrics;
+
+    public ReferenceSearchMetricsController(ManagementAccessService managementAccessService,
+                                            ReferenceSearchMetrics referenceSearchMetrics) {
+        this.managementAccessService = managementAccessService;
+        this.referenceSearchMetrics = referenceSearchMetrics;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> metrics(HttpServletRequest request) {
+        managementAccessService.requireTeacherManagementAccess(request);
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("data", referenceSearchMetrics.snapshot());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,92 @@
+package com.studentmanagement.studentmanagementserver.domain.reference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicating string table shared by the columns of a reference index.
+ * Repeated values (province, country, board, city, tokens) are stored once and referenced by id.
+ * <p>
+ * The hash map is only needed while the columns are built. {@link #freeze()} replaces it with an id array
+ * sorted by value, so lookups become a binary search and the map's per-entry nodes and boxed ids are freed.
+ */
+final class ReferenceStringDictionary {
+
+    static final int ABSENT = -1;
+
+    private Map<String, Integer> ids = new HashMap<String, Integer>();
+    private List<String> building = new ArrayList<String>();
+    private String[] values;
+    private int[] sortedIds;
+
+    int intern(String value) {
+        if (ids == null) {
+            throw new IllegalStateException("Dictionary is frozen");
+        }
+        String key = value == null ? "" : value;
+        Integer existing = ids.get(key);
+        if (existing != null) {
+            return existing.intValue();
+        }
+        int id = building.size();
+        building.add(key);
+        ids.put(key, Integer.valueOf(id));
+        return id;
+    }
+
+    void freeze() {
+        if (ids == null) {
+            return;
+        }
+        String[] frozen = building.toArray(new String[0]);
+        Integer[] order = new Integer[frozen.length];
+        for (int id = 0; id < order.length; id++) {
+            order[id] = Integer.valueOf(id);
+        }
+        Arrays.sort(order, Comparator.comparing((Integer id) -> frozen[id.intValue()]));
+        int[] sorted = new int[order.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = order[i].intValue();
+        }
+        values = frozen;
+        sortedIds = sorted;
+        ids = null;
+        building = null;
+    }
+
+    int lookup(String value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        if (ids != null) {
+            Integer existing = ids.get(value);
+            return existing == null ? ABSENT : existing.intValue();
+        }
+        int low = 0;
+        int high = sortedIds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = values[sortedIds[mid]].compareTo(value);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return sortedIds[mid];
+            }
+        }
+        return ABSENT;
+    }
+
+    String get(int id) {
+        return values != null ? values[id] : building.get(id);
+    }
+
+    int size() {
+        return values != null ? values.length : building.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 records: quoted cells may contain commas, doubled quotes and line breaks.
+ */
+final class CsvRecordReader {
+    private final Reader reader;
+    private int line = 1;
+    private int recordStartLine = 1;
+    private int pending = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    int getRecordStartLine() {
+        return recordStartLine;
+    }
+
+    List<String> next() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        recordStartLine = line;
+        List<String> cells = new ArrayList<String>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        pending = nextChar;
+                    }
+                }
+                line++;
+                break;
+            } else {
+                cell.append((char) c);
+            }
+            c = read();
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
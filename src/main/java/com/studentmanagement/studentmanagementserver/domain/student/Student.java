@@ -3,11 +3,20 @@ package com.studentmanagement.studentmanagementserver.domain.student;
 import com.studentmanagement.studentmanagementserver.domain.common.BaseEntity;
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "students")
+@DynamicUpdate
+@Table(
+        name = "students",
+        indexes = {
+                @Index(name = "idx_students_last_name_id", columnList = "lastName, id"),
+                @Index(name = "idx_students_updated_at", columnList = "updatedAt")
+        }
+)
 public class Student extends BaseEntity {
 
     @OneToOne(optional = false, fetch = FetchType.LAZY)
@@ -27,6 +36,14 @@ public class Student extends BaseEntity {
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
+    // Optimistic lock for profile saves; also the version in profile ETags / If-Match.
+    @Version
+    @Column(name = "profile_version", nullable = false, columnDefinition = "bigint default 0")
+    private long profileVersion;
+
+    @Column(name = "profile_updated_at")
+    private LocalDateTime profileUpdatedAt;
+
     protected Student() {}
 
     public Student(User user, String firstName, String lastName, String nickName) {
@@ -46,10 +63,16 @@ public class Student extends BaseEntity {
     public String getLastName() { return lastName; }
     public String getNickName() { return nickName; }
     public Teacher getTeacher() { return teacher; }
+    public long getProfileVersion() { return profileVersion; }
+    public LocalDateTime getProfileUpdatedAt() { return profileUpdatedAt; }
 
     public void updateProfileNames(String firstName, String lastName, String nickName) {
         this.firstName = firstName;
         this.lastName = lastName;
         this.nickName = nickName;
     }
+
+    public void markProfileUpdated(LocalDateTime profileUpdatedAt) {
+        this.profileUpdatedAt = profileUpdatedAt;
+    }
 }
@@ -1,7 +1,11 @@
 package com.studentmanagement.studentmanagementserver.domain.student;
 
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusBulkUpdater;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.service.JsonListStreamWriter;
 import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -9,7 +13,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.HashMap;
@@ -22,22 +28,60 @@ public class StudentAccountController {
 
     private final StudentAccountService studentAccountService;
     private final ManagementAccessService managementAccessService;
+    private final JsonListStreamWriter jsonListStreamWriter;
 
     public StudentAccountController(StudentAccountService studentAccountService,
-                                    ManagementAccessService managementAccessService) {
+                                    ManagementAccessService managementAccessService,
+                                    JsonListStreamWriter jsonListStreamWriter) {
         this.studentAccountService = studentAccountService;
         this.managementAccessService = managementAccessService;
+        this.jsonListStreamWriter = jsonListStreamWriter;
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> list(HttpServletRequest request) {
+    public ResponseEntity<Map<String, Object>> list(@RequestParam(value = "status", required = false) String status,
+                                                    @RequestParam(value = "q", required = false) String q,
+                                                    @RequestParam(value = "sort", required = false) String sort,
+                                                    @RequestParam(value = "direction", required = false) String direction,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "limit", required = false) String limit,
+                                                    HttpServletRequest request) {
         managementAccessService.requireStudentAccountManagementAccess(request);
-        List<StudentAccountService.StudentAccountItem> accounts = studentAccountService.listStudentAccounts();
+        StudentAccountService.StudentAccountPage page =
+                studentAccountService.listStudentAccounts(status, q, sort, direction, cursor, limit);
         Map<String, Object> response = new HashMap<String, Object>();
-        response.put("data", accounts);
+        response.put("data", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> search(@RequestParam(value = "q", required = false) String q,
+                                                      @RequestParam(value = "status", required = false) String status,
+                                                      @RequestParam(value = "limit", required = false) String limit,
+                                                      HttpServletRequest request) {
+        managementAccessService.requireStudentAccountManagementAccess(request);
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("data", studentAccountService.searchStudentAccounts(q, status, limit));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = "status", required = false) String status,
+                                                        @RequestParam(value = "q", required = false) String q,
+                                                        @RequestParam(value = "sort", required = false) String sort,
+                                                        @RequestParam(value = "direction", required = false) String direction,
+                                                        HttpServletRequest request) {
+        managementAccessService.requireStudentAccountManagementAccess(request);
+        StreamingResponseBody body = jsonListStreamWriter.dataEnvelope(
+                studentAccountService.streamStudentAccounts(status, q, sort, direction)
+        );
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @PostMapping("/{studentId}/reset-password")
     public ResponseEntity<StudentAccountService.ResetStudentPasswordResponse> resetPassword(
             @PathVariable Long studentId,
@@ -61,6 +105,16 @@ public class StudentAccountController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/status")
+    public ResponseEntity<AccountStatusBulkUpdater.Result> updateStatuses(
+            @RequestBody(required = false) UpdateStudentStatusesRequest req,
+            HttpServletRequest request) {
+        User operator = managementAccessService.requireStudentAccountManagementAccess(request);
+        List<Long> studentIds = req == null ? null : req.getStudentIds();
+        String status = req == null ? null : req.getStatus();
+        return ResponseEntity.ok(studentAccountService.updateStudentStatuses(studentIds, status, operator));
+    }
+
     public static class UpdateStudentStatusRequest {
         private String status;
 
@@ -72,4 +126,25 @@ public class StudentAccountController {
             this.status = status;
         }
     }
+
+    public static class UpdateStudentStatusesRequest {
+        private List<Long> studentIds;
+        private String status;
+
+        public List<Long> getStudentIds() {
+            return studentIds;
+        }
+
+        public void setStudentIds(List<Long> studentIds) {
+            this.studentIds = studentIds;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
 }
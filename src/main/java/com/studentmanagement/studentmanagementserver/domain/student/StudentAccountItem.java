@@ -0,0 +1,62 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+
+/**
+ * Row of the student account and roster lists. Also the target of JPQL constructor projections, so it must
+ * stay a top-level class with this constructor.
+ */
+public class StudentAccountItem {
+    private Long studentId;
+    private String username;
+    private UserRole role;
+    private UserAccountStatus status;
+    private String firstName;
+    private String lastName;
+    private String nickName;
+
+    public StudentAccountItem(Long studentId,
+                              String username,
+                              UserRole role,
+                              UserAccountStatus status,
+                              String firstName,
+                              String lastName,
+                              String nickName) {
+        this.studentId = studentId;
+        this.username = username;
+        this.role = role;
+        this.status = status;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.nickName = nickName;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public UserAccountStatus getStatus() {
+        return status;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getNickName() {
+        return nickName;
+    }
+}
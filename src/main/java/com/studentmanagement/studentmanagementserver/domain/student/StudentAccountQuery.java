@@ -0,0 +1,171 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * One page request of the student account list: filters, sort key and the keyset position to continue after.
+ * The cursor is opaque to clients; it carries the sort it was issued for so it cannot be replayed against a
+ * different ordering.
+ */
+public class StudentAccountQuery {
+
+    public enum SortKey {
+        ID,
+        USERNAME,
+        LAST_NAME
+    }
+
+    private final UserAccountStatus status;
+    private final String namePrefix;
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final String afterValue;
+    private final Long afterId;
+    private final int limit;
+
+    private StudentAccountQuery(UserAccountStatus status,
+                                String namePrefix,
+                                SortKey sortKey,
+                                boolean descending,
+                                String afterValue,
+                                Long afterId,
+                                int limit) {
+        this.status = status;
+        this.namePrefix = namePrefix;
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.afterValue = afterValue;
+        this.afterId = afterId;
+        this.limit = limit;
+    }
+
+    /**
+     * Defaults to newest accounts first. {@code q} is a case-insensitive prefix of username, first or last name.
+     */
+    static StudentAccountQuery parse(String statusRaw,
+                                     String q,
+                                     String sortRaw,
+                                     String directionRaw,
+                                     String cursor,
+                                     String limitRaw,
+                                     int defaultLimit,
+                                     int maxLimit) {
+        UserAccountStatus status = null;
+        if (!isBlank(statusRaw)) {
+            try {
+                status = UserAccountStatus.valueOf(statusRaw.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid account status. Expected ACTIVE or ARCHIVED.");
+            }
+        }
+
+        SortKey sortKey = parseSortKey(sortRaw);
+        boolean descending;
+        if (isBlank(directionRaw)) {
+            descending = sortKey == SortKey.ID;
+        } else if ("asc".equalsIgnoreCase(directionRaw.trim())) {
+            descending = false;
+        } else if ("desc".equalsIgnoreCase(directionRaw.trim())) {
+            descending = true;
+        } else {
+            throw new IllegalArgumentException("Invalid direction. Expected asc or desc.");
+        }
+
+        int limit = defaultLimit;
+        if (!isBlank(limitRaw)) {
+            try {
+                limit = Integer.parseInt(limitRaw.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("limit must be a number");
+            }
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        String namePrefix = isBlank(q) ? null : q.trim().toLowerCase(Locale.ROOT);
+        StudentAccountQuery query = new StudentAccountQuery(status, namePrefix, sortKey, descending, null, null, limit);
+        return isBlank(cursor) ? query : query.decodeCursor(cursor.trim());
+    }
+
+    private static SortKey parseSortKey(String sortRaw) {
+        if (isBlank(sortRaw)) {
+            return SortKey.ID;
+        }
+        String normalized = sortRaw.trim();
+        if ("id".equalsIgnoreCase(normalized)) {
+            return SortKey.ID;
+        }
+        if ("username".equalsIgnoreCase(normalized)) {
+            return SortKey.USERNAME;
+        }
+        if ("lastName".equalsIgnoreCase(normalized)) {
+            return SortKey.LAST_NAME;
+        }
+        throw new IllegalArgumentException("Invalid sort. Expected id, username or lastName.");
+    }
+
+    /**
+     * Cursor layout before encoding: {@code sort:direction:id:value}; the value goes last since it may contain ':'.
+     */
+    String nextCursor(Long lastId, String lastValue) {
+        String raw = sortKey.name() + ":" + (descending ? "desc" : "asc") + ":" + lastId + ":"
+                + (lastValue == null ? "" : lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private StudentAccountQuery decodeCursor(String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4 || !sortKey.name().equals(parts[0]) || !(descending ? "desc" : "asc").equals(parts[1])) {
+            throw new IllegalArgumentException("Invalid cursor for this sort");
+        }
+        Long id;
+        try {
+            id = Long.valueOf(parts[2]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new StudentAccountQuery(status, namePrefix, sortKey, descending, parts[3], id, limit);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    public UserAccountStatus getStatus() {
+        return status;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public String getAfterValue() {
+        return afterValue;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
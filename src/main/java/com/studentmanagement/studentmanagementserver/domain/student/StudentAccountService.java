@@ -1,60 +1,168 @@
 package com.studentmanagement.studentmanagementserver.domain.student;
 
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
-import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusBulkUpdater;
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusTarget;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.UserRepository;
-import com.studentmanagement.studentmanagementserver.repo.UserSessionRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
+import com.studentmanagement.studentmanagementserver.service.TeacherBindingRequiredException;
 import com.studentmanagement.studentmanagementserver.service.TemporaryPasswordGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StudentAccountService {
 
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final TemporaryPasswordGenerator temporaryPasswordGenerator;
-    private final UserSessionRepository userSessionRepository;
+    private final AuthSessionService authSessionService;
+    private final AdminDashboardStatistics adminDashboardStatistics;
+    private final AccountStatusBulkUpdater accountStatusBulkUpdater;
+    private final TeacherRepository teacherRepository;
+    private final TeacherStudentRepository teacherStudentRepository;
+    private final StudentNameSearchIndex studentNameSearchIndex;
+    private final int maxPageLimit;
 
     public StudentAccountService(StudentRepository studentRepository,
                                  UserRepository userRepository,
                                  PasswordEncoder passwordEncoder,
                                  TemporaryPasswordGenerator temporaryPasswordGenerator,
-                                 UserSessionRepository userSessionRepository) {
+                                 AuthSessionService authSessionService,
+                                 AdminDashboardStatistics adminDashboardStatistics,
+                                 AccountStatusBulkUpdater accountStatusBulkUpdater,
+                                 TeacherRepository teacherRepository,
+                                 TeacherStudentRepository teacherStudentRepository,
+                                 StudentNameSearchIndex studentNameSearchIndex,
+                                 @Value("${app.student-account.page-max-limit:200}") int maxPageLimit) {
         this.studentRepository = studentRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.temporaryPasswordGenerator = temporaryPasswordGenerator;
-        this.userSessionRepository = userSessionRepository;
+        this.authSessionService = authSessionService;
+        this.adminDashboardStatistics = adminDashboardStatistics;
+        this.accountStatusBulkUpdater = accountStatusBulkUpdater;
+        this.teacherRepository = teacherRepository;
+        this.teacherStudentRepository = teacherStudentRepository;
+        this.studentNameSearchIndex = studentNameSearchIndex;
+        this.maxPageLimit = Math.max(1, maxPageLimit);
     }
 
+    /**
+     * One keyset page of accounts. Only {@code limit + 1} rows are read whatever the enrollment size; the extra
+     * row just signals that a next cursor should be issued. Without {@code cursor} and {@code limit} the call keeps
+     * its original unpaged contract and returns every matching row with no cursor.
+     */
     @Transactional(readOnly = true)
-    public List<StudentAccountItem> listStudentAccounts() {
-        List<Student> students = studentRepository.findAllWithUser();
-        List<StudentAccountItem> result = new ArrayList<StudentAccountItem>(students.size());
-        for (Student student : students) {
-            result.add(new StudentAccountItem(
-                    student.getId(),
-                    student.getUser().getUsername(),
-                    student.getUser().getRole(),
-                    student.getUser().getStatus(),
-                    student.getFirstName(),
-                    student.getLastName(),
-                    student.getNickName()
-            ));
+    public StudentAccountPage listStudentAccounts(String status,
+                                                  String q,
+                                                  String sort,
+                                                  String direction,
+                                                  String cursor,
+                                                  String limit) {
+        StudentAccountQuery query = StudentAccountQuery.parse(
+                status, q, sort, direction, cursor, limit, DEFAULT_PAGE_LIMIT, maxPageLimit
+        );
+        if ((cursor == null || cursor.trim().isEmpty()) && (limit == null || limit.trim().isEmpty())) {
+            try (Stream<StudentAccountItem> rows = studentRepository.streamAccounts(query)) {
+                return new StudentAccountPage(rows.collect(Collectors.toList()), null);
+            }
+        }
+        List<StudentAccountItem> items = studentRepository.findAccountPage(query);
+        String nextCursor = null;
+        if (items.size() > query.getLimit()) {
+            items = items.subList(0, query.getLimit());
+            StudentAccountItem last = items.get(items.size() - 1);
+            nextCursor = query.nextCursor(last.getStudentId(), sortValue(query.getSortKey(), last));
+        }
+        return new StudentAccountPage(items, nextCursor);
+    }
+
+    /**
+     * All accounts matching the filters, for streaming responses. The filters are validated here so a bad request
+     * fails before the response starts; the returned supplier opens the cursor and must run inside a transaction.
+     */
+    public Supplier<Stream<StudentAccountItem>> streamStudentAccounts(String status,
+                                                                      String q,
+                                                                      String sort,
+                                                                      String direction) {
+        StudentAccountQuery query = StudentAccountQuery.parse(
+                status, q, sort, direction, null, null, DEFAULT_PAGE_LIMIT, maxPageLimit
+        );
+        return () -> studentRepository.streamAccounts(query);
+    }
+
+    /**
+     * Ranked name/username matches from the in-memory index; no database round trip once the index is warm.
+     */
+    public List<StudentAccountItem> searchStudentAccounts(String q, String status, String limit) {
+        if (q == null || q.trim().isEmpty()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        StudentAccountQuery query = StudentAccountQuery.parse(
+                status, null, null, null, null, limit, DEFAULT_SEARCH_LIMIT, MAX_SEARCH_LIMIT
+        );
+        return studentNameSearchIndex.search(q, query.getStatus(), query.getLimit());
+    }
+
+    /**
+     * The operator's own roster: students with an ACTIVE assignment to their teacher record, in student id
+     * order. Reads list rows directly from teacher_student, so the cost follows roster size, not enrollment.
+     */
+    @Transactional(readOnly = true)
+    public StudentAccountPage listTeacherRoster(User operator, String cursor, String limit) {
+        Teacher teacher = teacherRepository.findByUser_Id(operator.getId())
+                .orElseThrow(TeacherBindingRequiredException::new);
+        StudentAccountQuery query = StudentAccountQuery.parse(
+                null, null, "id", "asc", cursor, limit, DEFAULT_PAGE_LIMIT, maxPageLimit
+        );
+        List<StudentAccountItem> items = teacherStudentRepository.findRosterPage(
+                teacher.getId(),
+                TeacherStudentStatus.ACTIVE,
+                query.getAfterId() == null ? 0L : query.getAfterId(),
+                PageRequest.of(0, query.getLimit() + 1)
+        );
+        String nextCursor = null;
+        if (items.size() > query.getLimit()) {
+            items = items.subList(0, query.getLimit());
+            nextCursor = query.nextCursor(items.get(items.size() - 1).getStudentId(), null);
+        }
+        return new StudentAccountPage(items, nextCursor);
+    }
+
+    private String sortValue(StudentAccountQuery.SortKey sortKey, StudentAccountItem item) {
+        switch (sortKey) {
+            case USERNAME:
+                return item.getUsername();
+            case LAST_NAME:
+                return item.getLastName();
+            default:
+                return null;
         }
-        return result;
     }
 
     @Transactional
@@ -70,7 +178,7 @@ public class StudentAccountService {
         targetUser.setPasswordHash(passwordEncoder.encode(tempPassword));
         targetUser.setMustChangePassword(true);
         userRepository.save(targetUser);
-        userSessionRepository.revokeAllActiveSessions(targetUser.getId(), LocalDateTime.now());
+        authSessionService.revokeAllSessions(targetUser.getId());
 
         return new ResetStudentPasswordResponse(
                 student.getId(),
@@ -91,10 +199,13 @@ public class StudentAccountService {
                 ));
 
         User targetUser = student.getUser();
+        UserAccountStatus previousStatus = targetUser.getStatus();
         targetUser.updateStatus(targetStatus, operator == null ? null : operator.getId());
         userRepository.save(targetUser);
+        adminDashboardStatistics.studentStatusChanged(previousStatus, targetStatus);
+        studentNameSearchIndex.refreshAfterCommit(student.getId());
         if (targetStatus == UserAccountStatus.ARCHIVED) {
-            userSessionRepository.revokeAllActiveSessions(targetUser.getId(), LocalDateTime.now());
+            authSessionService.revokeAllSessions(targetUser.getId());
         }
 
         return new UpdateStudentStatusResponse(
@@ -104,6 +215,30 @@ public class StudentAccountService {
         );
     }
 
+    /**
+     * {@link #updateStudentStatus} for a whole cohort in one transaction, with a few set-based statements
+     * instead of a load/save per student.
+     */
+    @Transactional
+    public AccountStatusBulkUpdater.Result updateStudentStatuses(List<Long> studentIds, String statusRaw, User operator) {
+        UserAccountStatus targetStatus = parseStudentAccountStatus(statusRaw);
+        AccountStatusBulkUpdater.Result result = accountStatusBulkUpdater.apply(
+                studentIds,
+                "studentIds",
+                "Student account",
+                studentRepository::findStatusTargetsByIdIn,
+                targetStatus,
+                operator
+        );
+        for (AccountStatusTarget target : result.changedTargets()) {
+            studentNameSearchIndex.refreshAfterCommit(target.getAccountId());
+        }
+        for (Map.Entry<UserAccountStatus, Long> previous : result.changedCountsByPreviousStatus().entrySet()) {
+            adminDashboardStatistics.studentStatusChanged(previous.getKey(), targetStatus, previous.getValue());
+        }
+        return result;
+    }
+
     private UserAccountStatus parseStudentAccountStatus(String statusRaw) {
         if (statusRaw == null || statusRaw.trim().isEmpty()) {
             throw new IllegalArgumentException("status is required");
@@ -115,57 +250,21 @@ public class StudentAccountService {
         }
     }
 
-    public static class StudentAccountItem {
-        private Long studentId;
-        private String username;
-        private UserRole role;
-        private UserAccountStatus status;
-        private String firstName;
-        private String lastName;
-        private String nickName;
-
-        public StudentAccountItem(Long studentId,
-                                  String username,
-                                  UserRole role,
-                                  UserAccountStatus status,
-                                  String firstName,
-                                  String lastName,
-                                  String nickName) {
-            this.studentId = studentId;
-            this.username = username;
-            this.role = role;
-            this.status = status;
-            this.firstName = firstName;
-            this.lastName = lastName;
-            this.nickName = nickName;
-        }
-
-        public Long getStudentId() {
-            return studentId;
-        }
-
-        public String getUsername() {
-            return username;
-        }
-
-        public UserRole getRole() {
-            return role;
-        }
-
-        public UserAccountStatus getStatus() {
-            return status;
-        }
+    public static class StudentAccountPage {
+        private final List<StudentAccountItem> items;
+        private final String nextCursor;
 
-        public String getFirstName() {
-            return firstName;
+        public StudentAccountPage(List<StudentAccountItem> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
         }
 
-        public String getLastName() {
-            return lastName;
+        public List<StudentAccountItem> getItems() {
+            return items;
         }
 
-        public String getNickName() {
-            return nickName;
+        public String getNextCursor() {
+            return nextCursor;
         }
     }
 
@@ -2,6 +2,7 @@ package com.studentmanagement.studentmanagementserver.domain.student;
 
 import com.studentmanagement.studentmanagementserver.domain.common.BaseEntity;
 import com.studentmanagement.studentmanagementserver.domain.enums.SchoolType;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -15,6 +16,7 @@ import javax.persistence.Table;
 import java.time.LocalDate;
 
 @Entity
+@DynamicUpdate
 @Table(
         name = "student_course_record",
         indexes = @Index(name = "idx_student_course_record_student_id", columnList = "student_id")
@@ -153,4 +155,30 @@ public class StudentCourseRecord extends BaseEntity {
     public LocalDate getEndTime() {
         return endTime;
     }
+
+    public void updateDetails(SchoolType schoolType,
+                              String schoolName,
+                              String streetAddress,
+                              String city,
+                              String state,
+                              String country,
+                              String postal,
+                              String courseCode,
+                              Integer mark,
+                              Integer gradeLevel,
+                              LocalDate startTime,
+                              LocalDate endTime) {
+        this.schoolType = schoolType;
+        this.schoolName = schoolName;
+        this.streetAddress = streetAddress;
+        this.city = city;
+        this.state = state;
+        this.country = country;
+        this.postal = postal;
+        this.courseCode = courseCode;
+        this.mark = mark;
+        this.gradeLevel = gradeLevel;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
 }
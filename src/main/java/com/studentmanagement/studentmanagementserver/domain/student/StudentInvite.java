@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_student_invites_token", columnList = "invite_token", unique = true),
                 @Index(name = "idx_student_invites_teacher_id", columnList = "teacher_id"),
-                @Index(name = "idx_student_invites_status", columnList = "status")
+                @Index(name = "idx_student_invites_status", columnList = "status"),
+                @Index(name = "idx_student_invites_teacher_pending", columnList = "teacher_id, status, expires_at")
         }
 )
 public class StudentInvite extends BaseEntity {
@@ -38,7 +39,7 @@ public class StudentInvite extends BaseEntity {
     @Column(nullable = false, length = 20)
     private StudentInviteStatus status = StudentInviteStatus.PENDING;
 
-    @Column(nullable = false)
+    @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
     private LocalDateTime usedAt;
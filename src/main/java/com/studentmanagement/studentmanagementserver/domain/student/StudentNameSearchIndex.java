@@ -0,0 +1,342 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory token index over student usernames and names for the account search. Every token maps to the
+ * students containing it in a sorted map, so a query token's prefix matches are one sub-map range.
+ * <p>
+ * Saves that change what is indexed (registration, profile names, account status) refresh their students after
+ * commit. Writes this instance did not see (other instances, startup initializers) are picked up by a delta
+ * re-read of rows marked in the account change sequence since the last sync, at most every {@code search-sync-ms}.
+ * The sequence becomes visible in commit order, so unlike a timestamp window it cannot skip a slow commit.
+ * Readers never lock.
+ */
+@Component
+public class StudentNameSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentNameSearchIndex.class);
+
+    // Letters and digits of any script; accents are stripped first, letters without a decomposition (Ł, 张) stay.
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readTransaction;
+    private final long syncIntervalMillis;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<Long, Entry>();
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<String, Set<Long>>();
+    private volatile boolean loaded;
+    private volatile long lastSyncAt;
+    // Account change sequence the index is known to include; only touched under writeLock.
+    private long syncedSeq;
+
+    public StudentNameSearchIndex(StudentRepository studentRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.student-account.search-sync-ms:30000}") long syncIntervalMillis) {
+        this.studentRepository = studentRepository;
+        // Refreshes run from after-commit callbacks, where the finished transaction's resources are still bound.
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.syncIntervalMillis = Math.max(0L, syncIntervalMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        ensureFresh();
+    }
+
+    /**
+     * Students whose tokens start with every query token, best match first: exact name tokens outrank prefixes,
+     * name fields outrank username fragments, and ties fall back to last name, first name, id.
+     */
+    public List<StudentAccountItem> search(String q, UserAccountStatus status, int limit) {
+        ensureFresh();
+        List<String> queryTokens = tokenize(q);
+        if (queryTokens.isEmpty()) {
+            return new ArrayList<StudentAccountItem>();
+        }
+
+        Set<Long> candidates = null;
+        for (String token : queryTokens) {
+            Set<Long> matches = new HashSet<Long>();
+            for (Set<Long> ids : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                matches.addAll(ids);
+            }
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return new ArrayList<StudentAccountItem>();
+            }
+        }
+
+        String compactQuery = String.join("", queryTokens);
+        List<RankedEntry> ranked = new ArrayList<RankedEntry>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry == null || (status != null && entry.item.getStatus() != status)) {
+                continue;
+            }
+            int score = entry.score(queryTokens, compactQuery);
+            if (score > 0) {
+                ranked.add(new RankedEntry(entry, score));
+            }
+        }
+        Collections.sort(ranked, Comparator
+                .comparingInt((RankedEntry rankedEntry) -> -rankedEntry.score)
+                .thenComparing(rankedEntry -> rankedEntry.entry.sortLastName)
+                .thenComparing(rankedEntry -> rankedEntry.entry.sortFirstName)
+                .thenComparing(rankedEntry -> rankedEntry.entry.item.getStudentId()));
+
+        List<StudentAccountItem> results = new ArrayList<StudentAccountItem>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            results.add(ranked.get(i).entry.item);
+        }
+        return results;
+    }
+
+    /**
+     * Re-indexes the student once the surrounding transaction commits (immediately when there is none). Calls
+     * within one transaction are collected and re-read together, so a bulk import costs one query.
+     */
+    @SuppressWarnings("unchecked")
+    public void refreshAfterCommit(Long studentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(Collections.singleton(studentId));
+            return;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> studentIds = new LinkedHashSet<Long>();
+            TransactionSynchronizationManager.bindResource(this, studentIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(studentIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StudentNameSearchIndex.this);
+                }
+            });
+            pending = studentIds;
+        }
+        pending.add(studentId);
+    }
+
+    private void refresh(Collection<Long> studentIds) {
+        writeLock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            List<StudentAccountItem> items = readTransaction.execute(
+                    status -> studentRepository.findAccountItemsByIdIn(studentIds)
+            );
+            for (StudentAccountItem item : items) {
+                index(item);
+            }
+        } catch (RuntimeException ex) {
+            // The save itself committed; fall back to the next delta sync instead of failing the request.
+            lastSyncAt = 0L;
+            log.warn("Student search index refresh failed; deferring to next sync: {}", ex.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void ensureFresh() {
+        if (!loaded) {
+            writeLock.lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            return;
+        }
+        // Another thread already syncing is good enough; serve the current index rather than wait.
+        if (System.currentTimeMillis() - lastSyncAt >= syncIntervalMillis && writeLock.tryLock()) {
+            try {
+                if (System.currentTimeMillis() - lastSyncAt >= syncIntervalMillis) {
+                    sync();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private void load() {
+        long startedAt = System.currentTimeMillis();
+        long[] seq = new long[1];
+        List<StudentAccountItem> items = readTransaction.execute(status -> {
+            // Read the sequence first: every change up to it has committed, so the rows read next include it.
+            seq[0] = studentRepository.findLastAccountChangeSeq().orElse(0L);
+            return studentRepository.findAllAccountItems();
+        });
+        entries.clear();
+        postings.clear();
+        for (StudentAccountItem item : items) {
+            index(item);
+        }
+        syncedSeq = seq[0];
+        lastSyncAt = startedAt;
+        loaded = true;
+        log.info(
+                "Student search index loaded. students={}, tokens={}, elapsedMs={}",
+                entries.size(),
+                postings.size(),
+                System.currentTimeMillis() - startedAt
+        );
+    }
+
+    private void sync() {
+        long startedAt = System.currentTimeMillis();
+        long[] seq = new long[1];
+        List<StudentAccountItem> items = readTransaction.execute(status -> {
+            seq[0] = studentRepository.findLastAccountChangeSeq().orElse(0L);
+            return studentRepository.findAccountItemsChangedAfter(syncedSeq);
+        });
+        for (StudentAccountItem item : items) {
+            index(item);
+        }
+        syncedSeq = seq[0];
+        lastSyncAt = startedAt;
+    }
+
+    private void index(StudentAccountItem item) {
+        Entry entry = new Entry(item);
+        Entry previous = entries.put(item.getStudentId(), entry);
+        if (previous != null) {
+            for (String token : previous.tokens) {
+                if (!entry.tokens.contains(token)) {
+                    Set<Long> ids = postings.get(token);
+                    if (ids != null) {
+                        ids.remove(item.getStudentId());
+                        if (ids.isEmpty()) {
+                            postings.remove(token, ids);
+                        }
+                    }
+                }
+            }
+        }
+        for (String token : entry.tokens) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(item.getStudentId());
+        }
+    }
+
+    private static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<String>();
+        if (value == null) {
+            return tokens;
+        }
+        String normalized = COMBINING_MARKS
+                .matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class Entry {
+        private final StudentAccountItem item;
+        private final List<String> nameTokens;
+        private final List<String> usernameTokens;
+        private final String compactUsername;
+        private final Set<String> tokens = new HashSet<String>();
+        private final String sortLastName;
+        private final String sortFirstName;
+
+        private Entry(StudentAccountItem item) {
+            this.item = item;
+            this.nameTokens = new ArrayList<String>();
+            nameTokens.addAll(tokenize(item.getFirstName()));
+            nameTokens.addAll(tokenize(item.getLastName()));
+            nameTokens.addAll(tokenize(item.getNickName()));
+            this.usernameTokens = tokenize(item.getUsername());
+            this.compactUsername = String.join("", usernameTokens);
+            tokens.addAll(nameTokens);
+            tokens.addAll(usernameTokens);
+            if (!compactUsername.isEmpty()) {
+                tokens.add(compactUsername);
+            }
+            this.sortLastName = item.getLastName() == null ? "" : item.getLastName().toLowerCase(Locale.ROOT);
+            this.sortFirstName = item.getFirstName() == null ? "" : item.getFirstName().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Exact name token 4, name prefix 3, exact username token 2, username prefix 1, per query token;
+         * a query spelling out the whole username adds 10. Zero when any query token matches nothing.
+         */
+        private int score(List<String> queryTokens, String compactQuery) {
+            int total = compactUsername.equals(compactQuery) ? 10 : 0;
+            for (String queryToken : queryTokens) {
+                int best = 0;
+                for (String token : nameTokens) {
+                    best = Math.max(best, token.equals(queryToken) ? 4 : token.startsWith(queryToken) ? 3 : 0);
+                }
+                for (String token : usernameTokens) {
+                    best = Math.max(best, token.equals(queryToken) ? 2 : token.startsWith(queryToken) ? 1 : 0);
+                }
+                if (best == 0 && compactUsername.startsWith(queryToken)) {
+                    best = 1;
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+
+    private static class RankedEntry {
+        private final Entry entry;
+        private final int score;
+
+        private RankedEntry(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
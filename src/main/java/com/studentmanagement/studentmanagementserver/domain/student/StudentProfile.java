@@ -1,6 +1,7 @@
 package com.studentmanagement.studentmanagementserver.domain.student;
 
 import com.studentmanagement.studentmanagementserver.domain.common.BaseEntity;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -13,6 +14,7 @@ import javax.persistence.UniqueConstraint;
 import java.time.LocalDate;
 
 @Entity
+@DynamicUpdate
 @Table(
         name = "student_profile",
         uniqueConstraints = @UniqueConstraint(name = "uk_student_profile_student_id", columnNames = "student_id"),
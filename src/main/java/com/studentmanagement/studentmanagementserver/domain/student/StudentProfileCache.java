@@ -0,0 +1,47 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of assembled profiles, one entry per student. An entry is only served while its version
+ * matches the student's current profile version, so saves never need to evict explicitly.
+ */
+@Component
+public class StudentProfileCache {
+
+    private final int maxEntries;
+    private final Map<Long, VersionedStudentProfile> entries;
+
+    public StudentProfileCache(@Value("${app.student-profile.cache-max-entries:1000}") int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<Long, VersionedStudentProfile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VersionedStudentProfile> eldest) {
+                return size() > StudentProfileCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized VersionedStudentProfile get(StudentProfileVersion version) {
+        VersionedStudentProfile cached = entries.get(version.getStudentId());
+        if (cached == null || cached.getVersion() != version.getVersion()) {
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized void put(VersionedStudentProfile profile) {
+        VersionedStudentProfile existing = entries.get(profile.getStudentId());
+        if (existing == null || existing.getVersion() <= profile.getVersion()) {
+            entries.put(profile.getStudentId(), profile);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
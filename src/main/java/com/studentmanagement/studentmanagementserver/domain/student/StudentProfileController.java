@@ -1,11 +1,20 @@
 package com.studentmanagement.studentmanagementserver.domain.student;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -14,19 +23,47 @@ import javax.servlet.http.HttpServletRequest;
 public class StudentProfileController {
 
     private final StudentProfileService studentProfileService;
+    private final ObjectMapper objectMapper;
 
-    public StudentProfileController(StudentProfileService studentProfileService) {
+    public StudentProfileController(StudentProfileService studentProfileService, ObjectMapper objectMapper) {
         this.studentProfileService = studentProfileService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<StudentProfileDto> getProfile(HttpServletRequest request) {
-        return ResponseEntity.ok(studentProfileService.getCurrentStudentProfile(request));
+    public ResponseEntity<Object> getProfile(@RequestParam(value = "version", required = false) String version,
+                                             @RequestParam(value = "fields", required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                             HttpServletRequest request,
+                                             WebRequest webRequest) {
+        StudentProfileRepresentation representation = StudentProfileRepresentation.of(version, accept, fields);
+        StudentProfileVersion profileVersion = studentProfileService.getCurrentStudentProfileVersion(request);
+        if (webRequest.checkNotModified(representation.eTag(profileVersion.getETag()))) {
+            return null;
+        }
+        VersionedStudentProfile profile = studentProfileService.getProfile(profileVersion);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(representation.eTag(profile.getETag()))
+                .body(representation.render(objectMapper, profile.getProfile()));
     }
 
     @PutMapping
     public ResponseEntity<StudentProfileDto> saveProfile(@RequestBody(required = false) StudentProfileDto requestBody,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                          HttpServletRequest request) {
-        return ResponseEntity.ok(studentProfileService.saveCurrentStudentProfile(requestBody, request));
+        return saved(studentProfileService.saveCurrentStudentProfile(requestBody, ifMatch, request));
+    }
+
+    @PatchMapping(consumes = {StudentProfileMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StudentProfileDto> patchProfile(@RequestBody JsonNode patch,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          HttpServletRequest request) {
+        return saved(studentProfileService.patchCurrentStudentProfile(patch, ifMatch, request));
+    }
+
+    private ResponseEntity<StudentProfileDto> saved(VersionedStudentProfile profile) {
+        return ResponseEntity.ok().eTag(profile.getETag()).body(profile.getProfile());
     }
 }
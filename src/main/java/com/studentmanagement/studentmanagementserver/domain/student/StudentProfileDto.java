@@ -301,6 +301,7 @@ public class StudentProfileDto {
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class SchoolDto {
+        private Long id;
         private String schoolType;
         private String schoolName;
         private AddressDto address = new AddressDto();
@@ -312,6 +313,14 @@ public class StudentProfileDto {
         private String startTime;
         private String endTime;
 
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
         public String getSchoolType() {
             return schoolType;
         }
@@ -398,6 +407,7 @@ public class StudentProfileDto {
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class CourseDto {
+        private Long id;
         private String schoolName;
         private AddressDto address = new AddressDto();
         private String streetAddress;
@@ -411,6 +421,14 @@ public class StudentProfileDto {
         private String startTime;
         private String endTime;
 
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
         public String getSchoolName() {
             return schoolName;
         }
@@ -0,0 +1,43 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/teacher/students/profiles/export")
+public class StudentProfileExportController {
+
+    private final TeacherStudentProfileService teacherStudentProfileService;
+    private final StudentProfileExporter studentProfileExporter;
+
+    public StudentProfileExportController(TeacherStudentProfileService teacherStudentProfileService,
+                                          StudentProfileExporter studentProfileExporter) {
+        this.teacherStudentProfileService = teacherStudentProfileService;
+        this.studentProfileExporter = studentProfileExporter;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", required = false) String formatRaw,
+                                                        HttpServletRequest request) {
+        StudentProfileExporter.ExportFormat format = StudentProfileExporter.ExportFormat.parse(formatRaw);
+        Long teacherId = teacherStudentProfileService.resolveBulkScope(request).getTeacherId();
+        StreamingResponseBody body = outputStream -> studentProfileExporter.export(teacherId, format, outputStream);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"student-profiles." + format.getExtension() + "\""
+                )
+                .body(body);
+    }
+}
@@ -0,0 +1,297 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams many profiles without materializing them: students are read through a fetch-size cursor and
+ * their school/course rows are loaded per chunk with one IN-list query each, so memory stays bounded by
+ * the chunk size whatever the cohort size.
+ */
+@Component
+public class StudentProfileExporter {
+
+    private static final String TEACHER_PREDICATE = " where exists (select 1 from teacher_student ts"
+            + " where ts.student_id = s.id and ts.teacher_id = :teacherId and ts.status = :activeStatus)";
+    private static final String ORDER_BY = " order by s.id";
+
+    private static final String[] CSV_HEADER = {
+            "studentId", "legalFirstName", "legalLastName", "preferredName", "gender", "birthday", "phone",
+            "email", "statusInCanada", "citizenship", "firstLanguage", "firstBoardingDate", "streetAddress",
+            "streetAddressLine2", "city", "state", "country", "postal", "oenNumber", "ib", "ap",
+            "identityFileNote", "schools", "otherCourses"
+    };
+
+    private final NamedParameterJdbcTemplate cursorTemplate;
+    private final StudentProfileReader studentProfileReader;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public StudentProfileExporter(DataSource dataSource,
+                                  StudentProfileReader studentProfileReader,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.student-profile.export-fetch-size:500}") int fetchSize,
+                                  @Value("${app.student-profile.export-chunk-size:200}") int chunkSize) {
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(Math.max(1, fetchSize));
+        this.cursorTemplate = new NamedParameterJdbcTemplate(cursor);
+        this.studentProfileReader = studentProfileReader;
+        // Postgres only honours the fetch size inside a transaction (autocommit off).
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Writes one line per student. {@code teacherId} limits the export to that teacher's active students;
+     * null exports everyone.
+     */
+    public void export(Long teacherId, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ProfileSink sink = format == ExportFormat.CSV ? new CsvSink(writer) : new NdjsonSink(writer, objectMapper);
+        sink.start();
+        try {
+            readOnlyTransaction.execute(status -> {
+                streamProfiles(teacherId, sink);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void streamProfiles(Long teacherId, ProfileSink sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "select " + StudentProfileReader.PROFILE_COLUMNS + StudentProfileReader.PROFILE_FROM;
+        if (teacherId != null) {
+            sql += TEACHER_PREDICATE;
+            params.addValue("teacherId", teacherId);
+            params.addValue("activeStatus", TeacherStudentStatus.ACTIVE.name());
+        }
+        sql += ORDER_BY;
+
+        Map<Long, StudentProfileDto> chunk = new LinkedHashMap<Long, StudentProfileDto>();
+        cursorTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+            chunk.put(rs.getLong("row_id"), StudentProfileReader.profileDto(rs));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, sink);
+            }
+        });
+        writeChunk(chunk, sink);
+    }
+
+    private void writeChunk(Map<Long, StudentProfileDto> chunk, ProfileSink sink) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        studentProfileReader.loadRecordLists(chunk);
+        try {
+            for (Map.Entry<Long, StudentProfileDto> entry : chunk.entrySet()) {
+                sink.write(entry.getKey(), entry.getValue());
+            }
+            sink.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.clear();
+    }
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat parse(String raw) {
+            if (raw == null || raw.trim().isEmpty()) {
+                return NDJSON;
+            }
+            try {
+                return ExportFormat.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid export format. Expected ndjson or csv.");
+            }
+        }
+    }
+
+    private interface ProfileSink {
+        void start() throws IOException;
+
+        void write(Long studentId, StudentProfileDto profile) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * One v2 (compact) profile object per line, prefixed with its studentId.
+     */
+    private static class NdjsonSink implements ProfileSink {
+        private final Writer writer;
+        private final ObjectMapper objectMapper;
+
+        private NdjsonSink(Writer writer, ObjectMapper objectMapper) {
+            this.writer = writer;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(Long studentId, StudentProfileDto profile) throws IOException {
+            Map<String, Object> line = new LinkedHashMap<String, Object>();
+            line.put("studentId", studentId);
+            line.putAll(StudentProfileRepresentation.compact(profile));
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One row per student; school and course lists are folded into a single "; "-separated cell each.
+     */
+    private static class CsvSink implements ProfileSink {
+        private final Writer writer;
+
+        private CsvSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writeRow(CSV_HEADER);
+        }
+
+        @Override
+        public void write(Long studentId, StudentProfileDto profile) throws IOException {
+            StudentProfileDto.AddressDto address = profile.getAddress();
+            writeRow(new String[] {
+                    String.valueOf(studentId),
+                    profile.getLegalFirstName(),
+                    profile.getLegalLastName(),
+                    profile.getPreferredName(),
+                    profile.getGender(),
+                    profile.getBirthday(),
+                    profile.getPhone(),
+                    profile.getEmail(),
+                    profile.getStatusInCanada(),
+                    profile.getCitizenship(),
+                    profile.getFirstLanguage(),
+                    profile.getFirstBoardingDate(),
+                    address.getStreetAddress(),
+                    address.getStreetAddressLine2(),
+                    address.getCity(),
+                    address.getState(),
+                    address.getCountry(),
+                    address.getPostal(),
+                    profile.getOenNumber(),
+                    profile.getIb(),
+                    String.valueOf(Boolean.TRUE.equals(profile.getAp())),
+                    profile.getIdentityFileNote(),
+                    schoolsCell(profile.getSchoolsOrEmpty()),
+                    coursesCell(profile.getOtherCoursesOrEmpty())
+            });
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String schoolsCell(List<StudentProfileDto.SchoolDto> schools) {
+            StringBuilder sb = new StringBuilder();
+            for (StudentProfileDto.SchoolDto school : schools) {
+                appendEntry(sb, school.getSchoolType() + " " + school.getSchoolName()
+                        + " (" + orBlank(school.getStartTime()) + " - " + orBlank(school.getEndTime()) + ")");
+            }
+            return sb.toString();
+        }
+
+        private static String coursesCell(List<StudentProfileDto.CourseDto> courses) {
+            StringBuilder sb = new StringBuilder();
+            for (StudentProfileDto.CourseDto course : courses) {
+                appendEntry(sb, course.getCourseCode() + " " + orBlank(course.getMark())
+                        + " @ " + course.getSchoolName());
+            }
+            return sb.toString();
+        }
+
+        private static void appendEntry(StringBuilder sb, String entry) {
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append(entry);
+        }
+
+        private static String orBlank(Object value) {
+            return value == null ? "" : String.valueOf(value);
+        }
+
+        private void writeRow(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/teacher/students/profiles/import")
+public class StudentProfileImportController {
+
+    private final StudentProfileImportService studentProfileImportService;
+
+    public StudentProfileImportController(StudentProfileImportService studentProfileImportService) {
+        this.studentProfileImportService = studentProfileImportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StudentProfileImportJob.Snapshot> startImport(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request
+    ) throws IOException {
+        try (Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            StudentProfileImportJob.Snapshot job = studentProfileImportService.startImport(format, contentType, body, request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/teacher/students/profiles/import/" + job.getJobId()))
+                    .body(job);
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<StudentProfileImportJob.Snapshot> getJob(@PathVariable String jobId,
+                                                                   HttpServletRequest request) {
+        return ResponseEntity.ok(studentProfileImportService.getJob(jobId, request));
+    }
+}
@@ -0,0 +1,186 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress and row-level error report of one bulk profile import. Counters are updated by the worker
+ * while clients poll, so everything read from outside goes through {@link #snapshot()}.
+ */
+public class StudentProfileImportJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobId;
+    private final Long operatorUserId;
+    private final int totalRows;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicInteger processedRows = new AtomicInteger();
+    private final AtomicInteger savedRows = new AtomicInteger();
+    private final List<RowError> errors = new ArrayList<RowError>();
+    private volatile State state = State.RUNNING;
+    private volatile String failureMessage;
+    private volatile LocalDateTime finishedAt;
+
+    StudentProfileImportJob(String jobId, Long operatorUserId, int totalRows) {
+        this.jobId = jobId;
+        this.operatorUserId = operatorUserId;
+        this.totalRows = totalRows;
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    Long getOperatorUserId() {
+        return operatorUserId;
+    }
+
+    void rowSaved() {
+        savedRows.incrementAndGet();
+        processedRows.incrementAndGet();
+    }
+
+    void rowFailed(int line, Long studentId, String message) {
+        synchronized (errors) {
+            errors.add(new RowError(line, studentId, message));
+        }
+        processedRows.incrementAndGet();
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String message) {
+        failureMessage = message;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    public Snapshot snapshot() {
+        List<RowError> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = new ArrayList<RowError>(errors);
+        }
+        errorsCopy.sort((a, b) -> Integer.compare(a.getLine(), b.getLine()));
+        return new Snapshot(
+                jobId,
+                state,
+                totalRows,
+                processedRows.get(),
+                savedRows.get(),
+                errorsCopy.size(),
+                failureMessage,
+                startedAt,
+                finishedAt,
+                errorsCopy
+        );
+    }
+
+    public static class Snapshot {
+        private final String jobId;
+        private final State state;
+        private final int totalRows;
+        private final int processedRows;
+        private final int savedRows;
+        private final int failedRows;
+        private final String failureMessage;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime finishedAt;
+        private final List<RowError> errors;
+
+        public Snapshot(String jobId,
+                        State state,
+                        int totalRows,
+                        int processedRows,
+                        int savedRows,
+                        int failedRows,
+                        String failureMessage,
+                        LocalDateTime startedAt,
+                        LocalDateTime finishedAt,
+                        List<RowError> errors) {
+            this.jobId = jobId;
+            this.state = state;
+            this.totalRows = totalRows;
+            this.processedRows = processedRows;
+            this.savedRows = savedRows;
+            this.failedRows = failedRows;
+            this.failureMessage = failureMessage;
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
+            this.errors = errors;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public int getTotalRows() {
+            return totalRows;
+        }
+
+        public int getProcessedRows() {
+            return processedRows;
+        }
+
+        public int getSavedRows() {
+            return savedRows;
+        }
+
+        public int getFailedRows() {
+            return failedRows;
+        }
+
+        public String getFailureMessage() {
+            return failureMessage;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+    }
+
+    public static class RowError {
+        private final int line;
+        private final Long studentId;
+        private final String message;
+
+        public RowError(int line, Long studentId, String message) {
+            this.line = line;
+            this.studentId = studentId;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns an import body into one merge patch per student. NDJSON lines are profile objects carrying a
+ * {@code studentId}; CSV uses the export header, where empty cells leave the field unchanged and the
+ * folded schools/otherCourses summary columns are ignored.
+ */
+final class StudentProfileImportParser {
+
+    private static final Set<String> CSV_TEXT_COLUMNS = new HashSet<String>(Arrays.asList(
+            "legalFirstName", "legalLastName", "preferredName", "firstName", "lastName", "nickName", "gender",
+            "birthday", "phone", "email", "statusInCanada", "citizenship", "firstLanguage", "firstBoardingDate",
+            "oenNumber", "ib", "identityFileNote"
+    ));
+    private static final Set<String> CSV_ADDRESS_COLUMNS = new HashSet<String>(Arrays.asList(
+            "streetAddress", "streetAddressLine2", "city", "state", "country", "postal"
+    ));
+    private static final Set<String> CSV_IGNORED_COLUMNS = new HashSet<String>(Arrays.asList(
+            "schools", "otherCourses"
+    ));
+    private static final String STUDENT_ID = "studentId";
+
+    private StudentProfileImportParser() {
+    }
+
+    static List<ImportRow> parse(StudentProfileExporter.ExportFormat format,
+                                 Reader body,
+                                 ObjectMapper objectMapper,
+                                 int maxRows) throws IOException {
+        List<ImportRow> rows = format == StudentProfileExporter.ExportFormat.CSV
+                ? parseCsv(body, maxRows)
+                : parseNdjson(body, objectMapper, maxRows);
+        Set<Long> seen = new HashSet<Long>();
+        for (ImportRow row : rows) {
+            if (row.error == null && !seen.add(row.studentId)) {
+                row.error = "duplicate studentId " + row.studentId + " in import";
+            }
+        }
+        return rows;
+    }
+
+    private static List<ImportRow> parseNdjson(Reader body, ObjectMapper objectMapper, int maxRows) throws IOException {
+        List<ImportRow> rows = new ArrayList<ImportRow>();
+        BufferedReader reader = new BufferedReader(body);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            requireCapacity(rows, maxRows);
+            ImportRow row = new ImportRow(lineNumber);
+            rows.add(row);
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                row.error = "invalid JSON: " + e.getOriginalMessage();
+                continue;
+            }
+            if (node == null || !node.isObject()) {
+                row.error = "line must be a JSON object";
+                continue;
+            }
+            ObjectNode patch = (ObjectNode) node;
+            JsonNode studentId = patch.remove(STUDENT_ID);
+            if (studentId == null || !studentId.canConvertToLong() || studentId.asLong() <= 0L) {
+                row.error = "studentId must be a positive number";
+                continue;
+            }
+            row.studentId = studentId.asLong();
+            row.patch = patch;
+        }
+        return rows;
+    }
+
+    private static List<ImportRow> parseCsv(Reader body, int maxRows) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(body);
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty");
+        }
+        int studentIdColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (STUDENT_ID.equals(column)) {
+                studentIdColumn = i;
+            } else if (!CSV_TEXT_COLUMNS.contains(column)
+                    && !CSV_ADDRESS_COLUMNS.contains(column)
+                    && !CSV_IGNORED_COLUMNS.contains(column)
+                    && !"ap".equals(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+        }
+        if (studentIdColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain studentId");
+        }
+
+        List<ImportRow> rows = new ArrayList<ImportRow>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue;
+            }
+            requireCapacity(rows, maxRows);
+            ImportRow row = new ImportRow(reader.getRecordStartLine());
+            rows.add(row);
+            try {
+                row.studentId = Long.valueOf(cell(record, studentIdColumn));
+            } catch (NumberFormatException e) {
+                row.error = "studentId must be a positive number";
+                continue;
+            }
+            if (row.studentId.longValue() <= 0L) {
+                row.error = "studentId must be a positive number";
+                continue;
+            }
+            ObjectNode patch = JsonNodeFactory.instance.objectNode();
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim();
+                String value = cell(record, i);
+                if (i == studentIdColumn || value.isEmpty() || CSV_IGNORED_COLUMNS.contains(column)) {
+                    continue;
+                }
+                if (CSV_ADDRESS_COLUMNS.contains(column)) {
+                    patch.with("address").put(column, value);
+                } else if ("ap".equals(column)) {
+                    Boolean ap = parseBoolean(value);
+                    if (ap == null) {
+                        row.error = "ap must be true or false";
+                        break;
+                    }
+                    patch.put(column, ap);
+                } else {
+                    patch.put(column, value);
+                }
+            }
+            row.patch = patch;
+        }
+        return rows;
+    }
+
+    private static void requireCapacity(List<ImportRow> rows, int maxRows) {
+        if (rows.size() >= maxRows) {
+            throw new IllegalArgumentException("Import exceeds the limit of " + maxRows + " rows");
+        }
+    }
+
+    private static String cell(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        if ("true".equals(normalized) || "yes".equals(normalized) || "1".equals(normalized)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equals(normalized) || "no".equals(normalized) || "0".equals(normalized)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    static final class ImportRow {
+        private final int line;
+        private Long studentId;
+        private ObjectNode patch;
+        private String error;
+
+        private ImportRow(int line) {
+            this.line = line;
+        }
+
+        int getLine() {
+            return line;
+        }
+
+        Long getStudentId() {
+            return studentId;
+        }
+
+        ObjectNode getPatch() {
+            return patch;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+}
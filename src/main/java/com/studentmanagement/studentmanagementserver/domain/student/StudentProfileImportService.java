@@ -0,0 +1,305 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk profile import. The body is parsed on the request thread, then a background job works through it
+ * in chunks: one access check and one batch profile read per chunk, merge + validation in parallel, and
+ * the valid rows written in a single transaction. A failing chunk is retried row by row so one bad row
+ * only fails itself.
+ */
+@Service
+public class StudentProfileImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentProfileImportService.class);
+
+    private static final int MAX_RETAINED_JOBS = 50;
+
+    private final TeacherStudentProfileService teacherStudentProfileService;
+    private final StudentProfileService studentProfileService;
+    private final StudentProfileReader studentProfileReader;
+    private final StudentProfileSnapshotStore studentProfileSnapshotStore;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+    private final int batchSize;
+    private final ExecutorService jobExecutor;
+    private final ForkJoinPool validationPool;
+    private final Map<String, StudentProfileImportJob> jobs;
+
+    public StudentProfileImportService(TeacherStudentProfileService teacherStudentProfileService,
+                                       StudentProfileService studentProfileService,
+                                       StudentProfileReader studentProfileReader,
+                                       StudentProfileSnapshotStore studentProfileSnapshotStore,
+                                       StudentRepository studentRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       ObjectMapper objectMapper,
+                                       @Value("${app.student-profile.import-max-rows:5000}") int maxRows,
+                                       @Value("${app.student-profile.import-batch-size:100}") int batchSize,
+                                       @Value("${app.student-profile.import-parallelism:0}") int parallelism) {
+        this.teacherStudentProfileService = teacherStudentProfileService;
+        this.studentProfileService = studentProfileService;
+        this.studentProfileReader = studentProfileReader;
+        this.studentProfileSnapshotStore = studentProfileSnapshotStore;
+        this.studentRepository = studentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.maxRows = Math.max(1, maxRows);
+        this.batchSize = Math.max(1, batchSize);
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-profile-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.validationPool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()
+        );
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<String, StudentProfileImportJob>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StudentProfileImportJob> eldest) {
+                return size() > MAX_RETAINED_JOBS;
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    public StudentProfileImportJob.Snapshot startImport(String formatRaw,
+                                                        String contentType,
+                                                        Reader body,
+                                                        HttpServletRequest request) throws IOException {
+        TeacherStudentProfileService.BulkScope scope = teacherStudentProfileService.resolveBulkScope(request);
+        StudentProfileExporter.ExportFormat format = resolveFormat(formatRaw, contentType);
+        List<StudentProfileImportParser.ImportRow> rows = StudentProfileImportParser.parse(format, body, objectMapper, maxRows);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Import contains no rows");
+        }
+
+        StudentProfileImportJob job = new StudentProfileImportJob(
+                UUID.randomUUID().toString(),
+                scope.getOperatorUserId(),
+                rows.size()
+        );
+        jobs.put(job.getJobId(), job);
+        jobExecutor.execute(() -> run(job, scope, rows));
+        return job.snapshot();
+    }
+
+    public StudentProfileImportJob.Snapshot getJob(String jobId, HttpServletRequest request) {
+        TeacherStudentProfileService.BulkScope scope = teacherStudentProfileService.resolveBulkScope(request);
+        StudentProfileImportJob job = jobs.get(jobId);
+        if (job == null || (!scope.isAllStudents() && !job.getOperatorUserId().equals(scope.getOperatorUserId()))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found: " + jobId);
+        }
+        return job.snapshot();
+    }
+
+    private StudentProfileExporter.ExportFormat resolveFormat(String formatRaw, String contentType) {
+        if (formatRaw != null && !formatRaw.trim().isEmpty()) {
+            return StudentProfileExporter.ExportFormat.parse(formatRaw);
+        }
+        String csvType = StudentProfileExporter.ExportFormat.CSV.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(csvType)) {
+            return StudentProfileExporter.ExportFormat.CSV;
+        }
+        return StudentProfileExporter.ExportFormat.NDJSON;
+    }
+
+    private void run(StudentProfileImportJob job,
+                     TeacherStudentProfileService.BulkScope scope,
+                     List<StudentProfileImportParser.ImportRow> rows) {
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                processChunk(job, scope, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+            }
+            job.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import was interrupted");
+        } catch (RuntimeException | ExecutionException e) {
+            log.error("Student profile import {} failed", job.getJobId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void processChunk(StudentProfileImportJob job,
+                              TeacherStudentProfileService.BulkScope scope,
+                              List<StudentProfileImportParser.ImportRow> chunk) throws InterruptedException, ExecutionException {
+        List<StudentProfileImportParser.ImportRow> candidates = new ArrayList<StudentProfileImportParser.ImportRow>();
+        List<Long> studentIds = new ArrayList<Long>();
+        for (StudentProfileImportParser.ImportRow row : chunk) {
+            if (row.getError() != null) {
+                job.rowFailed(row.getLine(), row.getStudentId(), row.getError());
+            } else {
+                candidates.add(row);
+                studentIds.add(row.getStudentId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<Long> accessible = teacherStudentProfileService.filterAccessibleStudentIds(scope, studentIds);
+        Map<Long, VersionedStudentProfile> current = studentProfileReader.findByStudentIds(accessible);
+        List<ValidatedRow> validated = validationPool.submit(() -> candidates.parallelStream()
+                .map(row -> validate(row, accessible, current))
+                .collect(Collectors.toList())
+        ).get();
+
+        List<ValidatedRow> valid = new ArrayList<ValidatedRow>();
+        for (ValidatedRow row : validated) {
+            if (row.error != null) {
+                job.rowFailed(row.line, row.studentId, row.error);
+            } else {
+                valid.add(row);
+            }
+        }
+        write(job, scope, valid);
+    }
+
+    private ValidatedRow validate(StudentProfileImportParser.ImportRow row,
+                                  Set<Long> accessible,
+                                  Map<Long, VersionedStudentProfile> current) {
+        if (!accessible.contains(row.getStudentId())) {
+            return ValidatedRow.failed(row, "Forbidden: student is not actively assigned to this teacher.");
+        }
+        VersionedStudentProfile profile = current.get(row.getStudentId());
+        if (profile == null) {
+            return ValidatedRow.failed(row, "Student not found: " + row.getStudentId());
+        }
+        try {
+            StudentProfileDto merged = StudentProfileMergePatch.apply(objectMapper, profile.getProfile(), row.getPatch());
+            return new ValidatedRow(row, profile.getVersion(), studentProfileService.validateProfile(merged), null);
+        } catch (RuntimeException e) {
+            return ValidatedRow.failed(row, messageOf(e));
+        }
+    }
+
+    private void write(StudentProfileImportJob job,
+                       TeacherStudentProfileService.BulkScope scope,
+                       List<ValidatedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(rows, scope.getOperatorUserId()));
+            for (int i = 0; i < rows.size(); i++) {
+                job.rowSaved();
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                job.rowFailed(rows.get(0).line, rows.get(0).studentId, messageOf(e));
+                return;
+            }
+        }
+        for (ValidatedRow row : rows) {
+            write(job, scope, Collections.singletonList(row));
+        }
+    }
+
+    private void apply(List<ValidatedRow> rows, Long operatorUserId) {
+        List<Long> studentIds = new ArrayList<Long>();
+        for (ValidatedRow row : rows) {
+            studentIds.add(row.studentId);
+        }
+        Map<Long, Student> students = new HashMap<Long, Student>();
+        for (Student student : studentRepository.findAllById(studentIds)) {
+            students.put(student.getId(), student);
+        }
+        Map<Student, StudentProfileDto> saved = new LinkedHashMap<Student, StudentProfileDto>();
+        for (ValidatedRow row : rows) {
+            Student student = students.get(row.studentId);
+            if (student == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found: " + row.studentId);
+            }
+            // The parser already fails repeats of a studentId; never let a second row overwrite the first here.
+            if (saved.containsKey(student)) {
+                throw new IllegalArgumentException("duplicate studentId " + row.studentId + " in import");
+            }
+            // The merge base was read before validation; refuse to apply it over a newer save.
+            if (student.getProfileVersion() != row.baseVersion) {
+                throw new ObjectOptimisticLockingFailureException(Student.class, row.studentId);
+            }
+            saved.put(student, studentProfileService.applyValidatedProfile(student, row.normalized, operatorUserId));
+        }
+        studentRepository.flush();
+
+        List<VersionedStudentProfile> snapshots = new ArrayList<VersionedStudentProfile>();
+        for (Map.Entry<Student, StudentProfileDto> entry : saved.entrySet()) {
+            snapshots.add(new VersionedStudentProfile(
+                    entry.getKey().getId(),
+                    entry.getKey().getProfileVersion(),
+                    entry.getValue()
+            ));
+        }
+        studentProfileSnapshotStore.writeAll(snapshots);
+    }
+
+    private static String messageOf(RuntimeException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException) {
+            return "Profile was modified by someone else. Reload it and retry.";
+        }
+        if (e instanceof ResponseStatusException) {
+            return ((ResponseStatusException) e).getReason();
+        }
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private static class ValidatedRow {
+        private final int line;
+        private final Long studentId;
+        private final long baseVersion;
+        private final StudentProfileService.NormalizedProfile normalized;
+        private final String error;
+
+        private ValidatedRow(StudentProfileImportParser.ImportRow row,
+                             long baseVersion,
+                             StudentProfileService.NormalizedProfile normalized,
+                             String error) {
+            this.line = row.getLine();
+            this.studentId = row.getStudentId();
+            this.baseVersion = baseVersion;
+            this.normalized = normalized;
+            this.error = error;
+        }
+
+        private static ValidatedRow failed(StudentProfileImportParser.ImportRow row, String error) {
+            return new ValidatedRow(row, 0L, null, error);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON merge patch (RFC 7386) over the current profile representation. Objects merge recursively,
+ * null removes a field and arrays (schools, otherCourses) replace the whole list.
+ */
+final class StudentProfileMergePatch {
+
+    static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    // Response-only aliases are dropped from the base document; a patch may use either name.
+    private static final Map<String, String> ALIASES = new LinkedHashMap<String, String>();
+
+    static {
+        ALIASES.put("firstName", "legalFirstName");
+        ALIASES.put("lastName", "legalLastName");
+        ALIASES.put("nickName", "preferredName");
+        ALIASES.put("schoolRecords", "schools");
+        ALIASES.put("externalCourses", "otherCourses");
+    }
+
+    // Derived getters are serialized too; reading them back would append to the real lists.
+    static final List<String> DERIVED_FIELDS = Arrays.asList(
+            "schoolsOrEmpty",
+            "schoolRecordsOrEmpty",
+            "otherCoursesOrEmpty",
+            "externalCoursesOrEmpty"
+    );
+
+    private StudentProfileMergePatch() {
+    }
+
+    static StudentProfileDto apply(ObjectMapper objectMapper, StudentProfileDto current, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("profile patch must be a JSON object");
+        }
+        ObjectNode target = objectMapper.valueToTree(current);
+        target.remove(DERIVED_FIELDS);
+        ObjectNode normalizedPatch = ((ObjectNode) patch).deepCopy();
+        normalizedPatch.remove(DERIVED_FIELDS);
+        for (Map.Entry<String, String> alias : ALIASES.entrySet()) {
+            target.remove(alias.getKey());
+            JsonNode aliasValue = normalizedPatch.remove(alias.getKey());
+            if (aliasValue != null && !normalizedPatch.has(alias.getValue())) {
+                normalizedPatch.set(alias.getValue(), aliasValue);
+            }
+        }
+
+        JsonNode merged = merge(target, normalizedPatch);
+        try {
+            return objectMapper.treeToValue(merged, StudentProfileDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("profile patch is not a valid profile: " + e.getOriginalMessage());
+        }
+    }
+
+    private static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? (ObjectNode) target
+                : ((ObjectNode) patch).objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), merge(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+}
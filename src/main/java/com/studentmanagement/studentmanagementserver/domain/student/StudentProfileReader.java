@@ -0,0 +1,375 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read path for profile GETs: student, profile, school and course rows come back from one UNION ALL
+ * statement (tagged by row_kind) and are assembled straight into the DTO without loading entities.
+ * The profile version comes from the same statement, so it always matches the data it is cached under.
+ */
+@Component
+public class StudentProfileReader {
+
+    private static final int KIND_PROFILE = 0;
+    private static final int KIND_SCHOOL = 1;
+    private static final int KIND_COURSE = 2;
+
+    private static final String NULL_TEXT = "cast(null as varchar(255))";
+    private static final String NULL_INT = "cast(null as integer)";
+
+    /**
+     * Student + profile columns read by {@link #profileDto(ResultSet)}, shared with the bulk export cursor.
+     */
+    static final String PROFILE_COLUMNS = "s.id as row_id, s.profile_version as profile_version,"
+            + " p.id as profile_id,"
+            + " s.first_name as t1, s.last_name as t2, s.nick_name as t3, p.gender as t4,"
+            + " p.status_in_canada as t5, p.phone as t6, p.email as t7, p.citizenship as t8,"
+            + " p.first_language as t9, p.oen_number as t10, p.ib as t11, p.identity_file_note as t12,"
+            + " p.street_address as t13, p.street_address_line2 as t14, p.city as t15, p.state as t16,"
+            + " p.country as t17, p.postal as t18,"
+            + " p.birthday as d1, p.first_boarding_date as d2,"
+            + " " + NULL_INT + " as i1, " + NULL_INT + " as i2, p.ap as ap";
+    static final String PROFILE_FROM = " from students s left join student_profile p on p.student_id = s.id";
+
+    private static final String BY_STUDENT_ID_SQL = profileSql("s.id = :key");
+    private static final String BY_USER_ID_SQL = profileSql("s.user_id = :key");
+    private static final String BY_STUDENT_IDS_SQL = "select " + PROFILE_COLUMNS + PROFILE_FROM
+            + " where s.id in (:studentIds) order by s.id";
+
+    private static final String SCHOOLS_BY_STUDENT_IDS_SQL = "select r.id, r.student_id, r.school_type, r.school_name,"
+            + " r.street_address, r.city, r.state, r.country, r.postal, r.start_time, r.end_time"
+            + " from student_school_record r where r.student_id in (:studentIds) order by r.student_id, r.id";
+    private static final String COURSES_BY_STUDENT_IDS_SQL = "select c.id, c.student_id, c.school_name,"
+            + " c.street_address, c.city, c.state, c.country, c.postal, c.course_code, c.mark, c.grade_level,"
+            + " c.start_time, c.end_time"
+            + " from student_course_record c where c.student_id in (:studentIds) order by c.student_id, c.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StudentProfileReader(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<VersionedStudentProfile> findByStudentId(Long studentId) {
+        return read(BY_STUDENT_ID_SQL, studentId);
+    }
+
+    public Optional<VersionedStudentProfile> findByUserId(Long userId) {
+        return read(BY_USER_ID_SQL, userId);
+    }
+
+    /**
+     * Batch variant: one query for students and profiles plus one each for schools and courses, whatever
+     * the number of ids. Unknown ids are simply absent from the result, which is ordered by student id.
+     */
+    public Map<Long, VersionedStudentProfile> findByStudentIds(Collection<Long> studentIds) {
+        Map<Long, VersionedStudentProfile> result = new LinkedHashMap<Long, VersionedStudentProfile>();
+        if (studentIds.isEmpty()) {
+            return result;
+        }
+        Map<Long, StudentProfileDto> profiles = new LinkedHashMap<Long, StudentProfileDto>();
+        Map<Long, Long> versions = new HashMap<Long, Long>();
+        jdbcTemplate.query(
+                BY_STUDENT_IDS_SQL,
+                new MapSqlParameterSource("studentIds", new ArrayList<Long>(studentIds)),
+                (RowCallbackHandler) rs -> {
+                    Long studentId = rs.getLong("row_id");
+                    profiles.put(studentId, profileDto(rs));
+                    versions.put(studentId, rs.getLong("profile_version"));
+                }
+        );
+        loadRecordLists(profiles);
+        for (Map.Entry<Long, StudentProfileDto> entry : profiles.entrySet()) {
+            result.put(
+                    entry.getKey(),
+                    new VersionedStudentProfile(entry.getKey(), versions.get(entry.getKey()), entry.getValue())
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Fills schools and courses of already-read profiles with one IN-list query per record table.
+     */
+    void loadRecordLists(Map<Long, StudentProfileDto> profiles) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("studentIds", new ArrayList<Long>(profiles.keySet()));
+        Map<Long, List<StudentProfileDto.SchoolDto>> schools = new HashMap<Long, List<StudentProfileDto.SchoolDto>>();
+        jdbcTemplate.query(SCHOOLS_BY_STUDENT_IDS_SQL, params, (RowCallbackHandler) rs -> listFor(schools, rs).add(
+                schoolDto(
+                        rs.getLong("id"),
+                        rs.getString("school_type"),
+                        rs.getString("school_name"),
+                        rs.getString("street_address"),
+                        rs.getString("city"),
+                        rs.getString("state"),
+                        rs.getString("country"),
+                        rs.getString("postal"),
+                        formatDate(rs.getDate("start_time")),
+                        formatDate(rs.getDate("end_time"))
+                )
+        ));
+        Map<Long, List<StudentProfileDto.CourseDto>> courses = new HashMap<Long, List<StudentProfileDto.CourseDto>>();
+        jdbcTemplate.query(COURSES_BY_STUDENT_IDS_SQL, params, (RowCallbackHandler) rs -> listFor(courses, rs).add(
+                courseDto(
+                        rs.getLong("id"),
+                        rs.getString("school_name"),
+                        rs.getString("street_address"),
+                        rs.getString("city"),
+                        rs.getString("state"),
+                        rs.getString("country"),
+                        rs.getString("postal"),
+                        rs.getString("course_code"),
+                        getInteger(rs, "mark"),
+                        getInteger(rs, "grade_level"),
+                        formatDate(rs.getDate("start_time")),
+                        formatDate(rs.getDate("end_time"))
+                )
+        ));
+        for (Map.Entry<Long, StudentProfileDto> entry : profiles.entrySet()) {
+            setRecordLists(
+                    entry.getValue(),
+                    orEmpty(schools.get(entry.getKey())),
+                    orEmpty(courses.get(entry.getKey()))
+            );
+        }
+    }
+
+    private static <T> List<T> listFor(Map<Long, List<T>> byStudent, ResultSet rs) throws SQLException {
+        Long studentId = rs.getLong("student_id");
+        List<T> list = byStudent.get(studentId);
+        if (list == null) {
+            list = new ArrayList<T>();
+            byStudent.put(studentId, list);
+        }
+        return list;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? new ArrayList<T>() : list;
+    }
+
+    private Optional<VersionedStudentProfile> read(String sql, Long key) {
+        return Optional.ofNullable(jdbcTemplate.query(
+                sql,
+                new MapSqlParameterSource("key", key),
+                (ResultSetExtractor<VersionedStudentProfile>) this::assemble
+        ));
+    }
+
+    private VersionedStudentProfile assemble(ResultSet rs) throws SQLException {
+        StudentProfileDto dto = null;
+        long studentId = 0L;
+        long version = 0L;
+        List<StudentProfileDto.SchoolDto> schools = new ArrayList<StudentProfileDto.SchoolDto>();
+        List<StudentProfileDto.CourseDto> courses = new ArrayList<StudentProfileDto.CourseDto>();
+        while (rs.next()) {
+            int kind = rs.getInt("row_kind");
+            if (kind == KIND_PROFILE) {
+                studentId = rs.getLong("row_id");
+                version = rs.getLong("profile_version");
+                dto = profileDto(rs);
+            } else if (kind == KIND_SCHOOL) {
+                schools.add(schoolDto(
+                        rs.getLong("row_id"),
+                        rs.getString("t1"),
+                        rs.getString("t2"),
+                        rs.getString("t3"),
+                        rs.getString("t4"),
+                        rs.getString("t5"),
+                        rs.getString("t6"),
+                        rs.getString("t7"),
+                        formatDate(rs.getDate("d1")),
+                        formatDate(rs.getDate("d2"))
+                ));
+            } else if (kind == KIND_COURSE) {
+                courses.add(courseDto(
+                        rs.getLong("row_id"),
+                        rs.getString("t1"),
+                        rs.getString("t2"),
+                        rs.getString("t3"),
+                        rs.getString("t4"),
+                        rs.getString("t5"),
+                        rs.getString("t6"),
+                        rs.getString("t7"),
+                        getInteger(rs, "i1"),
+                        getInteger(rs, "i2"),
+                        formatDate(rs.getDate("d1")),
+                        formatDate(rs.getDate("d2"))
+                ));
+            }
+        }
+        if (dto == null) {
+            return null;
+        }
+        setRecordLists(dto, schools, courses);
+        return new VersionedStudentProfile(studentId, version, dto);
+    }
+
+    static StudentProfileDto profileDto(ResultSet rs) throws SQLException {
+        StudentProfileDto dto = new StudentProfileDto();
+        dto.setLegalFirstName(rs.getString("t1"));
+        dto.setLegalLastName(rs.getString("t2"));
+        dto.setPreferredName(rs.getString("t3"));
+        dto.setFirstName(rs.getString("t1"));
+        dto.setLastName(rs.getString("t2"));
+        dto.setNickName(rs.getString("t3"));
+        dto.setAp(Boolean.FALSE);
+
+        rs.getLong("profile_id");
+        if (rs.wasNull()) {
+            return dto;
+        }
+        dto.setGender(rs.getString("t4"));
+        dto.setBirthday(formatDate(rs.getDate("d1")));
+        dto.setStatusInCanada(rs.getString("t5"));
+        dto.setPhone(rs.getString("t6"));
+        dto.setEmail(rs.getString("t7"));
+        dto.setCitizenship(rs.getString("t8"));
+        dto.setFirstLanguage(rs.getString("t9"));
+        dto.setFirstBoardingDate(formatDate(rs.getDate("d2")));
+        dto.setOenNumber(rs.getString("t10"));
+        dto.setIb(rs.getString("t11"));
+        dto.setAp(rs.getBoolean("ap"));
+        dto.setIdentityFileNote(rs.getString("t12"));
+
+        StudentProfileDto.AddressDto address = new StudentProfileDto.AddressDto();
+        address.setStreetAddress(rs.getString("t13"));
+        address.setStreetAddressLine2(rs.getString("t14"));
+        address.setCity(rs.getString("t15"));
+        address.setState(rs.getString("t16"));
+        address.setCountry(rs.getString("t17"));
+        address.setPostal(rs.getString("t18"));
+        dto.setAddress(address);
+        return dto;
+    }
+
+    static StudentProfileDto.SchoolDto schoolDto(Long id,
+                                                 String schoolType,
+                                                 String schoolName,
+                                                 String streetAddress,
+                                                 String city,
+                                                 String state,
+                                                 String country,
+                                                 String postal,
+                                                 String startTime,
+                                                 String endTime) {
+        StudentProfileDto.SchoolDto schoolDto = new StudentProfileDto.SchoolDto();
+        schoolDto.setId(id);
+        schoolDto.setSchoolType(schoolType);
+        schoolDto.setSchoolName(schoolName);
+        StudentProfileDto.AddressDto schoolAddress = new StudentProfileDto.AddressDto();
+        schoolAddress.setStreetAddress(streetAddress);
+        schoolAddress.setCity(city);
+        schoolAddress.setState(state);
+        schoolAddress.setCountry(country);
+        schoolAddress.setPostal(postal);
+        schoolDto.setAddress(schoolAddress);
+        schoolDto.setStreetAddress(streetAddress);
+        schoolDto.setCity(city);
+        schoolDto.setState(state);
+        schoolDto.setCountry(country);
+        schoolDto.setPostal(postal);
+        schoolDto.setStartTime(startTime);
+        schoolDto.setEndTime(endTime);
+        return schoolDto;
+    }
+
+    static StudentProfileDto.CourseDto courseDto(Long id,
+                                                 String schoolName,
+                                                 String streetAddress,
+                                                 String city,
+                                                 String state,
+                                                 String country,
+                                                 String postal,
+                                                 String courseCode,
+                                                 Integer mark,
+                                                 Integer gradeLevel,
+                                                 String startTime,
+                                                 String endTime) {
+        StudentProfileDto.CourseDto courseDto = new StudentProfileDto.CourseDto();
+        courseDto.setId(id);
+        courseDto.setSchoolName(schoolName);
+        StudentProfileDto.AddressDto courseAddress = new StudentProfileDto.AddressDto();
+        courseAddress.setStreetAddress(streetAddress);
+        courseAddress.setCity(city);
+        courseAddress.setState(state);
+        courseAddress.setCountry(country);
+        courseAddress.setPostal(postal);
+        courseDto.setAddress(courseAddress);
+        courseDto.setStreetAddress(streetAddress);
+        courseDto.setCity(city);
+        courseDto.setState(state);
+        courseDto.setCountry(country);
+        courseDto.setPostal(postal);
+        courseDto.setCourseCode(courseCode);
+        courseDto.setMark(mark);
+        courseDto.setGradeLevel(gradeLevel);
+        courseDto.setStartTime(startTime);
+        courseDto.setEndTime(endTime);
+        return courseDto;
+    }
+
+    static void setRecordLists(StudentProfileDto dto,
+                               List<StudentProfileDto.SchoolDto> schools,
+                               List<StudentProfileDto.CourseDto> courses) {
+        dto.setSchools(schools);
+        dto.setSchoolRecords(new ArrayList<StudentProfileDto.SchoolDto>(schools));
+        dto.setOtherCourses(courses);
+        dto.setExternalCourses(new ArrayList<StudentProfileDto.CourseDto>(courses));
+    }
+
+    static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : Integer.valueOf(value);
+    }
+
+    static String formatDate(Date value) {
+        return value == null ? null : value.toLocalDate().toString();
+    }
+
+    private static String profileSql(String studentPredicate) {
+        return "select " + KIND_PROFILE + " as row_kind, " + PROFILE_COLUMNS + PROFILE_FROM
+                + " where " + studentPredicate
+                + " union all"
+                + " select " + KIND_SCHOOL + ", r.id, cast(null as bigint), cast(null as bigint),"
+                + " r.school_type, r.school_name, r.street_address, r.city, r.state, r.country, r.postal,"
+                + nullTexts(11) + ","
+                + " r.start_time, r.end_time, " + NULL_INT + ", " + NULL_INT + ", cast(null as boolean)"
+                + " from student_school_record r join students s on s.id = r.student_id"
+                + " where " + studentPredicate
+                + " union all"
+                + " select " + KIND_COURSE + ", c.id, cast(null as bigint), cast(null as bigint),"
+                + " c.school_name, c.street_address, c.city, c.state, c.country, c.postal, c.course_code,"
+                + nullTexts(11) + ","
+                + " c.start_time, c.end_time, c.mark, c.grade_level, cast(null as boolean)"
+                + " from student_course_record c join students s on s.id = c.student_id"
+                + " where " + studentPredicate
+                + " order by row_kind, row_id";
+    }
+
+    private static String nullTexts(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? " " : ", ").append(NULL_TEXT);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Response shape of a profile GET. Version 1 is the full {@link StudentProfileDto} with its alias fields;
+ * version 2 lists schools and courses once, keeps only the nested address and omits nulls. Either
+ * version can be trimmed to top-level fields with {@code fields=a,b}.
+ */
+final class StudentProfileRepresentation {
+
+    static final String V2_MEDIA_TYPE = "application/vnd.studentmanagement.profile.v2+json";
+    private static final MediaType V2 = MediaType.parseMediaType(V2_MEDIA_TYPE);
+
+    private static final List<String> V2_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            "legalFirstName", "legalLastName", "preferredName", "gender", "birthday", "phone", "email",
+            "statusInCanada", "citizenship", "firstLanguage", "firstBoardingDate", "address", "oenNumber",
+            "ib", "ap", "identityFileNote", "schools", "otherCourses"
+    ));
+    private static final List<String> V1_FIELDS;
+
+    static {
+        List<String> v1Fields = new ArrayList<String>(V2_FIELDS);
+        v1Fields.addAll(Arrays.asList("firstName", "lastName", "nickName", "schoolRecords", "externalCourses"));
+        V1_FIELDS = Collections.unmodifiableList(v1Fields);
+    }
+
+    private static final StudentProfileRepresentation DEFAULT = new StudentProfileRepresentation(false, null);
+
+    private final boolean compact;
+    private final TreeSet<String> fields;
+
+    private StudentProfileRepresentation(boolean compact, TreeSet<String> fields) {
+        this.compact = compact;
+        this.fields = fields;
+    }
+
+    static StudentProfileRepresentation of(String version, String accept, String fields) {
+        boolean compact = isV2(version, accept);
+        TreeSet<String> selected = parseFields(fields, compact ? V2_FIELDS : V1_FIELDS);
+        if (!compact && selected == null) {
+            return DEFAULT;
+        }
+        return new StudentProfileRepresentation(compact, selected);
+    }
+
+    /**
+     * Distinct ETag per shape, so a cached v1 body is never revalidated for a v2 or partial request.
+     * {@link StudentProfileService} accepts any of these in If-Match.
+     */
+    String eTag(String base) {
+        if (!compact && fields == null) {
+            return base;
+        }
+        StringBuilder sb = new StringBuilder(base.substring(0, base.length() - 1));
+        if (compact) {
+            sb.append("-v2");
+        }
+        if (fields != null) {
+            sb.append("-f").append(Integer.toHexString(String.join(",", fields).hashCode()));
+        }
+        return sb.append('"').toString();
+    }
+
+    Object render(ObjectMapper objectMapper, StudentProfileDto profile) {
+        if (!compact) {
+            if (fields == null) {
+                return profile;
+            }
+            ObjectNode tree = objectMapper.valueToTree(profile);
+            tree.retain(fields);
+            return tree;
+        }
+        Map<String, Object> out = compact(profile);
+        if (fields != null) {
+            out.keySet().retainAll(fields);
+        }
+        return out;
+    }
+
+    static Map<String, Object> compact(StudentProfileDto profile) {
+        Map<String, Object> out = new LinkedHashMap<String, Object>();
+        putIfPresent(out, "legalFirstName", profile.getLegalFirstName());
+        putIfPresent(out, "legalLastName", profile.getLegalLastName());
+        putIfPresent(out, "preferredName", profile.getPreferredName());
+        putIfPresent(out, "gender", profile.getGender());
+        putIfPresent(out, "birthday", profile.getBirthday());
+        putIfPresent(out, "phone", profile.getPhone());
+        putIfPresent(out, "email", profile.getEmail());
+        putIfPresent(out, "statusInCanada", profile.getStatusInCanada());
+        putIfPresent(out, "citizenship", profile.getCitizenship());
+        putIfPresent(out, "firstLanguage", profile.getFirstLanguage());
+        putIfPresent(out, "firstBoardingDate", profile.getFirstBoardingDate());
+        putIfPresent(out, "address", address(profile.getAddress()));
+        putIfPresent(out, "oenNumber", profile.getOenNumber());
+        putIfPresent(out, "ib", profile.getIb());
+        putIfPresent(out, "ap", profile.getAp());
+        putIfPresent(out, "identityFileNote", profile.getIdentityFileNote());
+
+        List<Map<String, Object>> schools = new ArrayList<Map<String, Object>>();
+        for (StudentProfileDto.SchoolDto school : profile.getSchoolsOrEmpty()) {
+            Map<String, Object> row = new LinkedHashMap<String, Object>();
+            putIfPresent(row, "id", school.getId());
+            putIfPresent(row, "schoolType", school.getSchoolType());
+            putIfPresent(row, "schoolName", school.getSchoolName());
+            putIfPresent(row, "address", address(school.getAddress()));
+            putIfPresent(row, "startTime", school.getStartTime());
+            putIfPresent(row, "endTime", school.getEndTime());
+            schools.add(row);
+        }
+        out.put("schools", schools);
+
+        List<Map<String, Object>> courses = new ArrayList<Map<String, Object>>();
+        for (StudentProfileDto.CourseDto course : profile.getOtherCoursesOrEmpty()) {
+            Map<String, Object> row = new LinkedHashMap<String, Object>();
+            putIfPresent(row, "id", course.getId());
+            putIfPresent(row, "schoolName", course.getSchoolName());
+            putIfPresent(row, "address", address(course.getAddress()));
+            putIfPresent(row, "courseCode", course.getCourseCode());
+            putIfPresent(row, "mark", course.getMark());
+            putIfPresent(row, "gradeLevel", course.getGradeLevel());
+            putIfPresent(row, "startTime", course.getStartTime());
+            putIfPresent(row, "endTime", course.getEndTime());
+            courses.add(row);
+        }
+        out.put("otherCourses", courses);
+        return out;
+    }
+
+    private static Map<String, Object> address(StudentProfileDto.AddressDto address) {
+        if (address == null) {
+            return null;
+        }
+        Map<String, Object> out = new LinkedHashMap<String, Object>();
+        putIfPresent(out, "streetAddress", address.getStreetAddress());
+        putIfPresent(out, "streetAddressLine2", address.getStreetAddressLine2());
+        putIfPresent(out, "city", address.getCity());
+        putIfPresent(out, "state", address.getState());
+        putIfPresent(out, "country", address.getCountry());
+        putIfPresent(out, "postal", address.getPostal());
+        return out.isEmpty() ? null : out;
+    }
+
+    private static void putIfPresent(Map<String, Object> out, String key, Object value) {
+        if (value != null) {
+            out.put(key, value);
+        }
+    }
+
+    private static boolean isV2(String version, String accept) {
+        if (version != null && !version.trim().isEmpty()) {
+            String normalized = version.trim();
+            if ("2".equals(normalized)) {
+                return true;
+            }
+            if ("1".equals(normalized)) {
+                return false;
+            }
+            throw new IllegalArgumentException("version must be 1 or 2");
+        }
+        if (accept == null || accept.isEmpty()) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (V2.equalsTypeAndSubtype(mediaType)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static TreeSet<String> parseFields(String fields, List<String> allowed) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+        TreeSet<String> selected = new TreeSet<String>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown profile field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+}
@@ -1,5 +1,8 @@
 package com.studentmanagement.studentmanagementserver.domain.student;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.common.BaseEntity;
 import com.studentmanagement.studentmanagementserver.domain.enums.SchoolType;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
@@ -9,16 +12,21 @@ import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.StudentSchoolRecordRepository;
 import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Service
@@ -31,70 +39,217 @@ public class StudentProfileService {
     private final StudentProfileRepository studentProfileRepository;
     private final StudentSchoolRecordRepository studentSchoolRecordRepository;
     private final StudentCourseRecordRepository studentCourseRecordRepository;
+    private final StudentProfileReader studentProfileReader;
+    private final StudentProfileCache studentProfileCache;
+    private final StudentProfileSnapshotStore studentProfileSnapshotStore;
+    private final StudentNameSearchIndex studentNameSearchIndex;
+    private final ObjectMapper objectMapper;
 
     public StudentProfileService(AuthSessionService authSessionService,
                                  StudentRepository studentRepository,
                                  StudentProfileRepository studentProfileRepository,
                                  StudentSchoolRecordRepository studentSchoolRecordRepository,
-                                 StudentCourseRecordRepository studentCourseRecordRepository) {
+                                 StudentCourseRecordRepository studentCourseRecordRepository,
+                                 StudentProfileReader studentProfileReader,
+                                 StudentProfileCache studentProfileCache,
+                                 StudentProfileSnapshotStore studentProfileSnapshotStore,
+                                 StudentNameSearchIndex studentNameSearchIndex,
+                                 ObjectMapper objectMapper) {
         this.authSessionService = authSessionService;
         this.studentRepository = studentRepository;
         this.studentProfileRepository = studentProfileRepository;
         this.studentSchoolRecordRepository = studentSchoolRecordRepository;
         this.studentCourseRecordRepository = studentCourseRecordRepository;
+        this.studentProfileReader = studentProfileReader;
+        this.studentProfileCache = studentProfileCache;
+        this.studentProfileSnapshotStore = studentProfileSnapshotStore;
+        this.studentNameSearchIndex = studentNameSearchIndex;
+        this.objectMapper = objectMapper;
     }
 
     @Transactional(readOnly = true)
-    public StudentProfileDto getCurrentStudentProfile(HttpServletRequest request) {
-        Student student = requireCurrentStudent(request);
-        return getProfileForStudent(student);
+    public StudentProfileVersion getCurrentStudentProfileVersion(HttpServletRequest request) {
+        User user = requireStudentUser(request);
+        return studentRepository.findProfileVersionByUserId(user.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student profile not found."));
     }
 
     @Transactional(readOnly = true)
-    public StudentProfileDto getProfileByStudentId(Long studentId) {
-        Student student = requireStudentById(studentId);
-        return getProfileForStudent(student);
+    public StudentProfileVersion getProfileVersionByStudentId(Long studentId) {
+        requirePositiveStudentId(studentId);
+        return studentRepository.findProfileVersionById(studentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found: " + studentId));
+    }
+
+    /**
+     * Returns the cached profile for this version, then the stored snapshot (one primary-key lookup), and only
+     * then reads it in one query; whichever hits is cached. The result may be newer than the requested version
+     * if a save landed in between; its own version is what the ETag uses.
+     */
+    @Transactional(readOnly = true)
+    public VersionedStudentProfile getProfile(StudentProfileVersion version) {
+        VersionedStudentProfile cached = studentProfileCache.get(version);
+        if (cached != null) {
+            return cached;
+        }
+        VersionedStudentProfile loaded = studentProfileSnapshotStore.find(version)
+                .orElseGet(() -> studentProfileReader.findByStudentId(version.getStudentId())
+                        .orElseThrow(() -> new ResponseStatusException(
+                                HttpStatus.NOT_FOUND,
+                                "Student not found: " + version.getStudentId()
+                        )));
+        studentProfileCache.put(loaded);
+        return loaded;
+    }
+
+    /**
+     * Batch read for dashboards: three queries for any number of students, each result also warming the cache.
+     * Unknown ids are absent from the returned map.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, VersionedStudentProfile> getProfiles(Collection<Long> studentIds) {
+        Map<Long, VersionedStudentProfile> profiles = studentProfileReader.findByStudentIds(studentIds);
+        for (VersionedStudentProfile profile : profiles.values()) {
+            studentProfileCache.put(profile);
+        }
+        return profiles;
     }
 
     @Transactional
-    public StudentProfileDto saveCurrentStudentProfile(StudentProfileDto requestBody, HttpServletRequest request) {
+    public VersionedStudentProfile saveCurrentStudentProfile(StudentProfileDto requestBody,
+                                                             String ifMatch,
+                                                             HttpServletRequest request) {
         Student student = requireCurrentStudent(request);
+        requireMatchingVersion(student, ifMatch);
         return saveProfileForStudent(student, requestBody, student.getUser().getId());
     }
 
     @Transactional
-    public StudentProfileDto saveProfileByStudentId(Long studentId, StudentProfileDto requestBody, Long operatorUserId) {
+    public VersionedStudentProfile saveProfileByStudentId(Long studentId,
+                                                          StudentProfileDto requestBody,
+                                                          String ifMatch,
+                                                          Long operatorUserId) {
         Student student = requireStudentById(studentId);
+        requireMatchingVersion(student, ifMatch);
         return saveProfileForStudent(student, requestBody, operatorUserId);
     }
 
-    private Student requireCurrentStudent(HttpServletRequest request) {
+    @Transactional
+    public VersionedStudentProfile patchCurrentStudentProfile(JsonNode patch,
+                                                              String ifMatch,
+                                                              HttpServletRequest request) {
+        Student student = requireCurrentStudent(request);
+        requireMatchingVersion(student, ifMatch);
+        return saveProfileForStudent(student, mergePatch(student, patch), student.getUser().getId());
+    }
+
+    @Transactional
+    public VersionedStudentProfile patchProfileByStudentId(Long studentId,
+                                                           JsonNode patch,
+                                                           String ifMatch,
+                                                           Long operatorUserId) {
+        Student student = requireStudentById(studentId);
+        requireMatchingVersion(student, ifMatch);
+        return saveProfileForStudent(student, mergePatch(student, patch), operatorUserId);
+    }
+
+    private StudentProfileDto mergePatch(Student student, JsonNode patch) {
+        StudentProfileDto current = studentProfileReader.findByStudentId(student.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found: " + student.getId()))
+                .getProfile();
+        return StudentProfileMergePatch.apply(objectMapper, current, patch);
+    }
+
+    /**
+     * If-Match is optional; when present it must carry the current profile ETag (or "*").
+     */
+    private void requireMatchingVersion(Student student, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty()) {
+            return;
+        }
+        String currentETag = StudentProfileVersion.eTag(student.getId(), student.getProfileVersion());
+        // v2 and partial representations extend the tag with "-v2" / "-f..." suffixes.
+        String representationPrefix = currentETag.substring(0, currentETag.length() - 1) + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || currentETag.equals(value) || value.startsWith(representationPrefix)) {
+                return;
+            }
+        }
+        throw profileModifiedConcurrently();
+    }
+
+    private ResponseStatusException profileModifiedConcurrently() {
+        return new ResponseStatusException(
+                HttpStatus.PRECONDITION_FAILED,
+                "Profile was modified by someone else. Reload it and retry."
+        );
+    }
+
+    private User requireStudentUser(HttpServletRequest request) {
         User user = authSessionService.requireAuthenticatedUser(request);
         if (user.getRole() != UserRole.STUDENT) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden: student role required.");
         }
+        return user;
+    }
+
+    private Student requireCurrentStudent(HttpServletRequest request) {
+        User user = requireStudentUser(request);
         return studentRepository.findByUser_Id(user.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student profile not found."));
     }
 
     private Student requireStudentById(Long studentId) {
-        if (studentId == null || studentId.longValue() <= 0L) {
-            throw new IllegalArgumentException("studentId must be positive");
-        }
+        requirePositiveStudentId(studentId);
         return studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found: " + studentId));
     }
 
-    private StudentProfileDto getProfileForStudent(Student student) {
-        StudentProfile profile = studentProfileRepository.findByStudent_Id(student.getId()).orElse(null);
-        List<StudentSchoolRecord> schools = studentSchoolRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
-        List<StudentCourseRecord> courses = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
-        return toDto(student, profile, schools, courses);
+    private void requirePositiveStudentId(Long studentId) {
+        if (studentId == null || studentId.longValue() <= 0L) {
+            throw new IllegalArgumentException("studentId must be positive");
+        }
     }
 
-    private StudentProfileDto saveProfileForStudent(Student student, StudentProfileDto requestBody, Long operatorUserId) {
+    private VersionedStudentProfile saveProfileForStudent(Student student, StudentProfileDto requestBody, Long operatorUserId) {
         NormalizedProfile normalized = normalizeAndValidate(requestBody);
+        AppliedProfile applied = applyNormalizedProfile(student, normalized, operatorUserId);
+
+        // Dirtying the student makes the flush a single "where profile_version = ?" update, so concurrent saves
+        // fail here instead of silently overwriting each other.
+        try {
+            studentRepository.saveAndFlush(student);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw profileModifiedConcurrently();
+        }
+
+        VersionedStudentProfile saved = new VersionedStudentProfile(
+                student.getId(),
+                student.getProfileVersion(),
+                toDto(student, applied.profile, applied.schools, applied.courses)
+        );
+        studentProfileSnapshotStore.write(saved);
+        return saved;
+    }
+
+    /**
+     * Validation half of a save, free of persistence so bulk imports can run it off the request thread.
+     */
+    NormalizedProfile validateProfile(StudentProfileDto requestBody) {
+        return normalizeAndValidate(requestBody);
+    }
+
+    /**
+     * Write half of a save for callers that batch several students into one transaction and flush once.
+     * Returns the saved profile; its version is only final after the caller's flush.
+     */
+    StudentProfileDto applyValidatedProfile(Student student, NormalizedProfile normalized, Long operatorUserId) {
+        AppliedProfile applied = applyNormalizedProfile(student, normalized, operatorUserId);
+        return toDto(student, applied.profile, applied.schools, applied.courses);
+    }
 
+    private AppliedProfile applyNormalizedProfile(Student student, NormalizedProfile normalized, Long operatorUserId) {
         StudentProfile profile = studentProfileRepository.findByStudent_Id(student.getId())
                 .orElseGet(() -> new StudentProfile(student));
         applyProfile(profile, normalized, operatorUserId);
@@ -105,53 +260,187 @@ public class StudentProfileService {
                 normalized.legalLastName,
                 normalized.preferredName
         );
-        studentRepository.save(student);
-
-        studentSchoolRecordRepository.deleteByStudent_Id(student.getId());
-        List<StudentSchoolRecord> savedSchools = new ArrayList<StudentSchoolRecord>();
-        for (NormalizedSchool school : normalized.schools) {
-            savedSchools.add(new StudentSchoolRecord(
-                    student,
-                    school.schoolType,
-                    school.schoolName,
-                    school.streetAddress,
-                    school.city,
-                    school.state,
-                    school.country,
-                    school.postal,
-                    school.startTime,
-                    school.endTime
-            ));
+        studentNameSearchIndex.refreshAfterCommit(student.getId());
+
+        List<StudentSchoolRecord> savedSchools = reconcileSchools(student, normalized.schools);
+        List<StudentCourseRecord> savedCourses = reconcileCourses(student, normalized.otherCourses);
+        student.markProfileUpdated(LocalDateTime.now());
+        return new AppliedProfile(profile, savedSchools, savedCourses);
+    }
+
+    /**
+     * Updates school rows in place instead of delete-and-reinsert. Unchanged rows are left untouched
+     * (Hibernate dirty checking skips the UPDATE), only surplus rows are deleted and only new rows inserted.
+     */
+    private List<StudentSchoolRecord> reconcileSchools(Student student, List<NormalizedSchool> incoming) {
+        List<StudentSchoolRecord> existing = studentSchoolRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+        List<Long> incomingIds = new ArrayList<Long>();
+        for (NormalizedSchool school : incoming) {
+            incomingIds.add(school.id);
+        }
+        int[] matches = matchExistingRecords(existing, incomingIds);
+
+        List<StudentSchoolRecord> result = new ArrayList<StudentSchoolRecord>();
+        List<StudentSchoolRecord> inserts = new ArrayList<StudentSchoolRecord>();
+        boolean[] retained = new boolean[existing.size()];
+        for (int i = 0; i < incoming.size(); i++) {
+            NormalizedSchool school = incoming.get(i);
+            if (matches[i] >= 0) {
+                StudentSchoolRecord record = existing.get(matches[i]);
+                retained[matches[i]] = true;
+                record.updateDetails(
+                        school.schoolType,
+                        school.schoolName,
+                        school.streetAddress,
+                        school.city,
+                        school.state,
+                        school.country,
+                        school.postal,
+                        school.startTime,
+                        school.endTime
+                );
+                result.add(record);
+            } else {
+                StudentSchoolRecord record = new StudentSchoolRecord(
+                        student,
+                        school.schoolType,
+                        school.schoolName,
+                        school.streetAddress,
+                        school.city,
+                        school.state,
+                        school.country,
+                        school.postal,
+                        school.startTime,
+                        school.endTime
+                );
+                inserts.add(record);
+                result.add(record);
+            }
+        }
+
+        List<StudentSchoolRecord> removed = new ArrayList<StudentSchoolRecord>();
+        for (int i = 0; i < existing.size(); i++) {
+            if (!retained[i]) {
+                removed.add(existing.get(i));
+            }
+        }
+        if (!removed.isEmpty()) {
+            studentSchoolRecordRepository.deleteAll(removed);
         }
-        if (!savedSchools.isEmpty()) {
-            savedSchools = studentSchoolRecordRepository.saveAll(savedSchools);
+        if (!inserts.isEmpty()) {
+            studentSchoolRecordRepository.saveAll(inserts);
         }
+        return result;
+    }
 
-        studentCourseRecordRepository.deleteByStudent_Id(student.getId());
-        List<StudentCourseRecord> savedCourses = new ArrayList<StudentCourseRecord>();
-        for (NormalizedCourse course : normalized.otherCourses) {
+    private List<StudentCourseRecord> reconcileCourses(Student student, List<NormalizedCourse> incoming) {
+        List<StudentCourseRecord> existing = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+        List<Long> incomingIds = new ArrayList<Long>();
+        for (NormalizedCourse course : incoming) {
+            incomingIds.add(course.id);
+        }
+        int[] matches = matchExistingRecords(existing, incomingIds);
+
+        List<StudentCourseRecord> result = new ArrayList<StudentCourseRecord>();
+        List<StudentCourseRecord> inserts = new ArrayList<StudentCourseRecord>();
+        boolean[] retained = new boolean[existing.size()];
+        for (int i = 0; i < incoming.size(); i++) {
+            NormalizedCourse course = incoming.get(i);
             // Keep school_type populated for backward DB compatibility.
-            savedCourses.add(new StudentCourseRecord(
-                    student,
-                    SchoolType.OTHER,
-                    course.schoolName,
-                    course.streetAddress,
-                    course.city,
-                    course.state,
-                    course.country,
-                    course.postal,
-                    course.courseCode,
-                    course.mark,
-                    course.gradeLevel,
-                    course.startTime,
-                    course.endTime
-            ));
+            if (matches[i] >= 0) {
+                StudentCourseRecord record = existing.get(matches[i]);
+                retained[matches[i]] = true;
+                record.updateDetails(
+                        SchoolType.OTHER,
+                        course.schoolName,
+                        course.streetAddress,
+                        course.city,
+                        course.state,
+                        course.country,
+                        course.postal,
+                        course.courseCode,
+                        course.mark,
+                        course.gradeLevel,
+                        course.startTime,
+                        course.endTime
+                );
+                result.add(record);
+            } else {
+                StudentCourseRecord record = new StudentCourseRecord(
+                        student,
+                        SchoolType.OTHER,
+                        course.schoolName,
+                        course.streetAddress,
+                        course.city,
+                        course.state,
+                        course.country,
+                        course.postal,
+                        course.courseCode,
+                        course.mark,
+                        course.gradeLevel,
+                        course.startTime,
+                        course.endTime
+                );
+                inserts.add(record);
+                result.add(record);
+            }
+        }
+
+        List<StudentCourseRecord> removed = new ArrayList<StudentCourseRecord>();
+        for (int i = 0; i < existing.size(); i++) {
+            if (!retained[i]) {
+                removed.add(existing.get(i));
+            }
+        }
+        if (!removed.isEmpty()) {
+            studentCourseRecordRepository.deleteAll(removed);
+        }
+        if (!inserts.isEmpty()) {
+            studentCourseRecordRepository.saveAll(inserts);
+        }
+        return result;
+    }
+
+    /**
+     * Maps each incoming row to the index of the existing row it updates, or -1 for an insert.
+     * Records are listed by id, so client ids are honoured only while they keep that order (ascending ids,
+     * new rows appended last); otherwise rows are matched by position, which preserves the submitted order.
+     * Ids that do not belong to this student are treated as new rows.
+     */
+    private int[] matchExistingRecords(List<? extends BaseEntity> existing, List<Long> incomingIds) {
+        Map<Long, Integer> indexById = new HashMap<Long, Integer>();
+        for (int i = 0; i < existing.size(); i++) {
+            indexById.put(existing.get(i).getId(), Integer.valueOf(i));
+        }
+
+        int[] byId = new int[incomingIds.size()];
+        boolean idsUsable = false;
+        boolean seenInsert = false;
+        int lastMatched = -1;
+        for (int i = 0; i < incomingIds.size(); i++) {
+            Integer index = incomingIds.get(i) == null ? null : indexById.get(incomingIds.get(i));
+            if (index == null) {
+                byId[i] = -1;
+                seenInsert = true;
+                continue;
+            }
+            if (seenInsert || index.intValue() <= lastMatched) {
+                idsUsable = false;
+                break;
+            }
+            byId[i] = index.intValue();
+            lastMatched = index.intValue();
+            idsUsable = true;
         }
-        if (!savedCourses.isEmpty()) {
-            savedCourses = studentCourseRecordRepository.saveAll(savedCourses);
+        if (idsUsable) {
+            return byId;
         }
 
-        return toDto(student, profile, savedSchools, savedCourses);
+        int[] byPosition = new int[incomingIds.size()];
+        for (int i = 0; i < byPosition.length; i++) {
+            byPosition[i] = i < existing.size() ? i : -1;
+        }
+        return byPosition;
     }
 
     private void applyProfile(StudentProfile profile, NormalizedProfile normalized, Long operatorUserId) {
@@ -215,58 +504,39 @@ public class StudentProfileService {
         }
 
         List<StudentProfileDto.SchoolDto> schoolDtos = new ArrayList<StudentProfileDto.SchoolDto>();
-        if (schools != null) {
-            for (StudentSchoolRecord school : schools) {
-                StudentProfileDto.SchoolDto schoolDto = new StudentProfileDto.SchoolDto();
-                schoolDto.setSchoolType(school.getSchoolType() == null ? null : school.getSchoolType().name());
-                schoolDto.setSchoolName(school.getSchoolName());
-                StudentProfileDto.AddressDto schoolAddress = new StudentProfileDto.AddressDto();
-                schoolAddress.setStreetAddress(school.getStreetAddress());
-                schoolAddress.setCity(school.getCity());
-                schoolAddress.setState(school.getState());
-                schoolAddress.setCountry(school.getCountry());
-                schoolAddress.setPostal(school.getPostal());
-                schoolDto.setAddress(schoolAddress);
-                schoolDto.setStreetAddress(school.getStreetAddress());
-                schoolDto.setCity(school.getCity());
-                schoolDto.setState(school.getState());
-                schoolDto.setCountry(school.getCountry());
-                schoolDto.setPostal(school.getPostal());
-                schoolDto.setStartTime(formatDate(school.getStartTime()));
-                schoolDto.setEndTime(formatDate(school.getEndTime()));
-                schoolDtos.add(schoolDto);
-            }
+        for (StudentSchoolRecord school : schools) {
+            schoolDtos.add(StudentProfileReader.schoolDto(
+                    school.getId(),
+                    school.getSchoolType() == null ? null : school.getSchoolType().name(),
+                    school.getSchoolName(),
+                    school.getStreetAddress(),
+                    school.getCity(),
+                    school.getState(),
+                    school.getCountry(),
+                    school.getPostal(),
+                    formatDate(school.getStartTime()),
+                    formatDate(school.getEndTime())
+            ));
         }
-        dto.setSchools(schoolDtos);
-        dto.setSchoolRecords(new ArrayList<StudentProfileDto.SchoolDto>(schoolDtos));
 
         List<StudentProfileDto.CourseDto> courseDtos = new ArrayList<StudentProfileDto.CourseDto>();
-        if (courses != null) {
-            for (StudentCourseRecord course : courses) {
-                StudentProfileDto.CourseDto courseDto = new StudentProfileDto.CourseDto();
-                courseDto.setSchoolName(course.getSchoolName());
-                StudentProfileDto.AddressDto courseAddress = new StudentProfileDto.AddressDto();
-                courseAddress.setStreetAddress(course.getStreetAddress());
-                courseAddress.setCity(course.getCity());
-                courseAddress.setState(course.getState());
-                courseAddress.setCountry(course.getCountry());
-                courseAddress.setPostal(course.getPostal());
-                courseDto.setAddress(courseAddress);
-                courseDto.setStreetAddress(course.getStreetAddress());
-                courseDto.setCity(course.getCity());
-                courseDto.setState(course.getState());
-                courseDto.setCountry(course.getCountry());
-                courseDto.setPostal(course.getPostal());
-                courseDto.setCourseCode(course.getCourseCode());
-                courseDto.setMark(course.getMark());
-                courseDto.setGradeLevel(course.getGradeLevel());
-                courseDto.setStartTime(formatDate(course.getStartTime()));
-                courseDto.setEndTime(formatDate(course.getEndTime()));
-                courseDtos.add(courseDto);
-            }
+        for (StudentCourseRecord course : courses) {
+            courseDtos.add(StudentProfileReader.courseDto(
+                    course.getId(),
+                    course.getSchoolName(),
+                    course.getStreetAddress(),
+                    course.getCity(),
+                    course.getState(),
+                    course.getCountry(),
+                    course.getPostal(),
+                    course.getCourseCode(),
+                    course.getMark(),
+                    course.getGradeLevel(),
+                    formatDate(course.getStartTime()),
+                    formatDate(course.getEndTime())
+            ));
         }
-        dto.setOtherCourses(courseDtos);
-        dto.setExternalCourses(new ArrayList<StudentProfileDto.CourseDto>(courseDtos));
+        StudentProfileReader.setRecordLists(dto, schoolDtos, courseDtos);
 
         return dto;
     }
@@ -347,6 +617,7 @@ public class StudentProfileService {
             }
 
             schools.add(new NormalizedSchool(
+                    incomingSchool.getId(),
                     schoolType,
                     schoolName,
                     schoolStreetAddress,
@@ -392,6 +663,7 @@ public class StudentProfileService {
             String coursePostal = firstNonBlank(incomingCourse.getPostal(), courseAddressDto.getPostal());
 
             courses.add(new NormalizedCourse(
+                    incomingCourse.getId(),
                     trimToNull(incomingCourse.getSchoolName()),
                     courseStreetAddress,
                     courseCity,
@@ -491,7 +763,21 @@ public class StudentProfileService {
         return trimToNull(fallback);
     }
 
-    private static class NormalizedProfile {
+    private static class AppliedProfile {
+        private final StudentProfile profile;
+        private final List<StudentSchoolRecord> schools;
+        private final List<StudentCourseRecord> courses;
+
+        private AppliedProfile(StudentProfile profile,
+                               List<StudentSchoolRecord> schools,
+                               List<StudentCourseRecord> courses) {
+            this.profile = profile;
+            this.schools = schools;
+            this.courses = courses;
+        }
+    }
+
+    static class NormalizedProfile {
         private final String legalFirstName;
         private final String legalLastName;
         private final String preferredName;
@@ -574,6 +860,7 @@ public class StudentProfileService {
     }
 
     private static class NormalizedSchool {
+        private final Long id;
         private final SchoolType schoolType;
         private final String schoolName;
         private final String streetAddress;
@@ -584,7 +871,8 @@ public class StudentProfileService {
         private final LocalDate startTime;
         private final LocalDate endTime;
 
-        private NormalizedSchool(SchoolType schoolType,
+        private NormalizedSchool(Long id,
+                                 SchoolType schoolType,
                                  String schoolName,
                                  String streetAddress,
                                  String city,
@@ -593,6 +881,7 @@ public class StudentProfileService {
                                  String postal,
                                  LocalDate startTime,
                                  LocalDate endTime) {
+            this.id = id;
             this.schoolType = schoolType;
             this.schoolName = schoolName;
             this.streetAddress = streetAddress;
@@ -606,6 +895,7 @@ public class StudentProfileService {
     }
 
     private static class NormalizedCourse {
+        private final Long id;
         private final String schoolName;
         private final String streetAddress;
         private final String city;
@@ -618,7 +908,8 @@ public class StudentProfileService {
         private final LocalDate startTime;
         private final LocalDate endTime;
 
-        private NormalizedCourse(String schoolName,
+        private NormalizedCourse(Long id,
+                                 String schoolName,
                                  String streetAddress,
                                  String city,
                                  String state,
@@ -629,6 +920,7 @@ public class StudentProfileService {
                                  Integer gradeLevel,
                                  LocalDate startTime,
                                  LocalDate endTime) {
+            this.id = id;
             this.schoolName = schoolName;
             this.streetAddress = streetAddress;
             this.city = city;
@@ -0,0 +1,52 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Rendered profile document of one student, keyed by student id. It is only served while
+ * {@code profileVersion} matches the student's current version; an older row is simply ignored until the
+ * next save or rebuild overwrites it. Rows are only written by {@link StudentProfileSnapshotStore}'s native upsert.
+ */
+@Entity
+@Table(name = "student_profile_snapshot")
+@Immutable
+public class StudentProfileSnapshot {
+
+    @Id
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "profile_version", nullable = false)
+    private long profileVersion;
+
+    @Column(name = "document", nullable = false, columnDefinition = "text")
+    private String document;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected StudentProfileSnapshot() {
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public long getProfileVersion() {
+        return profileVersion;
+    }
+
+    public String getDocument() {
+        return document;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/teacher/students/profiles/snapshots")
+public class StudentProfileSnapshotController {
+
+    private final ManagementAccessService managementAccessService;
+    private final StudentProfileSnapshotRebuilder studentProfileSnapshotRebuilder;
+
+    public StudentProfileSnapshotController(ManagementAccessService managementAccessService,
+                                            StudentProfileSnapshotRebuilder studentProfileSnapshotRebuilder) {
+        this.managementAccessService = managementAccessService;
+        this.studentProfileSnapshotRebuilder = studentProfileSnapshotRebuilder;
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<StudentProfileSnapshotRebuilder.Result> rebuild(HttpServletRequest request) {
+        managementAccessService.requireTeacherManagementAccess(request);
+        return ResponseEntity.ok(studentProfileSnapshotRebuilder.rebuild());
+    }
+}
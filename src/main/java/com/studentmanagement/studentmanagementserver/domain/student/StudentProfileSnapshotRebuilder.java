@@ -0,0 +1,136 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Regenerates every profile snapshot, e.g. after the snapshot table is introduced or profiles were changed
+ * outside the save path. Students are processed in id batches on a small pool; each batch is one batch
+ * profile read plus one snapshot upsert in its own transaction.
+ */
+@Component
+public class StudentProfileSnapshotRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentProfileSnapshotRebuilder.class);
+
+    private final StudentRepository studentRepository;
+    private final StudentProfileReader studentProfileReader;
+    private final StudentProfileSnapshotStore studentProfileSnapshotStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int parallelism;
+    private final boolean rebuildOnStartup;
+
+    public StudentProfileSnapshotRebuilder(StudentRepository studentRepository,
+                                           StudentProfileReader studentProfileReader,
+                                           StudentProfileSnapshotStore studentProfileSnapshotStore,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${app.student-profile.snapshot-rebuild-batch-size:200}") int batchSize,
+                                           @Value("${app.student-profile.snapshot-rebuild-parallelism:0}") int parallelism,
+                                           @Value("${app.student-profile.snapshot-rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.studentRepository = studentRepository;
+        this.studentProfileReader = studentProfileReader;
+        this.studentProfileSnapshotStore = studentProfileSnapshotStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Result result = rebuild();
+        log.info(
+                "Student profile snapshot rebuild completed. students={}, batches={}, written={}, elapsedMs={}",
+                result.getStudents(),
+                result.getBatches(),
+                result.getWritten(),
+                result.getElapsedMs()
+        );
+    }
+
+    public Result rebuild() {
+        long startedAt = System.currentTimeMillis();
+        List<Long> studentIds = studentRepository.findAllIdsOrderById();
+        List<List<Long>> batches = new ArrayList<List<Long>>();
+        for (int from = 0; from < studentIds.size(); from += batchSize) {
+            batches.add(studentIds.subList(from, Math.min(studentIds.size(), from + batchSize)));
+        }
+        if (batches.isEmpty()) {
+            return new Result(0, 0, 0, System.currentTimeMillis() - startedAt);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()), runnable -> {
+            Thread thread = new Thread(runnable, "student-profile-snapshot-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int written = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (List<Long> batch : batches) {
+                results.add(pool.submit(() -> transactionTemplate.execute(status ->
+                        studentProfileSnapshotStore.writeAll(studentProfileReader.findByStudentIds(batch).values())
+                )));
+            }
+            for (Future<Integer> result : results) {
+                written += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Profile snapshot rebuild was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Profile snapshot rebuild failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(studentIds.size(), batches.size(), written, System.currentTimeMillis() - startedAt);
+    }
+
+    public static class Result {
+        private final int students;
+        private final int batches;
+        private final int written;
+        private final long elapsedMs;
+
+        public Result(int students, int batches, int written, long elapsedMs) {
+            this.students = students;
+            this.batches = batches;
+            this.written = written;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public int getStudents() {
+            return students;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+    }
+}
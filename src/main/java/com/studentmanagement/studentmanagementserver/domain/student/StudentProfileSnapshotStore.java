@@ -0,0 +1,124 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.studentmanagement.studentmanagementserver.repo.StudentProfileSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Denormalized profile documents: a read is one primary-key lookup instead of the profile/school/course
+ * query. Writes are native upserts inside the caller's transaction, so a snapshot commits together with the
+ * save that produced it.
+ */
+@Component
+public class StudentProfileSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentProfileSnapshotStore.class);
+
+    private static final String POSTGRES_UPSERT = "insert into student_profile_snapshot"
+            + " (student_id, profile_version, document, updated_at) values (?, ?, ?, ?)"
+            + " on conflict (student_id) do update set profile_version = excluded.profile_version,"
+            + " document = excluded.document, updated_at = excluded.updated_at"
+            + " where excluded.profile_version >= student_profile_snapshot.profile_version";
+
+    // Standard MERGE for other databases (the H2 test profile has no ON CONFLICT ... DO UPDATE).
+    private static final String MERGE_UPSERT = "merge into student_profile_snapshot s"
+            + " using (select cast(? as bigint) as student_id, cast(? as bigint) as profile_version,"
+            + " cast(? as varchar) as document, cast(? as timestamp) as updated_at) v"
+            + " on s.student_id = v.student_id"
+            + " when matched and v.profile_version >= s.profile_version then update set"
+            + " profile_version = v.profile_version, document = v.document, updated_at = v.updated_at"
+            + " when not matched then insert (student_id, profile_version, document, updated_at)"
+            + " values (v.student_id, v.profile_version, v.document, v.updated_at)";
+
+    private final StudentProfileSnapshotRepository snapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile String upsertStatement;
+
+    public StudentProfileSnapshotStore(StudentProfileSnapshotRepository snapshotRepository,
+                                       JdbcTemplate jdbcTemplate,
+                                       ObjectMapper objectMapper) {
+        this.snapshotRepository = snapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the snapshot only if it was written at exactly this version.
+     */
+    public Optional<VersionedStudentProfile> find(StudentProfileVersion version) {
+        Optional<StudentProfileSnapshot> snapshot = snapshotRepository.findById(version.getStudentId());
+        if (!snapshot.isPresent() || snapshot.get().getProfileVersion() != version.getVersion()) {
+            return Optional.empty();
+        }
+        try {
+            StudentProfileDto profile = objectMapper.readValue(snapshot.get().getDocument(), StudentProfileDto.class);
+            return Optional.of(new VersionedStudentProfile(version.getStudentId(), version.getVersion(), profile));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable profile snapshot for student {}", version.getStudentId(), e);
+            return Optional.empty();
+        }
+    }
+
+    public void write(VersionedStudentProfile profile) {
+        writeAll(Collections.singletonList(profile));
+    }
+
+    /**
+     * Upserts one snapshot per profile in a single batched statement. A row already holding a newer version
+     * is left alone, so a rebuild racing a save cannot roll the document back; and since the database resolves
+     * the conflict, a first save racing a rebuild cannot fail on a duplicate key either.
+     */
+    public int writeAll(Collection<VersionedStudentProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<Object[]>(profiles.size());
+        for (VersionedStudentProfile profile : profiles) {
+            rows.add(new Object[]{profile.getStudentId(), profile.getVersion(), render(profile.getProfile()), now});
+        }
+        int written = 0;
+        for (int count : jdbcTemplate.batchUpdate(upsertStatement(), rows)) {
+            // Batched drivers may report SUCCESS_NO_INFO instead of a row count.
+            written += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+        }
+        return written;
+    }
+
+    private String upsertStatement() {
+        String statement = upsertStatement;
+        if (statement == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+            upsertStatement = statement;
+        }
+        return statement;
+    }
+
+    private String render(StudentProfileDto profile) {
+        ObjectNode document = objectMapper.valueToTree(profile);
+        document.remove(StudentProfileMergePatch.DERIVED_FIELDS);
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render profile snapshot", e);
+        }
+    }
+}
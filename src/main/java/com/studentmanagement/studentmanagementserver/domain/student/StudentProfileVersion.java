@@ -0,0 +1,31 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+/**
+ * Current profile version of a student, read without loading the profile itself.
+ */
+public class StudentProfileVersion {
+
+    private final Long studentId;
+    private final long version;
+
+    public StudentProfileVersion(Long studentId, long version) {
+        this.studentId = studentId;
+        this.version = version;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getETag() {
+        return eTag(studentId, version);
+    }
+
+    static String eTag(Long studentId, long version) {
+        return "\"profile-" + studentId + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,38 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/teacher/students/roster/import")
+public class StudentRosterImportController {
+
+    private final StudentRosterImportService studentRosterImportService;
+
+    public StudentRosterImportController(StudentRosterImportService studentRosterImportService) {
+        this.studentRosterImportService = studentRosterImportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StudentRosterImportService.RosterImportResult> importRoster(
+            @RequestParam(value = "teacherId", required = false) String teacherId,
+            HttpServletRequest request
+    ) throws IOException {
+        try (Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            // The response carries temporary passwords.
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(studentRosterImportService.importRoster(body, teacherId, request));
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import com.studentmanagement.studentmanagementserver.service.TeacherBindingRequiredException;
+import com.studentmanagement.studentmanagementserver.service.TemporaryPasswordGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * CSV roster import: one student account per row, assigned to the importing teacher, with a temporary password
+ * the student must change on first login. Existing usernames are found with one IN query per chunk instead of
+ * a lookup per row, temporary passwords are BCrypt-hashed in parallel on a bounded pool (hashing dominates the
+ * cost), and accounts are inserted in batched transactions. A failing batch is retried row by row so one bad
+ * row only fails itself.
+ */
+@Service
+public class StudentRosterImportService {
+
+    private static final String USERNAME = "username";
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String PREFERRED_NAME = "preferredName";
+    private static final int USERNAME_MAX_LENGTH = 80;
+    private static final int NAME_MAX_LENGTH = 80;
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final TeacherStudentRepository teacherStudentRepository;
+    private final ManagementAccessService managementAccessService;
+    private final PasswordEncoder passwordEncoder;
+    private final TemporaryPasswordGenerator temporaryPasswordGenerator;
+    private final StudentNameSearchIndex studentNameSearchIndex;
+    private final AdminDashboardStatistics adminDashboardStatistics;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRows;
+    private final int batchSize;
+    private final ForkJoinPool hashingPool;
+
+    public StudentRosterImportService(UserRepository userRepository,
+                                      StudentRepository studentRepository,
+                                      TeacherRepository teacherRepository,
+                                      TeacherStudentRepository teacherStudentRepository,
+                                      ManagementAccessService managementAccessService,
+                                      PasswordEncoder passwordEncoder,
+                                      TemporaryPasswordGenerator temporaryPasswordGenerator,
+                                      StudentNameSearchIndex studentNameSearchIndex,
+                                      AdminDashboardStatistics adminDashboardStatistics,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.student-roster.import-max-rows:1000}") int maxRows,
+                                      @Value("${app.student-roster.import-batch-size:100}") int batchSize,
+                                      @Value("${app.student-roster.import-parallelism:0}") int parallelism) {
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.teacherStudentRepository = teacherStudentRepository;
+        this.managementAccessService = managementAccessService;
+        this.passwordEncoder = passwordEncoder;
+        this.temporaryPasswordGenerator = temporaryPasswordGenerator;
+        this.studentNameSearchIndex = studentNameSearchIndex;
+        this.adminDashboardStatistics = adminDashboardStatistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRows = Math.max(1, maxRows);
+        this.batchSize = Math.max(1, batchSize);
+        this.hashingPool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    public RosterImportResult importRoster(Reader body,
+                                           String teacherIdRaw,
+                                           HttpServletRequest request) throws IOException {
+        User operator = managementAccessService.requireStudentAccountManagementAccess(request);
+        Teacher teacher = resolveTeacher(operator, teacherIdRaw);
+        List<RosterRow> rows = parse(body);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Import contains no rows");
+        }
+
+        List<RosterRow> candidates = new ArrayList<RosterRow>();
+        Set<String> seen = new HashSet<String>();
+        for (RosterRow row : rows) {
+            if (row.error == null && !seen.add(row.username)) {
+                row.error = "duplicate username " + row.username + " in import";
+            }
+            if (row.error == null) {
+                candidates.add(row);
+            }
+        }
+        rejectExistingUsernames(candidates);
+
+        List<RosterRow> valid = new ArrayList<RosterRow>();
+        for (RosterRow row : candidates) {
+            if (row.error == null) {
+                valid.add(row);
+            }
+        }
+        hashTemporaryPasswords(valid);
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            write(teacher.getId(), valid.subList(from, Math.min(valid.size(), from + batchSize)));
+        }
+
+        List<CreatedAccount> created = new ArrayList<CreatedAccount>();
+        List<RowError> errors = new ArrayList<RowError>();
+        for (RosterRow row : rows) {
+            if (row.error != null) {
+                errors.add(new RowError(row.line, row.username, row.error));
+            } else {
+                created.add(new CreatedAccount(row.line, row.studentId, row.username, row.tempPassword));
+            }
+        }
+        return new RosterImportResult(teacher.getId(), created, errors);
+    }
+
+    private Teacher resolveTeacher(User operator, String teacherIdRaw) {
+        if (operator.getRole() == UserRole.ADMIN && teacherIdRaw != null && !teacherIdRaw.trim().isEmpty()) {
+            Long teacherId;
+            try {
+                teacherId = Long.valueOf(teacherIdRaw.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("teacherId must be a number");
+            }
+            return teacherRepository.findById(teacherId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Teacher not found: " + teacherId));
+        }
+        return teacherRepository.findByUser_Id(operator.getId())
+                .orElseThrow(TeacherBindingRequiredException::new);
+    }
+
+    private void rejectExistingUsernames(List<RosterRow> rows) {
+        List<String> usernames = new ArrayList<String>(rows.size());
+        for (RosterRow row : rows) {
+            usernames.add(row.username);
+        }
+        Set<String> existing = new HashSet<String>();
+        for (int from = 0; from < usernames.size(); from += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(userRepository.findUsernamesIn(
+                    usernames.subList(from, Math.min(usernames.size(), from + LOOKUP_CHUNK_SIZE))
+            ));
+        }
+        for (RosterRow row : rows) {
+            if (existing.contains(row.username)) {
+                row.error = "Username already exists";
+            }
+        }
+    }
+
+    private void hashTemporaryPasswords(List<RosterRow> rows) {
+        try {
+            hashingPool.submit(() -> rows.parallelStream().forEach(row -> {
+                row.tempPassword = temporaryPasswordGenerator.generate(row.username);
+                row.passwordHash = passwordEncoder.encode(row.tempPassword);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Roster import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate temporary passwords", e.getCause());
+        }
+    }
+
+    private void write(Long teacherId, List<RosterRow> rows) {
+        try {
+            List<Long> studentIds = transactionTemplate.execute(status -> insert(teacherId, rows));
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).studentId = studentIds.get(i);
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                rows.get(0).error = messageOf(e);
+                return;
+            }
+        }
+        for (RosterRow row : rows) {
+            write(teacherId, Collections.singletonList(row));
+        }
+    }
+
+    private List<Long> insert(Long teacherId, List<RosterRow> rows) {
+        List<User> users = new ArrayList<User>(rows.size());
+        for (RosterRow row : rows) {
+            User user = new User(row.username, row.passwordHash, UserRole.STUDENT);
+            user.setMustChangePassword(true);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        Teacher teacher = teacherRepository.getReferenceById(teacherId);
+        List<Student> students = new ArrayList<Student>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RosterRow row = rows.get(i);
+            students.add(new Student(users.get(i), row.firstName, row.lastName, row.preferredName, teacher));
+        }
+        studentRepository.saveAll(students);
+
+        List<TeacherStudent> assignments = new ArrayList<TeacherStudent>(students.size());
+        for (Student student : students) {
+            assignments.add(new TeacherStudent(teacher, student, TeacherStudentStatus.ACTIVE, "Created by roster import"));
+        }
+        teacherStudentRepository.saveAll(assignments);
+        // Surface unique-username races here, inside the retry, rather than at commit.
+        teacherStudentRepository.flush();
+
+        List<Long> studentIds = new ArrayList<Long>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            studentIds.add(student.getId());
+            studentNameSearchIndex.refreshAfterCommit(student.getId());
+            adminDashboardStatistics.studentCreated(users.get(i).getCreatedAt());
+        }
+        return studentIds;
+    }
+
+    private List<RosterRow> parse(Reader body) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(body);
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty");
+        }
+        int usernameColumn = -1;
+        int firstNameColumn = -1;
+        int lastNameColumn = -1;
+        int preferredNameColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (USERNAME.equals(column)) {
+                usernameColumn = i;
+            } else if (FIRST_NAME.equals(column)) {
+                firstNameColumn = i;
+            } else if (LAST_NAME.equals(column)) {
+                lastNameColumn = i;
+            } else if (PREFERRED_NAME.equals(column)) {
+                preferredNameColumn = i;
+            } else {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+        }
+        if (usernameColumn < 0 || firstNameColumn < 0 || lastNameColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain username, firstName and lastName");
+        }
+
+        List<RosterRow> rows = new ArrayList<RosterRow>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue;
+            }
+            if (rows.size() >= maxRows) {
+                throw new IllegalArgumentException("Import exceeds the limit of " + maxRows + " rows");
+            }
+            RosterRow row = new RosterRow(reader.getRecordStartLine());
+            rows.add(row);
+            row.username = cell(record, usernameColumn);
+            row.firstName = cell(record, firstNameColumn);
+            row.lastName = cell(record, lastNameColumn);
+            String preferredName = preferredNameColumn < 0 ? "" : cell(record, preferredNameColumn);
+            row.preferredName = preferredName.isEmpty() ? null : preferredName;
+
+            if (row.username.isEmpty()) {
+                row.error = "username is required";
+            } else if (row.username.length() > USERNAME_MAX_LENGTH) {
+                row.error = "username too long (max " + USERNAME_MAX_LENGTH + ")";
+            } else if (row.firstName.isEmpty() || row.lastName.isEmpty()) {
+                row.error = "First name and last name are required for students";
+            } else if (row.firstName.length() > NAME_MAX_LENGTH
+                    || row.lastName.length() > NAME_MAX_LENGTH
+                    || (row.preferredName != null && row.preferredName.length() > NAME_MAX_LENGTH)) {
+                row.error = "names must be at most " + NAME_MAX_LENGTH + " characters";
+            }
+        }
+        return rows;
+    }
+
+    private static String cell(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static String messageOf(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return "Username already exists";
+        }
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private static class RosterRow {
+        private final int line;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private String preferredName;
+        private String error;
+        private String tempPassword;
+        private String passwordHash;
+        private Long studentId;
+
+        private RosterRow(int line) {
+            this.line = line;
+        }
+    }
+
+    public static class RosterImportResult {
+        private final Long teacherId;
+        private final List<CreatedAccount> data;
+        private final List<RowError> errors;
+
+        public RosterImportResult(Long teacherId, List<CreatedAccount> data, List<RowError> errors) {
+            this.teacherId = teacherId;
+            this.data = data;
+            this.errors = errors;
+        }
+
+        public Long getTeacherId() {
+            return teacherId;
+        }
+
+        public int getCreatedCount() {
+            return data.size();
+        }
+
+        public int getFailedCount() {
+            return errors.size();
+        }
+
+        public List<CreatedAccount> getData() {
+            return data;
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+    }
+
+    public static class CreatedAccount {
+        private final int line;
+        private final Long studentId;
+        private final String username;
+        private final String tempPassword;
+
+        public CreatedAccount(int line, Long studentId, String username, String tempPassword) {
+            this.line = line;
+            this.studentId = studentId;
+            this.username = username;
+            this.tempPassword = tempPassword;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getTempPassword() {
+            return tempPassword;
+        }
+    }
+
+    public static class RowError {
+        private final int line;
+        private final String username;
+        private final String message;
+
+        public RowError(int line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/teacher/students")
+public class TeacherRosterController {
+
+    private final StudentAccountService studentAccountService;
+    private final ManagementAccessService managementAccessService;
+
+    public TeacherRosterController(StudentAccountService studentAccountService,
+                                   ManagementAccessService managementAccessService) {
+        this.studentAccountService = studentAccountService;
+        this.managementAccessService = managementAccessService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> myStudents(@RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "limit", required = false) String limit,
+                                                          HttpServletRequest request) {
+        User operator = managementAccessService.requireStudentAccountManagementAccess(request);
+        StudentAccountService.StudentAccountPage page = studentAccountService.listTeacherRoster(operator, cursor, limit);
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("data", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,101 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/teacher/students/profiles")
+public class TeacherStudentProfileBatchController {
+
+    private final TeacherStudentProfileService teacherStudentProfileService;
+    private final ObjectMapper objectMapper;
+
+    public TeacherStudentProfileBatchController(TeacherStudentProfileService teacherStudentProfileService,
+                                                ObjectMapper objectMapper) {
+        this.teacherStudentProfileService = teacherStudentProfileService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getProfiles(@RequestParam(value = "studentIds", required = false) String studentIds,
+                                                           @RequestParam(value = "version", required = false) String version,
+                                                           @RequestParam(value = "fields", required = false) String fields,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                           HttpServletRequest request) {
+        StudentProfileRepresentation representation = StudentProfileRepresentation.of(version, accept, fields);
+        TeacherStudentProfileService.BatchProfiles batch =
+                teacherStudentProfileService.getProfiles(parseStudentIds(studentIds), request);
+
+        List<BatchProfileItem> items = new ArrayList<BatchProfileItem>(batch.getProfiles().size());
+        for (VersionedStudentProfile profile : batch.getProfiles()) {
+            items.add(new BatchProfileItem(
+                    profile.getStudentId(),
+                    representation.eTag(profile.getETag()),
+                    representation.render(objectMapper, profile.getProfile())
+            ));
+        }
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("data", items);
+        response.put("missingStudentIds", batch.getMissingStudentIds());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response);
+    }
+
+    private List<Long> parseStudentIds(String raw) {
+        List<Long> ids = new ArrayList<Long>();
+        if (raw == null) {
+            return ids;
+        }
+        for (String part : raw.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Long.valueOf(trimmed));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("studentIds must be a comma-separated list of ids");
+            }
+        }
+        return ids;
+    }
+
+    public static class BatchProfileItem {
+        private final Long studentId;
+        private final String etag;
+        private final Object profile;
+
+        public BatchProfileItem(Long studentId, String etag, Object profile) {
+            this.studentId = studentId;
+            this.etag = etag;
+            this.profile = profile;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public Object getProfile() {
+            return profile;
+        }
+    }
+}
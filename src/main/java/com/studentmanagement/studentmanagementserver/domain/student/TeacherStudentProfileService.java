@@ -1,5 +1,6 @@
 package com.studentmanagement.studentmanagementserver.domain.student;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
@@ -8,11 +9,20 @@ import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
 import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
 import com.studentmanagement.studentmanagementserver.service.TeacherBindingRequiredException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class TeacherStudentProfileService {
@@ -21,29 +31,113 @@ public class TeacherStudentProfileService {
     private final TeacherRepository teacherRepository;
     private final TeacherStudentRepository teacherStudentRepository;
     private final StudentProfileService studentProfileService;
+    private final int batchMaxIds;
 
     public TeacherStudentProfileService(ManagementAccessService managementAccessService,
                                         TeacherRepository teacherRepository,
                                         TeacherStudentRepository teacherStudentRepository,
-                                        StudentProfileService studentProfileService) {
+                                        StudentProfileService studentProfileService,
+                                        @Value("${app.student-profile.batch-max-ids:200}") int batchMaxIds) {
         this.managementAccessService = managementAccessService;
         this.teacherRepository = teacherRepository;
         this.teacherStudentRepository = teacherStudentRepository;
         this.studentProfileService = studentProfileService;
+        this.batchMaxIds = Math.max(1, batchMaxIds);
     }
 
-    public StudentProfileDto getProfile(Long studentId, HttpServletRequest request) {
+    public StudentProfileVersion getProfileVersion(Long studentId, HttpServletRequest request) {
         User operator = managementAccessService.requireStudentAccountManagementAccess(request);
         ensureCanAccessStudent(operator, studentId);
-        return studentProfileService.getProfileByStudentId(studentId);
+        return studentProfileService.getProfileVersionByStudentId(studentId);
     }
 
-    public StudentProfileDto saveProfile(Long studentId,
-                                         StudentProfileDto requestBody,
-                                         HttpServletRequest request) {
+    public VersionedStudentProfile getProfile(StudentProfileVersion version) {
+        return studentProfileService.getProfile(version);
+    }
+
+    /**
+     * Profiles of several students in one round trip: the teacher relation is checked once with an IN query,
+     * then profiles, schools and courses are read with one query each. Ids the operator cannot see, or that
+     * do not exist, are reported in {@link BatchProfiles#getMissingStudentIds()} instead of failing the batch.
+     */
+    public BatchProfiles getProfiles(List<Long> studentIds, HttpServletRequest request) {
+        BulkScope scope = resolveBulkScope(request);
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new IllegalArgumentException("studentIds is required");
+        }
+        Set<Long> requested = new LinkedHashSet<Long>();
+        for (Long studentId : studentIds) {
+            if (studentId == null || studentId.longValue() <= 0L) {
+                throw new IllegalArgumentException("studentIds must be positive");
+            }
+            requested.add(studentId);
+        }
+        if (requested.size() > batchMaxIds) {
+            throw new IllegalArgumentException("At most " + batchMaxIds + " studentIds per request");
+        }
+
+        Set<Long> accessible = filterAccessibleStudentIds(scope, requested);
+        Map<Long, VersionedStudentProfile> loaded = accessible.isEmpty()
+                ? Collections.<Long, VersionedStudentProfile>emptyMap()
+                : studentProfileService.getProfiles(accessible);
+
+        List<VersionedStudentProfile> profiles = new ArrayList<VersionedStudentProfile>();
+        List<Long> missing = new ArrayList<Long>();
+        for (Long studentId : requested) {
+            VersionedStudentProfile profile = loaded.get(studentId);
+            if (profile == null) {
+                missing.add(studentId);
+            } else {
+                profiles.add(profile);
+            }
+        }
+        return new BatchProfiles(profiles, missing);
+    }
+
+    public VersionedStudentProfile saveProfile(Long studentId,
+                                               StudentProfileDto requestBody,
+                                               String ifMatch,
+                                               HttpServletRequest request) {
         User operator = managementAccessService.requireStudentAccountManagementAccess(request);
         ensureCanAccessStudent(operator, studentId);
-        return studentProfileService.saveProfileByStudentId(studentId, requestBody, operator.getId());
+        return studentProfileService.saveProfileByStudentId(studentId, requestBody, ifMatch, operator.getId());
+    }
+
+    public VersionedStudentProfile patchProfile(Long studentId,
+                                                JsonNode patch,
+                                                String ifMatch,
+                                                HttpServletRequest request) {
+        User operator = managementAccessService.requireStudentAccountManagementAccess(request);
+        ensureCanAccessStudent(operator, studentId);
+        return studentProfileService.patchProfileByStudentId(studentId, patch, ifMatch, operator.getId());
+    }
+
+    /**
+     * Scope of bulk export/import: the operator's teacher id, or all students for admins.
+     */
+    public BulkScope resolveBulkScope(HttpServletRequest request) {
+        User operator = managementAccessService.requireStudentAccountManagementAccess(request);
+        if (operator.getRole() == UserRole.ADMIN) {
+            return new BulkScope(operator.getId(), null);
+        }
+        Teacher teacher = teacherRepository.findByUser_Id(operator.getId())
+                .orElseThrow(TeacherBindingRequiredException::new);
+        return new BulkScope(operator.getId(), teacher.getId());
+    }
+
+    /**
+     * Ids among {@code studentIds} the scope may access, checked with a single IN query for teachers.
+     * Admin scopes get the ids back unchanged; unknown students are left for the caller to report.
+     */
+    public Set<Long> filterAccessibleStudentIds(BulkScope scope, Collection<Long> studentIds) {
+        if (scope.isAllStudents() || studentIds.isEmpty()) {
+            return new HashSet<Long>(studentIds);
+        }
+        return new HashSet<Long>(teacherStudentRepository.findStudentIdsByTeacherAndStatusAndStudentIdIn(
+                scope.getTeacherId(),
+                TeacherStudentStatus.ACTIVE,
+                studentIds
+        ));
     }
 
     private void ensureCanAccessStudent(User operator, Long studentId) {
@@ -71,4 +165,44 @@ public class TeacherStudentProfileService {
             );
         }
     }
+
+    public static class BatchProfiles {
+        private final List<VersionedStudentProfile> profiles;
+        private final List<Long> missingStudentIds;
+
+        public BatchProfiles(List<VersionedStudentProfile> profiles, List<Long> missingStudentIds) {
+            this.profiles = profiles;
+            this.missingStudentIds = missingStudentIds;
+        }
+
+        public List<VersionedStudentProfile> getProfiles() {
+            return profiles;
+        }
+
+        public List<Long> getMissingStudentIds() {
+            return missingStudentIds;
+        }
+    }
+
+    public static class BulkScope {
+        private final Long operatorUserId;
+        private final Long teacherId;
+
+        public BulkScope(Long operatorUserId, Long teacherId) {
+            this.operatorUserId = operatorUserId;
+            this.teacherId = teacherId;
+        }
+
+        public Long getOperatorUserId() {
+            return operatorUserId;
+        }
+
+        public Long getTeacherId() {
+            return teacherId;
+        }
+
+        public boolean isAllStudents() {
+            return teacherId == null;
+        }
+    }
 }
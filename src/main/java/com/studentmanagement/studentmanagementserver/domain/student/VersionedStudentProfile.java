@@ -0,0 +1,34 @@
+package com.studentmanagement.studentmanagementserver.domain.student;
+
+/**
+ * Assembled profile together with the version it was read at. Instances are cached and shared, so the
+ * profile must not be modified after construction.
+ */
+public final class VersionedStudentProfile {
+
+    private final Long studentId;
+    private final long version;
+    private final StudentProfileDto profile;
+
+    public VersionedStudentProfile(Long studentId, long version, StudentProfileDto profile) {
+        this.studentId = studentId;
+        this.version = version;
+        this.profile = profile;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public StudentProfileDto getProfile() {
+        return profile;
+    }
+
+    public String getETag() {
+        return StudentProfileVersion.eTag(studentId, version);
+    }
+}
@@ -1,7 +1,11 @@
 package com.studentmanagement.studentmanagementserver.domain.teacher;
 
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusBulkUpdater;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.service.JsonListStreamWriter;
 import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -10,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.HashMap;
@@ -22,23 +27,35 @@ public class TeacherAccountController {
 
     private final TeacherAccountService teacherAccountService;
     private final ManagementAccessService managementAccessService;
+    private final JsonListStreamWriter jsonListStreamWriter;
 
     public TeacherAccountController(TeacherAccountService teacherAccountService,
-                                    ManagementAccessService managementAccessService) {
+                                    ManagementAccessService managementAccessService,
+                                    JsonListStreamWriter jsonListStreamWriter) {
         this.teacherAccountService = teacherAccountService;
         this.managementAccessService = managementAccessService;
+        this.jsonListStreamWriter = jsonListStreamWriter;
     }
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> list(HttpServletRequest request) {
         managementAccessService.requireTeacherManagementAccess(request);
-        List<TeacherAccountService.TeacherAccountItem> accounts = teacherAccountService.listTeacherAccounts();
+        List<TeacherAccountItem> accounts = teacherAccountService.listTeacherAccounts();
 
         Map<String, Object> response = new HashMap<String, Object>();
         response.put("data", accounts);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request) {
+        managementAccessService.requireTeacherManagementAccess(request);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonListStreamWriter.dataEnvelope(teacherAccountService::streamTeacherAccounts));
+    }
+
     @PostMapping("/{teacherId}/reset-password")
     public ResponseEntity<TeacherAccountService.ResetTeacherPasswordResponse> resetPassword(
             @PathVariable Long teacherId,
@@ -74,6 +91,16 @@ public class TeacherAccountController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/status")
+    public ResponseEntity<AccountStatusBulkUpdater.Result> updateStatuses(
+            @RequestBody(required = false) UpdateTeacherStatusesRequest req,
+            HttpServletRequest request) {
+        User operator = managementAccessService.requireTeacherManagementAccess(request);
+        List<Long> teacherIds = req == null ? null : req.getTeacherIds();
+        String status = req == null ? null : req.getStatus();
+        return ResponseEntity.ok(teacherAccountService.updateTeacherStatuses(teacherIds, status, operator));
+    }
+
     public static class UpdateTeacherRoleRequest {
         private String role;
 
@@ -97,4 +124,25 @@ public class TeacherAccountController {
             this.status = status;
         }
     }
+
+    public static class UpdateTeacherStatusesRequest {
+        private List<Long> teacherIds;
+        private String status;
+
+        public List<Long> getTeacherIds() {
+            return teacherIds;
+        }
+
+        public void setTeacherIds(List<Long> teacherIds) {
+            this.teacherIds = teacherIds;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.studentmanagement.studentmanagementserver.domain.teacher;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+
+/**
+ * Row of the teacher account list, selected directly by a JPQL constructor projection.
+ */
+public class TeacherAccountItem {
+    private Long teacherId;
+    private String username;
+    private UserRole role;
+    private UserAccountStatus status;
+    private String displayName;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long activeStudentCount;
+    private Long pendingInviteCount;
+
+    public TeacherAccountItem(Long teacherId,
+                              String username,
+                              UserRole role,
+                              UserAccountStatus status,
+                              String displayName,
+                              String firstName,
+                              String lastName,
+                              String email) {
+        this.teacherId = teacherId;
+        this.username = username;
+        this.role = role;
+        this.status = status;
+        this.displayName = displayName;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+    }
+
+    /**
+     * Account row without workload counts; the name fields are not stored separately for teachers yet.
+     */
+    public TeacherAccountItem(Long teacherId,
+                              String username,
+                              UserRole role,
+                              UserAccountStatus status,
+                              String displayName) {
+        this(teacherId, username, role, status, displayName, null, null, null);
+    }
+
+    /**
+     * JPQL constructor projection for the account list, with the counts selected in the same statement.
+     */
+    public TeacherAccountItem(Long teacherId,
+                              String username,
+                              UserRole role,
+                              UserAccountStatus status,
+                              String displayName,
+                              Long activeStudentCount,
+                              Long pendingInviteCount) {
+        this(teacherId, username, role, status, displayName);
+        this.activeStudentCount = activeStudentCount;
+        this.pendingInviteCount = pendingInviteCount;
+    }
+
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public UserAccountStatus getStatus() {
+        return status;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getActiveStudentCount() {
+        return activeStudentCount;
+    }
+
+    public Long getPendingInviteCount() {
+        return pendingInviteCount;
+    }
+}
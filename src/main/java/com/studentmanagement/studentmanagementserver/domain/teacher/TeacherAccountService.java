@@ -2,11 +2,13 @@ package com.studentmanagement.studentmanagementserver.domain.teacher;
 
 import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusBulkUpdater;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.TeacherPasswordResetAuditLogRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
 import com.studentmanagement.studentmanagementserver.repo.UserRepository;
-import com.studentmanagement.studentmanagementserver.repo.UserSessionRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
 import com.studentmanagement.studentmanagementserver.service.TemporaryPasswordGenerator;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,10 +16,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 public class TeacherAccountService {
@@ -27,39 +30,38 @@ public class TeacherAccountService {
     private final PasswordEncoder passwordEncoder;
     private final TemporaryPasswordGenerator temporaryPasswordGenerator;
     private final TeacherPasswordResetAuditLogRepository teacherPasswordResetAuditLogRepository;
-    private final UserSessionRepository userSessionRepository;
+    private final AuthSessionService authSessionService;
+    private final AdminDashboardStatistics adminDashboardStatistics;
+    private final AccountStatusBulkUpdater accountStatusBulkUpdater;
 
     public TeacherAccountService(TeacherRepository teacherRepository,
                                  UserRepository userRepository,
                                  PasswordEncoder passwordEncoder,
                                  TemporaryPasswordGenerator temporaryPasswordGenerator,
                                  TeacherPasswordResetAuditLogRepository teacherPasswordResetAuditLogRepository,
-                                 UserSessionRepository userSessionRepository) {
+                                 AuthSessionService authSessionService,
+                                 AdminDashboardStatistics adminDashboardStatistics,
+                                 AccountStatusBulkUpdater accountStatusBulkUpdater) {
         this.teacherRepository = teacherRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.temporaryPasswordGenerator = temporaryPasswordGenerator;
         this.teacherPasswordResetAuditLogRepository = teacherPasswordResetAuditLogRepository;
-        this.userSessionRepository = userSessionRepository;
+        this.authSessionService = authSessionService;
+        this.adminDashboardStatistics = adminDashboardStatistics;
+        this.accountStatusBulkUpdater = accountStatusBulkUpdater;
     }
 
     @Transactional(readOnly = true)
     public List<TeacherAccountItem> listTeacherAccounts() {
-        List<Teacher> teachers = teacherRepository.findAllWithUser();
-        List<TeacherAccountItem> result = new ArrayList<TeacherAccountItem>(teachers.size());
-        for (Teacher teacher : teachers) {
-            result.add(new TeacherAccountItem(
-                    teacher.getId(),
-                    teacher.getUser().getUsername(),
-                    teacher.getUser().getRole(),
-                    teacher.getUser().getStatus(),
-                    teacher.getName(),
-                    null,
-                    null,
-                    null
-            ));
-        }
-        return result;
+        return teacherRepository.findAllAccountItems(LocalDateTime.now());
+    }
+
+    /**
+     * Unbuffered variant of {@link #listTeacherAccounts()}; the caller owns the transaction and closes the stream.
+     */
+    public Stream<TeacherAccountItem> streamTeacherAccounts() {
+        return teacherRepository.streamAllAccountItems(LocalDateTime.now());
     }
 
     @Transactional
@@ -76,7 +78,7 @@ public class TeacherAccountService {
         targetUser.setPasswordHash(passwordEncoder.encode(tempPassword));
         targetUser.setMustChangePassword(true);
         userRepository.save(targetUser);
-        userSessionRepository.revokeAllActiveSessions(targetUser.getId(), LocalDateTime.now());
+        authSessionService.revokeAllSessions(targetUser.getId());
 
         teacherPasswordResetAuditLogRepository.save(new TeacherPasswordResetAuditLog(operator, teacher));
 
@@ -121,10 +123,12 @@ public class TeacherAccountService {
                 ));
 
         User targetUser = teacher.getUser();
+        UserAccountStatus previousStatus = targetUser.getStatus();
         targetUser.updateStatus(targetStatus, operator == null ? null : operator.getId());
         userRepository.save(targetUser);
+        adminDashboardStatistics.teacherStatusChanged(previousStatus, targetStatus);
         if (targetStatus == UserAccountStatus.ARCHIVED) {
-            userSessionRepository.revokeAllActiveSessions(targetUser.getId(), LocalDateTime.now());
+            authSessionService.revokeAllSessions(targetUser.getId());
         }
 
         return new UpdateTeacherStatusResponse(
@@ -134,6 +138,23 @@ public class TeacherAccountService {
         );
     }
 
+    @Transactional
+    public AccountStatusBulkUpdater.Result updateTeacherStatuses(List<Long> teacherIds, String statusRaw, User operator) {
+        UserAccountStatus targetStatus = parseTeacherAccountStatus(statusRaw);
+        AccountStatusBulkUpdater.Result result = accountStatusBulkUpdater.apply(
+                teacherIds,
+                "teacherIds",
+                "Teacher account",
+                teacherRepository::findStatusTargetsByIdIn,
+                targetStatus,
+                operator
+        );
+        for (Map.Entry<UserAccountStatus, Long> previous : result.changedCountsByPreviousStatus().entrySet()) {
+            adminDashboardStatistics.teacherStatusChanged(previous.getKey(), targetStatus, previous.getValue());
+        }
+        return result;
+    }
+
     private UserRole parseTeacherManagementRole(String roleRaw) {
         if (roleRaw == null || roleRaw.trim().isEmpty()) {
             throw new IllegalArgumentException("role is required");
@@ -164,67 +185,6 @@ public class TeacherAccountService {
         }
     }
 
-    public static class TeacherAccountItem {
-        private Long teacherId;
-        private String username;
-        private UserRole role;
-        private UserAccountStatus status;
-        private String displayName;
-        private String firstName;
-        private String lastName;
-        private String email;
-
-        public TeacherAccountItem(Long teacherId,
-                                  String username,
-                                  UserRole role,
-                                  UserAccountStatus status,
-                                  String displayName,
-                                  String firstName,
-                                  String lastName,
-                                  String email) {
-            this.teacherId = teacherId;
-            this.username = username;
-            this.role = role;
-            this.status = status;
-            this.displayName = displayName;
-            this.firstName = firstName;
-            this.lastName = lastName;
-            this.email = email;
-        }
-
-        public Long getTeacherId() {
-            return teacherId;
-        }
-
-        public String getUsername() {
-            return username;
-        }
-
-        public UserRole getRole() {
-            return role;
-        }
-
-        public UserAccountStatus getStatus() {
-            return status;
-        }
-
-        public String getDisplayName() {
-            return displayName;
-        }
-
-        public String getFirstName() {
-            return firstName;
-        }
-
-        public String getLastName() {
-            return lastName;
-        }
-
-        public String getEmail() {
-            return email;
-        }
-    }
-
     public static class ResetTeacherPasswordResponse {
         private Long teacherId;
         private String username;
@@ -1,6 +1,7 @@
 package com.studentmanagement.studentmanagementserver.domain.teacher;
 
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.TeacherInviteAuditLogRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
@@ -18,17 +19,20 @@ public class TeacherInviteService {
     private final TeacherInviteAuditLogRepository teacherInviteAuditLogRepository;
     private final PasswordEncoder passwordEncoder;
     private final TemporaryPasswordGenerator temporaryPasswordGenerator;
+    private final AdminDashboardStatistics adminDashboardStatistics;
 
     public TeacherInviteService(UserRepository userRepository,
                                 TeacherRepository teacherRepository,
                                 TeacherInviteAuditLogRepository teacherInviteAuditLogRepository,
                                 PasswordEncoder passwordEncoder,
-                                TemporaryPasswordGenerator temporaryPasswordGenerator) {
+                                TemporaryPasswordGenerator temporaryPasswordGenerator,
+                                AdminDashboardStatistics adminDashboardStatistics) {
         this.userRepository = userRepository;
         this.teacherRepository = teacherRepository;
         this.teacherInviteAuditLogRepository = teacherInviteAuditLogRepository;
         this.passwordEncoder = passwordEncoder;
         this.temporaryPasswordGenerator = temporaryPasswordGenerator;
+        this.adminDashboardStatistics = adminDashboardStatistics;
     }
 
     @Transactional
@@ -62,6 +66,7 @@ public class TeacherInviteService {
         Teacher teacher = new Teacher(user, name);
         teacher = teacherRepository.save(teacher);
         teacherInviteAuditLogRepository.save(new TeacherInviteAuditLog(operator, teacher));
+        adminDashboardStatistics.teacherCreated(user.getCreatedAt());
 
         return new CreateTeacherInviteResponse(username, tempPassword);
     }
@@ -0,0 +1,143 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherAccountItem;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the account change feed. Exactly one of {@code student}, {@code teacher} or {@code assignment}
+ * is set, matching {@code kind}; each carries the row's current state, so clients upsert it by id.
+ */
+public class AccountChange {
+
+    /**
+     * Declaration order is also the tie-break order for changes with the same sequence number.
+     */
+    public enum Kind {
+        STUDENT_ACCOUNT,
+        TEACHER_ACCOUNT,
+        ASSIGNMENT
+    }
+
+    private final Kind kind;
+    private final long changeSeq;
+    private final LocalDateTime changedAt;
+    private final StudentAccountItem student;
+    private final TeacherAccountItem teacher;
+    private final Assignment assignment;
+
+    private AccountChange(Kind kind,
+                          long changeSeq,
+                          LocalDateTime changedAt,
+                          StudentAccountItem student,
+                          TeacherAccountItem teacher,
+                          Assignment assignment) {
+        this.kind = kind;
+        this.changeSeq = changeSeq;
+        this.changedAt = changedAt;
+        this.student = student;
+        this.teacher = teacher;
+        this.assignment = assignment;
+    }
+
+    static AccountChange student(long changeSeq, LocalDateTime changedAt, StudentAccountItem student) {
+        return new AccountChange(Kind.STUDENT_ACCOUNT, changeSeq, changedAt, student, null, null);
+    }
+
+    static AccountChange teacher(long changeSeq, LocalDateTime changedAt, TeacherAccountItem teacher) {
+        return new AccountChange(Kind.TEACHER_ACCOUNT, changeSeq, changedAt, null, teacher, null);
+    }
+
+    static AccountChange assignment(long changeSeq, LocalDateTime changedAt, Assignment assignment) {
+        return new AccountChange(Kind.ASSIGNMENT, changeSeq, changedAt, null, null, assignment);
+    }
+
+    long changeSeq() {
+        return changeSeq;
+    }
+
+    Long rowId() {
+        switch (kind) {
+            case STUDENT_ACCOUNT:
+                return student.getStudentId();
+            case TEACHER_ACCOUNT:
+                return teacher.getTeacherId();
+            default:
+                return assignment.getAssignmentId();
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * When the change was recorded, by the writing instance's clock; informational only, the feed is ordered
+     * by sequence.
+     */
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public StudentAccountItem getStudent() {
+        return student;
+    }
+
+    public TeacherAccountItem getTeacher() {
+        return teacher;
+    }
+
+    public Assignment getAssignment() {
+        return assignment;
+    }
+
+    /**
+     * A teacher-student assignment. Assignments are ended by archiving rather than deleting, so
+     * {@code removed} marks the tombstone a client should apply by dropping the pair.
+     */
+    public static class Assignment {
+        private final Long assignmentId;
+        private final Long teacherId;
+        private final Long studentId;
+        private final TeacherStudentStatus status;
+        private final LocalDateTime assignedAt;
+
+        public Assignment(Long assignmentId,
+                          Long teacherId,
+                          Long studentId,
+                          TeacherStudentStatus status,
+                          LocalDateTime assignedAt) {
+            this.assignmentId = assignmentId;
+            this.teacherId = teacherId;
+            this.studentId = studentId;
+            this.status = status;
+            this.assignedAt = assignedAt;
+        }
+
+        public Long getAssignmentId() {
+            return assignmentId;
+        }
+
+        public Long getTeacherId() {
+            return teacherId;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public TeacherStudentStatus getStatus() {
+            return status;
+        }
+
+        public LocalDateTime getAssignedAt() {
+            return assignedAt;
+        }
+
+        public boolean isRemoved() {
+            return status != TeacherStudentStatus.ACTIVE;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Single-row counter behind the account change sequence. A writing transaction bumps it just before commit and
+ * holds the row lock until the commit finishes, so sequence numbers become visible strictly in commit order.
+ */
+@Entity
+@Table(name = "account_change_counter")
+@Immutable
+public class AccountChangeCounter {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    protected AccountChangeCounter() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+}
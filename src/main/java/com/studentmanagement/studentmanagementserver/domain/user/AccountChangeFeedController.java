@@ -0,0 +1,39 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/teacher/account-changes")
+public class AccountChangeFeedController {
+
+    private final AccountChangeFeedService accountChangeFeedService;
+    private final ManagementAccessService managementAccessService;
+
+    public AccountChangeFeedController(AccountChangeFeedService accountChangeFeedService,
+                                       ManagementAccessService managementAccessService) {
+        this.accountChangeFeedService = accountChangeFeedService;
+        this.managementAccessService = managementAccessService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list(@RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "limit", required = false) String limit,
+                                                    HttpServletRequest request) {
+        managementAccessService.requireTeacherManagementAccess(request);
+        AccountChangeFeedService.AccountChangePage page = accountChangeFeedService.listChanges(cursor, limit);
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("data", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasMore", page.isHasMore());
+        return ResponseEntity.ok(response);
+    }
+}
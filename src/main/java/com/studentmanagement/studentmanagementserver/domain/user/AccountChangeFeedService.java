@@ -0,0 +1,298 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherAccountItem;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Changes to student/teacher accounts and teacher-student assignments after a cursor, ordered by
+ * (change sequence, kind, id). Sequence numbers come from {@link AccountChangeTracker}: they are assigned only
+ * when a field shown in the feed changes, and become visible strictly in commit order, so a cursor can never
+ * skip a change that commits later. Rows never changed since the tracker was introduced have no sequence and
+ * are served at 0; no cursor replays everything, which is how a client builds its initial copy.
+ * <p>
+ * A page is read in one repeatable-read snapshot, so the kinds and the end-of-window sequence agree.
+ */
+@Service
+public class AccountChangeFeedService {
+
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int MAX_LIMIT = 1000;
+
+    private static final Source STUDENTS = new Source(
+            AccountChange.Kind.STUDENT_ACCOUNT,
+            "s.id as row_id, u.username, u.role, u.status, s.first_name, s.last_name, s.nick_name",
+            "greatest(s.updated_at, u.updated_at)",
+            " from students s join users u on u.id = s.user_id"
+                    + " left join account_change_marks m on m.kind = :kind and m.row_id = s.id where m.row_id is null",
+            " from account_change_marks m join students s on s.id = m.row_id join users u on u.id = s.user_id"
+                    + " where m.kind = :kind and m.change_seq >= :seq",
+            rs -> AccountChange.student(rs.getLong("change_seq"), changedAt(rs), new StudentAccountItem(
+                    rs.getLong("row_id"),
+                    rs.getString("username"),
+                    UserRole.valueOf(rs.getString("role")),
+                    UserAccountStatus.valueOf(rs.getString("status")),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("nick_name")
+            ))
+    );
+
+    private static final Source TEACHERS = new Source(
+            AccountChange.Kind.TEACHER_ACCOUNT,
+            "t.id as row_id, u.username, u.role, u.status, t.name",
+            "greatest(t.updated_at, u.updated_at)",
+            " from teachers t join users u on u.id = t.user_id"
+                    + " left join account_change_marks m on m.kind = :kind and m.row_id = t.id where m.row_id is null",
+            " from account_change_marks m join teachers t on t.id = m.row_id join users u on u.id = t.user_id"
+                    + " where m.kind = :kind and m.change_seq >= :seq",
+            rs -> AccountChange.teacher(rs.getLong("change_seq"), changedAt(rs), new TeacherAccountItem(
+                    rs.getLong("row_id"),
+                    rs.getString("username"),
+                    UserRole.valueOf(rs.getString("role")),
+                    UserAccountStatus.valueOf(rs.getString("status")),
+                    rs.getString("name")
+            ))
+    );
+
+    private static final Source ASSIGNMENTS = new Source(
+            AccountChange.Kind.ASSIGNMENT,
+            "ts.id as row_id, ts.teacher_id, ts.student_id, ts.status, ts.assigned_at",
+            "ts.updated_at",
+            " from teacher_student ts"
+                    + " left join account_change_marks m on m.kind = :kind and m.row_id = ts.id where m.row_id is null",
+            " from account_change_marks m join teacher_student ts on ts.id = m.row_id"
+                    + " where m.kind = :kind and m.change_seq >= :seq",
+            rs -> AccountChange.assignment(rs.getLong("change_seq"), changedAt(rs), new AccountChange.Assignment(
+                    rs.getLong("row_id"),
+                    rs.getLong("teacher_id"),
+                    rs.getLong("student_id"),
+                    TeacherStudentStatus.valueOf(rs.getString("status")),
+                    rs.getTimestamp("assigned_at").toLocalDateTime()
+            ))
+    );
+
+    private static final List<Source> SOURCES = Arrays.asList(STUDENTS, TEACHERS, ASSIGNMENTS);
+
+    private static final Comparator<AccountChange> FEED_ORDER = Comparator
+            .comparingLong(AccountChange::changeSeq)
+            .thenComparing(AccountChange::getKind)
+            .thenComparing(AccountChange::rowId);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AccountChangeFeedService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AccountChangePage listChanges(String cursor, String limitRaw) {
+        int limit = parseLimit(limitRaw);
+        Position after = isBlank(cursor) ? null : Position.decode(cursor.trim());
+        List<Long> counter = jdbcTemplate.queryForList(
+                "select last_seq from account_change_counter where id = 1", new MapSqlParameterSource(), Long.class);
+        long lastSeq = counter.isEmpty() ? 0L : counter.get(0);
+
+        List<AccountChange> changes = new ArrayList<AccountChange>();
+        for (Source source : SOURCES) {
+            if (after == null || (after.changeSeq == 0L && source.kind.ordinal() >= after.kindOrdinal)) {
+                changes.addAll(queryUnmarked(source, after, limit));
+            }
+            changes.addAll(queryMarked(source, after, limit));
+        }
+        changes.sort(FEED_ORDER);
+
+        if (changes.size() > limit) {
+            List<AccountChange> page = new ArrayList<AccountChange>(changes.subList(0, limit));
+            AccountChange last = page.get(page.size() - 1);
+            Position next = new Position(last.changeSeq(), last.getKind().ordinal(), last.rowId());
+            return new AccountChangePage(page, next.encode(), true);
+        }
+        long endSeq = after == null ? lastSeq : Math.max(lastSeq, after.changeSeq);
+        return new AccountChangePage(changes, Position.endOfWindow(endSeq).encode(), false);
+    }
+
+    /**
+     * Up to {@code limit + 1} never-changed rows (sequence 0) of one kind after the cursor, in id order.
+     */
+    private List<AccountChange> queryUnmarked(Source source, Position after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("kind", source.kind.name())
+                .addValue("limit", limit + 1);
+        StringBuilder sql = new StringBuilder("select * from (select ")
+                .append(source.columns).append(", 0 as change_seq, ").append(source.unmarkedChangedAt)
+                .append(" as changed_at").append(source.unmarkedFrom).append(") c");
+        if (after != null && source.kind.ordinal() == after.kindOrdinal) {
+            sql.append(" where c.row_id > :afterId");
+            params.addValue("afterId", after.rowId);
+        }
+        sql.append(" order by c.row_id limit :limit");
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> source.mapper.map(rs));
+    }
+
+    /**
+     * Up to {@code limit + 1} changed rows of one kind after the cursor; merged with the other kinds, that is
+     * enough to fill a page and tell whether more remain. The keyset tie-break on kind is resolved here, since
+     * it is constant per query.
+     */
+    private List<AccountChange> queryMarked(Source source, Position after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("kind", source.kind.name())
+                .addValue("seq", after == null ? 0L : after.changeSeq)
+                .addValue("limit", limit + 1);
+        StringBuilder sql = new StringBuilder("select * from (select ")
+                .append(source.columns).append(", m.change_seq, m.changed_at")
+                .append(source.markedFrom).append(") c");
+        if (after != null) {
+            if (source.kind.ordinal() > after.kindOrdinal) {
+                sql.append(" where c.change_seq >= :seq");
+            } else if (source.kind.ordinal() < after.kindOrdinal) {
+                sql.append(" where c.change_seq > :seq");
+            } else {
+                sql.append(" where (c.change_seq > :seq or (c.change_seq = :seq and c.row_id > :afterId))");
+                params.addValue("afterId", after.rowId);
+            }
+        }
+        sql.append(" order by c.change_seq, c.row_id limit :limit");
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> source.mapper.map(rs));
+    }
+
+    private static LocalDateTime changedAt(ResultSet rs) throws SQLException {
+        Timestamp changedAt = rs.getTimestamp("changed_at");
+        return changedAt == null ? null : changedAt.toLocalDateTime();
+    }
+
+    private static int parseLimit(String limitRaw) {
+        int limit = DEFAULT_LIMIT;
+        if (!isBlank(limitRaw)) {
+            try {
+                limit = Integer.parseInt(limitRaw.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("limit must be a number");
+            }
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private interface ChangeMapper {
+        AccountChange map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * One feed kind: its columns, the never-changed rows (no mark) and the changed rows joined from their marks.
+     */
+    private static class Source {
+        private final AccountChange.Kind kind;
+        private final String columns;
+        private final String unmarkedChangedAt;
+        private final String unmarkedFrom;
+        private final String markedFrom;
+        private final ChangeMapper mapper;
+
+        private Source(AccountChange.Kind kind,
+                       String columns,
+                       String unmarkedChangedAt,
+                       String unmarkedFrom,
+                       String markedFrom,
+                       ChangeMapper mapper) {
+            this.kind = kind;
+            this.columns = columns;
+            this.unmarkedChangedAt = unmarkedChangedAt;
+            this.unmarkedFrom = unmarkedFrom;
+            this.markedFrom = markedFrom;
+            this.mapper = mapper;
+        }
+    }
+
+    /**
+     * Feed position; the cursor is {@code kind:id:changeSeq} Base64url-encoded. A kind ordinal past the last kind
+     * means "everything up to changeSeq has been seen".
+     */
+    private static class Position {
+        private final long changeSeq;
+        private final int kindOrdinal;
+        private final long rowId;
+
+        private Position(long changeSeq, int kindOrdinal, long rowId) {
+            this.changeSeq = changeSeq;
+            this.kindOrdinal = kindOrdinal;
+            this.rowId = rowId;
+        }
+
+        private static Position endOfWindow(long changeSeq) {
+            return new Position(changeSeq, AccountChange.Kind.values().length, 0L);
+        }
+
+        private String encode() {
+            String raw = kindOrdinal + ":" + rowId + ":" + changeSeq;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Position decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split(":", 3);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                int kindOrdinal = Integer.parseInt(parts[0]);
+                long changeSeq = Long.parseLong(parts[2]);
+                if (kindOrdinal < 0 || kindOrdinal > AccountChange.Kind.values().length || changeSeq < 0L) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new Position(changeSeq, kindOrdinal, Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    public static class AccountChangePage {
+        private final List<AccountChange> items;
+        private final String nextCursor;
+        private final boolean hasMore;
+
+        public AccountChangePage(List<AccountChange> items, String nextCursor, boolean hasMore) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+
+        public List<AccountChange> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
+    }
+}
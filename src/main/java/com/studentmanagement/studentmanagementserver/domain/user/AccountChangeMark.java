@@ -0,0 +1,91 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Latest change sequence of one account-feed row ({@link AccountChange.Kind} plus the row's id). Rows are only
+ * written by {@link AccountChangeTracker}'s native upsert; a row that was never changed has no mark and is
+ * served at sequence 0 on a full replay.
+ */
+@Entity
+@Table(
+        name = "account_change_marks",
+        indexes = @Index(name = "idx_account_change_marks_kind_seq", columnList = "kind, change_seq")
+)
+@IdClass(AccountChangeMark.Key.class)
+@Immutable
+public class AccountChangeMark {
+
+    @Id
+    @Column(name = "kind", nullable = false, length = 20)
+    private String kind;
+
+    @Id
+    @Column(name = "row_id", nullable = false)
+    private Long rowId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    protected AccountChangeMark() {
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public Long getRowId() {
+        return rowId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public static class Key implements Serializable {
+        private String kind;
+        private Long rowId;
+
+        public Key() {
+        }
+
+        public Key(String kind, Long rowId) {
+            this.kind = kind;
+            this.rowId = rowId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return Objects.equals(kind, key.kind) && Objects.equals(rowId, key.rowId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, rowId);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stamps rows of the account change feed with a commit-ordered sequence. Hibernate insert/update events collect
+ * the rows whose feed fields actually changed (dirty properties, not {@code updated_at}), so logins, password
+ * changes and profile saves that keep the names do not count. Just before commit the transaction takes the next
+ * value of {@link AccountChangeCounter} and upserts an {@link AccountChangeMark} per row; the counter row stays
+ * locked until the commit finishes, so a reader never sees sequence {@code n + 1} without {@code n}.
+ * <p>
+ * Bulk JPQL updates bypass the events; their callers report the affected users through {@link #usersChanged}.
+ */
+@Component
+public class AccountChangeTracker implements PostInsertEventListener, PostUpdateEventListener {
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private static final Set<String> USER_FIELDS = new HashSet<String>(Arrays.asList("username", "role", "status"));
+    private static final Set<String> STUDENT_FIELDS = new HashSet<String>(Arrays.asList("firstName", "lastName", "nickName"));
+    private static final Set<String> TEACHER_FIELDS = Collections.singleton("name");
+    private static final Set<String> ASSIGNMENT_FIELDS = new HashSet<String>(Arrays.asList("teacher", "student", "status", "assignedAt"));
+
+    private static final String POSTGRES_SEED_COUNTER =
+            "insert into account_change_counter (id, last_seq) values (1, 0) on conflict (id) do nothing";
+    private static final String SEED_COUNTER = "insert into account_change_counter (id, last_seq)"
+            + " select 1, 0 where not exists (select 1 from account_change_counter where id = 1)";
+    private static final String POSTGRES_UPSERT_MARK = "insert into account_change_marks"
+            + " (kind, row_id, change_seq, changed_at) values (?, ?, ?, ?)"
+            + " on conflict (kind, row_id) do update set change_seq = excluded.change_seq, changed_at = excluded.changed_at";
+    private static final String MERGE_MARK = "merge into account_change_marks (kind, row_id, change_seq, changed_at)"
+            + " key (kind, row_id) values (?, ?, ?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<SharedSessionContractImplementor, PendingChanges> pending =
+            new ConcurrentHashMap<SharedSessionContractImplementor, PendingChanges>();
+    private volatile Boolean postgres;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AccountChangeTracker(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    /**
+     * For writes that skip the entity events (bulk JPQL): marks the student and teacher rows of these users in
+     * the current transaction.
+     */
+    public void usersChanged(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            pendingFor(entityManager.unwrap(SessionImplementor.class)).userIds.addAll(userIds);
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        track(event.getSession(), event.getEntity(), event.getId(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            track(event.getSession(), event.getEntity(), event.getId(), null);
+            return;
+        }
+        String[] propertyNames = event.getPersister().getPropertyNames();
+        Set<String> dirtyNames = new HashSet<String>();
+        for (int index : dirty) {
+            dirtyNames.add(propertyNames[index]);
+        }
+        track(event.getSession(), event.getEntity(), event.getId(), dirtyNames);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Still abstract in Hibernate 5.6, so it has to be implemented; marked deprecated like the original so
+     * overriding it raises no warning.
+     */
+    @Deprecated
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    /**
+     * {@code dirtyNames == null} means a new row, or an update without dirty-property information; both count.
+     */
+    private void track(SessionImplementor session, Object entity, Object id, Set<String> dirtyNames) {
+        if (entity instanceof User) {
+            if (dirtyNames != null && touches(dirtyNames, USER_FIELDS)) {
+                pendingFor(session).userIds.add((Long) id);
+            }
+        } else if (entity instanceof Student) {
+            if (dirtyNames == null || touches(dirtyNames, STUDENT_FIELDS)) {
+                pendingFor(session).add(AccountChange.Kind.STUDENT_ACCOUNT, (Long) id);
+            }
+        } else if (entity instanceof Teacher) {
+            if (dirtyNames == null || touches(dirtyNames, TEACHER_FIELDS)) {
+                pendingFor(session).add(AccountChange.Kind.TEACHER_ACCOUNT, (Long) id);
+            }
+        } else if (entity instanceof TeacherStudent) {
+            if (dirtyNames == null || touches(dirtyNames, ASSIGNMENT_FIELDS)) {
+                pendingFor(session).add(AccountChange.Kind.ASSIGNMENT, (Long) id);
+            }
+        }
+    }
+
+    private static boolean touches(Set<String> dirtyNames, Set<String> fields) {
+        for (String name : dirtyNames) {
+            if (fields.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PendingChanges pendingFor(SessionImplementor session) {
+        PendingChanges changes = pending.get(session);
+        if (changes == null) {
+            changes = new PendingChanges();
+            pending.put(session, changes);
+            session.getActionQueue().registerProcess(changes);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                    pending.remove(completed));
+        }
+        return changes;
+    }
+
+    /**
+     * Runs on the session's own connection after the final flush, so it is part of the transaction being
+     * committed and takes the counter lock as late as possible.
+     */
+    private void write(SessionImplementor session, PendingChanges changes) {
+        session.doWork(connection -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (postgres == null) {
+                postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            }
+            resolveUsers(jdbcTemplate, changes);
+            if (changes.rows.isEmpty()) {
+                return;
+            }
+            long seq = nextSeq(jdbcTemplate);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> marks = new ArrayList<Object[]>(changes.rows.size());
+            for (PendingRow row : changes.rows) {
+                marks.add(new Object[]{row.kind.name(), row.rowId, seq, now});
+            }
+            jdbcTemplate.batchUpdate(postgres ? POSTGRES_UPSERT_MARK : MERGE_MARK, marks);
+        });
+    }
+
+    private void resolveUsers(JdbcTemplate jdbcTemplate, PendingChanges changes) {
+        if (changes.userIds.isEmpty()) {
+            return;
+        }
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        List<Long> userIds = new ArrayList<Long>(changes.userIds);
+        for (int from = 0; from < userIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            MapSqlParameterSource params = new MapSqlParameterSource("userIds",
+                    userIds.subList(from, Math.min(userIds.size(), from + LOOKUP_CHUNK_SIZE)));
+            for (Long studentId : namedJdbcTemplate.queryForList(
+                    "select id from students where user_id in (:userIds)", params, Long.class)) {
+                changes.add(AccountChange.Kind.STUDENT_ACCOUNT, studentId);
+            }
+            for (Long teacherId : namedJdbcTemplate.queryForList(
+                    "select id from teachers where user_id in (:userIds)", params, Long.class)) {
+                changes.add(AccountChange.Kind.TEACHER_ACCOUNT, teacherId);
+            }
+        }
+    }
+
+    private long nextSeq(JdbcTemplate jdbcTemplate) {
+        String bump = "update account_change_counter set last_seq = last_seq + 1 where id = 1";
+        if (jdbcTemplate.update(bump) == 0) {
+            jdbcTemplate.update(postgres ? POSTGRES_SEED_COUNTER : SEED_COUNTER);
+            jdbcTemplate.update(bump);
+        }
+        return jdbcTemplate.queryForObject("select last_seq from account_change_counter where id = 1", Long.class);
+    }
+
+    private class PendingChanges implements BeforeTransactionCompletionProcess {
+        private final Set<Long> userIds = new LinkedHashSet<Long>();
+        private final Set<PendingRow> rows = new LinkedHashSet<PendingRow>();
+
+        private void add(AccountChange.Kind kind, Long rowId) {
+            rows.add(new PendingRow(kind, rowId));
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            write(session, this);
+        }
+    }
+
+    private static class PendingRow {
+        private final AccountChange.Kind kind;
+        private final Long rowId;
+
+        private PendingRow(AccountChange.Kind kind, Long rowId) {
+            this.kind = kind;
+            this.rowId = rowId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof PendingRow)) {
+                return false;
+            }
+            PendingRow row = (PendingRow) other;
+            return kind == row.kind && rowId.equals(row.rowId);
+        }
+
+        @Override
+        public int hashCode() {
+            return kind.hashCode() * 31 + rowId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Status changes for many accounts at once. Targets are resolved, updated and (for archives) signed out with
+ * one statement per chunk of {@value #CHUNK_SIZE} ids instead of a load/save per account, all inside the
+ * caller's transaction. The operator is stamped on every changed row by the same UPDATE.
+ */
+@Component
+public class AccountStatusBulkUpdater {
+
+    public static final int MAX_IDS = 1000;
+    // Keeps IN lists well under driver/database parameter limits.
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final AuthSessionService authSessionService;
+    private final AccountChangeTracker accountChangeTracker;
+
+    public AccountStatusBulkUpdater(UserRepository userRepository,
+                                    AuthSessionService authSessionService,
+                                    AccountChangeTracker accountChangeTracker) {
+        this.userRepository = userRepository;
+        this.authSessionService = authSessionService;
+        this.accountChangeTracker = accountChangeTracker;
+    }
+
+    /**
+     * Applies {@code status} to the accounts with the given ids. Fails with 404 before changing anything when an
+     * id does not exist; accounts already in {@code status} are left untouched but still signed out on archive.
+     */
+    public Result apply(List<Long> accountIdsRaw,
+                        String idsField,
+                        String accountLabel,
+                        Function<Collection<Long>, List<AccountStatusTarget>> targetLoader,
+                        UserAccountStatus status,
+                        User operator) {
+        List<Long> accountIds = normalizeIds(accountIdsRaw, idsField);
+
+        List<AccountStatusTarget> targets = new ArrayList<AccountStatusTarget>(accountIds.size());
+        for (List<Long> chunk : chunks(accountIds)) {
+            targets.addAll(targetLoader.apply(chunk));
+        }
+        if (targets.size() != accountIds.size()) {
+            Set<Long> found = new HashSet<Long>();
+            for (AccountStatusTarget target : targets) {
+                found.add(target.getAccountId());
+            }
+            List<Long> missing = new ArrayList<Long>();
+            for (Long accountId : accountIds) {
+                if (!found.contains(accountId)) {
+                    missing.add(accountId);
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, accountLabel + " not found: " + missing);
+        }
+
+        List<AccountStatusTarget> changed = new ArrayList<AccountStatusTarget>();
+        List<Long> changedUserIds = new ArrayList<Long>();
+        List<Long> allUserIds = new ArrayList<Long>(targets.size());
+        for (AccountStatusTarget target : targets) {
+            allUserIds.add(target.getUserId());
+            if (target.getStatus() != status) {
+                changed.add(target);
+                changedUserIds.add(target.getUserId());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Long operatorId = operator == null ? null : operator.getId();
+        for (List<Long> chunk : chunks(changedUserIds)) {
+            userRepository.updateStatusByIdIn(chunk, status, operatorId, now);
+        }
+        // The bulk UPDATE skips entity events, so the change sequence (feed, search index sync) is told directly.
+        accountChangeTracker.usersChanged(changedUserIds);
+        int revokedSessions = 0;
+        if (status == UserAccountStatus.ARCHIVED) {
+            for (List<Long> chunk : chunks(allUserIds)) {
+                revokedSessions += authSessionService.revokeAllSessions(chunk);
+            }
+        }
+        return new Result(status, changed, targets.size() - changed.size(), revokedSessions);
+    }
+
+    private static List<Long> normalizeIds(List<Long> accountIdsRaw, String idsField) {
+        if (accountIdsRaw == null || accountIdsRaw.isEmpty()) {
+            throw new IllegalArgumentException(idsField + " is required");
+        }
+        Set<Long> unique = new LinkedHashSet<Long>();
+        for (Long accountId : accountIdsRaw) {
+            if (accountId == null) {
+                throw new IllegalArgumentException(idsField + " must not contain null");
+            }
+            unique.add(accountId);
+        }
+        if (unique.size() > MAX_IDS) {
+            throw new IllegalArgumentException(idsField + " must contain at most " + MAX_IDS + " ids");
+        }
+        return new ArrayList<Long>(unique);
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<List<Long>>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    public static class Result {
+        private final UserAccountStatus status;
+        private final List<AccountStatusTarget> changed;
+        private final int unchangedCount;
+        private final int revokedSessionCount;
+
+        public Result(UserAccountStatus status,
+                      List<AccountStatusTarget> changed,
+                      int unchangedCount,
+                      int revokedSessionCount) {
+            this.status = status;
+            this.changed = changed;
+            this.unchangedCount = unchangedCount;
+            this.revokedSessionCount = revokedSessionCount;
+        }
+
+        public UserAccountStatus getStatus() {
+            return status;
+        }
+
+        public int getUpdatedCount() {
+            return changed.size();
+        }
+
+        public int getUnchangedCount() {
+            return unchangedCount;
+        }
+
+        public int getRevokedSessionCount() {
+            return revokedSessionCount;
+        }
+
+        /**
+         * Targets whose status moved, with their status before the change.
+         */
+        public List<AccountStatusTarget> changedTargets() {
+            return changed;
+        }
+
+        public Map<UserAccountStatus, Long> changedCountsByPreviousStatus() {
+            Map<UserAccountStatus, Long> counts = new EnumMap<UserAccountStatus, Long>(UserAccountStatus.class);
+            for (AccountStatusTarget target : changed) {
+                counts.merge(target.getStatus(), 1L, Long::sum);
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+
+/**
+ * A student or teacher account addressed by a bulk status change: the account id callers pass in, the users row
+ * the status lives on, and that row's current status.
+ */
+public class AccountStatusTarget {
+
+    private final Long accountId;
+    private final Long userId;
+    private final UserAccountStatus status;
+
+    public AccountStatusTarget(Long accountId, Long userId, UserAccountStatus status) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.status = status;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UserAccountStatus getStatus() {
+        return status == null ? UserAccountStatus.ACTIVE : status;
+    }
+}
@@ -0,0 +1,29 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.service.ManagementAccessService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/teacher/dashboard")
+public class AdminDashboardController {
+
+    private final AdminDashboardStatistics adminDashboardStatistics;
+    private final ManagementAccessService managementAccessService;
+
+    public AdminDashboardController(AdminDashboardStatistics adminDashboardStatistics,
+                                    ManagementAccessService managementAccessService) {
+        this.adminDashboardStatistics = adminDashboardStatistics;
+        this.managementAccessService = managementAccessService;
+    }
+
+    @GetMapping
+    public ResponseEntity<AdminDashboardStatistics.Snapshot> get(HttpServletRequest request) {
+        managementAccessService.requireTeacherManagementAccess(request);
+        return ResponseEntity.ok(adminDashboardStatistics.snapshot());
+    }
+}
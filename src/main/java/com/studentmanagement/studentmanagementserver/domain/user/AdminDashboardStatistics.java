@@ -0,0 +1,363 @@
+package com.studentmanagement.studentmanagementserver.domain.user;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.StudentInviteStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admin dashboard totals kept in memory, so reading them costs no query. Mutation points report deltas, applied
+ * only once their transaction commits. Time-bound totals (pending invites, active sessions) keep each live
+ * item's expiry, so items drop out when they expire without anyone reporting it.
+ * <p>
+ * Everything is re-counted from the database on first read and then at most every {@code reconcile-ms}; that
+ * also absorbs writes this instance did not see (other instances, startup initializers, bulk SQL). The recount
+ * runs outside the monitor that guards the totals, so reads and after-commit deltas never wait on it; the new
+ * totals are swapped in at the end. Deltas arriving while a recount is in flight are dropped rather than applied
+ * on top, since the recount may already include them; a change that commits after its query ran is picked up by
+ * the next recount.
+ */
+@Component
+public class AdminDashboardStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminDashboardStatistics.class);
+
+    private static final int REGISTRATION_DAYS = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long reconcileIntervalMillis;
+
+    // Only one recount at a time; readers that find one running keep serving the current totals.
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    // Guarded by this.
+    private Map<UserAccountStatus, Long> studentsByStatus = new EnumMap<UserAccountStatus, Long>(UserAccountStatus.class);
+    private Map<UserAccountStatus, Long> teachersByStatus = new EnumMap<UserAccountStatus, Long>(UserAccountStatus.class);
+    private ExpiringCounter pendingInvites = new ExpiringCounter();
+    private ExpiringCounter activeSessions = new ExpiringCounter();
+    private TreeMap<LocalDate, Long> registrationsByDay = new TreeMap<LocalDate, Long>();
+    private boolean loaded;
+    private boolean reconciling;
+    private long reconciledAt;
+
+    public AdminDashboardStatistics(JdbcTemplate jdbcTemplate,
+                                    @Value("${app.dashboard.reconcile-ms:300000}") long reconcileIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileIntervalMillis = Math.max(0L, reconcileIntervalMillis);
+    }
+
+    public Snapshot snapshot() {
+        if (!isLoaded()) {
+            // Nothing to serve yet: wait for the first recount, whoever runs it.
+            reconcileLock.lock();
+            try {
+                if (!isLoaded()) {
+                    reconcile();
+                }
+            } finally {
+                reconcileLock.unlock();
+            }
+        } else if (isReconcileDue() && reconcileLock.tryLock()) {
+            try {
+                if (isReconcileDue()) {
+                    reconcile();
+                }
+            } finally {
+                reconcileLock.unlock();
+            }
+        }
+        return currentSnapshot();
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private synchronized boolean isReconcileDue() {
+        return System.currentTimeMillis() - reconciledAt >= reconcileIntervalMillis;
+    }
+
+    private synchronized Snapshot currentSnapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> registrations = new LinkedHashMap<String, Long>();
+        LocalDate today = now.toLocalDate();
+        for (LocalDate day = today.minusDays(REGISTRATION_DAYS - 1L); !day.isAfter(today); day = day.plusDays(1L)) {
+            registrations.put(day.toString(), registrationsByDay.getOrDefault(day, 0L));
+        }
+        return new Snapshot(
+                byStatusView(studentsByStatus),
+                byStatusView(teachersByStatus),
+                pendingInvites.countAt(now),
+                activeSessions.countAt(now),
+                registrations,
+                new Timestamp(reconciledAt).toLocalDateTime()
+        );
+    }
+
+    public void studentCreated(LocalDateTime createdAt) {
+        afterCommit(() -> {
+            increment(studentsByStatus, UserAccountStatus.ACTIVE, 1L);
+            registered(createdAt);
+        });
+    }
+
+    public void teacherCreated(LocalDateTime createdAt) {
+        afterCommit(() -> {
+            increment(teachersByStatus, UserAccountStatus.ACTIVE, 1L);
+            registered(createdAt);
+        });
+    }
+
+    public void studentStatusChanged(UserAccountStatus from, UserAccountStatus to) {
+        studentStatusChanged(from, to, 1L);
+    }
+
+    public void studentStatusChanged(UserAccountStatus from, UserAccountStatus to, long count) {
+        if (from != to && count > 0L) {
+            afterCommit(() -> {
+                increment(studentsByStatus, from, -count);
+                increment(studentsByStatus, to, count);
+            });
+        }
+    }
+
+    public void teacherStatusChanged(UserAccountStatus from, UserAccountStatus to) {
+        teacherStatusChanged(from, to, 1L);
+    }
+
+    public void teacherStatusChanged(UserAccountStatus from, UserAccountStatus to, long count) {
+        if (from != to && count > 0L) {
+            afterCommit(() -> {
+                increment(teachersByStatus, from, -count);
+                increment(teachersByStatus, to, count);
+            });
+        }
+    }
+
+    public void inviteCreated(LocalDateTime expiresAt) {
+        afterCommit(() -> pendingInvites.add(expiresAt));
+    }
+
+    /**
+     * Used or revoked before expiry; an invite that merely expired has already dropped out.
+     */
+    public void inviteClosed(LocalDateTime expiresAt) {
+        afterCommit(() -> pendingInvites.remove(expiresAt));
+    }
+
+    public void sessionIssued(LocalDateTime expiresAt) {
+        afterCommit(() -> activeSessions.add(expiresAt));
+    }
+
+    public void sessionRevoked(LocalDateTime expiresAt) {
+        afterCommit(() -> activeSessions.remove(expiresAt));
+    }
+
+    private void afterCommit(Runnable delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(delta);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable delta) {
+        // Before the first recount there is nothing to adjust, and during one the change may already be counted.
+        if (loaded && !reconciling) {
+            delta.run();
+        }
+    }
+
+    private void registered(LocalDateTime createdAt) {
+        LocalDate day = createdAt == null ? LocalDate.now() : createdAt.toLocalDate();
+        registrationsByDay.merge(day, 1L, Long::sum);
+        LocalDate oldest = LocalDate.now().minusDays(REGISTRATION_DAYS - 1L);
+        registrationsByDay.headMap(oldest).clear();
+    }
+
+    /**
+     * Runs with {@link #reconcileLock} held but not the monitor: the queries fill fresh structures, which replace
+     * the live ones in one short synchronized step.
+     */
+    private void reconcile() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            reconciling = true;
+        }
+        try {
+            Map<UserAccountStatus, Long> students = new EnumMap<UserAccountStatus, Long>(UserAccountStatus.class);
+            jdbcTemplate.query(
+                    "select u.status, count(*) as total from students s join users u on u.id = s.user_id group by u.status",
+                    (RowCallbackHandler) rs -> students.put(
+                            UserAccountStatus.valueOf(rs.getString("status")), rs.getLong("total"))
+            );
+            Map<UserAccountStatus, Long> teachers = new EnumMap<UserAccountStatus, Long>(UserAccountStatus.class);
+            jdbcTemplate.query(
+                    "select u.status, count(*) as total from teachers t join users u on u.id = t.user_id group by u.status",
+                    (RowCallbackHandler) rs -> teachers.put(
+                            UserAccountStatus.valueOf(rs.getString("status")), rs.getLong("total"))
+            );
+
+            ExpiringCounter invites = new ExpiringCounter();
+            jdbcTemplate.query(
+                    "select expires_at from student_invites where status = ? and expires_at > ?",
+                    (RowCallbackHandler) rs -> invites.add(rs.getTimestamp("expires_at").toLocalDateTime()),
+                    StudentInviteStatus.PENDING.name(),
+                    Timestamp.valueOf(now)
+            );
+            ExpiringCounter sessions = new ExpiringCounter();
+            jdbcTemplate.query(
+                    "select expires_at from user_sessions where revoked_at is null and expires_at > ?",
+                    (RowCallbackHandler) rs -> sessions.add(rs.getTimestamp("expires_at").toLocalDateTime()),
+                    Timestamp.valueOf(now)
+            );
+
+            TreeMap<LocalDate, Long> registrations = new TreeMap<LocalDate, Long>();
+            jdbcTemplate.query(
+                    // Same population as the live deltas and the status totals: accounts with a student or teacher row.
+                    "select cast(u.created_at as date) as registered_on, count(*) as total from users u"
+                            + " where u.created_at >= ?"
+                            + " and (exists (select 1 from students s where s.user_id = u.id)"
+                            + " or exists (select 1 from teachers t where t.user_id = u.id))"
+                            + " group by cast(u.created_at as date)",
+                    (RowCallbackHandler) rs -> registrations.put(
+                            rs.getDate("registered_on").toLocalDate(), rs.getLong("total")),
+                    Timestamp.valueOf(now.toLocalDate().minusDays(REGISTRATION_DAYS - 1L).atStartOfDay())
+            );
+
+            synchronized (this) {
+                studentsByStatus = students;
+                teachersByStatus = teachers;
+                pendingInvites = invites;
+                activeSessions = sessions;
+                registrationsByDay = registrations;
+                loaded = true;
+                reconciledAt = startedAt;
+            }
+        } finally {
+            synchronized (this) {
+                reconciling = false;
+            }
+        }
+        log.info("Admin dashboard statistics reconciled. elapsedMs={}", System.currentTimeMillis() - startedAt);
+    }
+
+    private static void increment(Map<UserAccountStatus, Long> counts, UserAccountStatus status, long delta) {
+        if (status != null) {
+            counts.merge(status, delta, Long::sum);
+        }
+    }
+
+    private static Map<String, Long> byStatusView(Map<UserAccountStatus, Long> counts) {
+        Map<String, Long> view = new LinkedHashMap<String, Long>();
+        for (UserAccountStatus status : UserAccountStatus.values()) {
+            view.put(status.name(), counts.getOrDefault(status, 0L));
+        }
+        return view;
+    }
+
+    /**
+     * Live items keyed by expiry. Expired heads are dropped on read, so each item is removed at most once and
+     * the count stays amortized O(1). Keys are cut to milliseconds, since a value read back from the database
+     * may carry less precision than the one it was issued with.
+     */
+    private static class ExpiringCounter {
+        private final TreeMap<LocalDateTime, Integer> expiries = new TreeMap<LocalDateTime, Integer>();
+        private long live;
+
+        private void add(LocalDateTime expiresAt) {
+            expiries.merge(expiresAt.truncatedTo(ChronoUnit.MILLIS), 1, Integer::sum);
+            live++;
+        }
+
+        private void remove(LocalDateTime expiresAt) {
+            LocalDateTime key = expiresAt.truncatedTo(ChronoUnit.MILLIS);
+            Integer count = expiries.get(key);
+            if (count == null) {
+                return;
+            }
+            if (count == 1) {
+                expiries.remove(key);
+            } else {
+                expiries.put(key, count - 1);
+            }
+            live--;
+        }
+
+        private long countAt(LocalDateTime now) {
+            while (!expiries.isEmpty() && !expiries.firstKey().isAfter(now)) {
+                live -= expiries.pollFirstEntry().getValue();
+            }
+            return live;
+        }
+    }
+
+    public static class Snapshot {
+        private final Map<String, Long> studentsByStatus;
+        private final Map<String, Long> teachersByStatus;
+        private final long pendingInvites;
+        private final long activeSessions;
+        private final Map<String, Long> registrationsByDay;
+        private final LocalDateTime reconciledAt;
+
+        public Snapshot(Map<String, Long> studentsByStatus,
+                        Map<String, Long> teachersByStatus,
+                        long pendingInvites,
+                        long activeSessions,
+                        Map<String, Long> registrationsByDay,
+                        LocalDateTime reconciledAt) {
+            this.studentsByStatus = studentsByStatus;
+            this.teachersByStatus = teachersByStatus;
+            this.pendingInvites = pendingInvites;
+            this.activeSessions = activeSessions;
+            this.registrationsByDay = registrationsByDay;
+            this.reconciledAt = reconciledAt;
+        }
+
+        public Map<String, Long> getStudentsByStatus() {
+            return studentsByStatus;
+        }
+
+        public Map<String, Long> getTeachersByStatus() {
+            return teachersByStatus;
+        }
+
+        public long getPendingInvites() {
+            return pendingInvites;
+        }
+
+        public long getActiveSessions() {
+            return activeSessions;
+        }
+
+        public Map<String, Long> getRegistrationsByDay() {
+            return registrationsByDay;
+        }
+
+        public LocalDateTime getReconciledAt() {
+            return reconciledAt;
+        }
+    }
+}
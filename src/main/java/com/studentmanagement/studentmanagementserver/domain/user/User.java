@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "users",
-        indexes = @Index(name = "idx_users_username", columnList = "username", unique = true)
+        indexes = {
+                @Index(name = "idx_users_username", columnList = "username", unique = true),
+                @Index(name = "idx_users_updated_at", columnList = "updatedAt")
+        }
 )
 public class User extends BaseEntity {
 
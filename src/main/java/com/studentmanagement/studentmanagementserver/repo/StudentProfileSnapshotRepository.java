@@ -0,0 +1,7 @@
+package com.studentmanagement.studentmanagementserver.repo;
+
+import com.studentmanagement.studentmanagementserver.domain.student.StudentProfileSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StudentProfileSnapshotRepository extends JpaRepository<StudentProfileSnapshot, Long> {
+}
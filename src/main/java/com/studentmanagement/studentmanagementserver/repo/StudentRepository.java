@@ -1,24 +1,70 @@
 package com.studentmanagement.studentmanagementserver.repo;
 
 import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentProfileVersion;
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusTarget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
 
     Optional<Student> findByUser_Id(Long userId);
 
-    @Query("select s from Student s join fetch s.user")
-    List<Student> findAllWithUser();
-
     @Query("select s from Student s left join fetch s.teacher where s.id = :studentId")
     Optional<Student> findByIdWithTeacher(@Param("studentId") Long studentId);
 
     @Query("select s from Student s left join fetch s.teacher")
     List<Student> findAllWithTeacher();
 
+    @Query("select s.id from Student s order by s.id")
+    List<Long> findAllIdsOrderById();
+
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.student.StudentProfileVersion(s.id, s.profileVersion)"
+            + " from Student s where s.id = :studentId")
+    Optional<StudentProfileVersion> findProfileVersionById(@Param("studentId") Long studentId);
+
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.student.StudentProfileVersion(s.id, s.profileVersion)"
+            + " from Student s where s.user.id = :userId")
+    Optional<StudentProfileVersion> findProfileVersionByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem("
+            + "s.id, u.username, u.role, u.status, s.firstName, s.lastName, s.nickName)"
+            + " from Student s join s.user u")
+    List<StudentAccountItem> findAllAccountItems();
+
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem("
+            + "s.id, u.username, u.role, u.status, s.firstName, s.lastName, s.nickName)"
+            + " from Student s join s.user u where s.id in :studentIds")
+    List<StudentAccountItem> findAccountItemsByIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Account rows marked in the account change sequence after {@code seq}.
+     */
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem("
+            + "s.id, u.username, u.role, u.status, s.firstName, s.lastName, s.nickName)"
+            + " from Student s join s.user u, AccountChangeMark m"
+            + " where m.kind = 'STUDENT_ACCOUNT' and m.rowId = s.id and m.changeSeq > :seq")
+    List<StudentAccountItem> findAccountItemsChangedAfter(@Param("seq") long seq);
+
+    /**
+     * Highest committed account change sequence; empty before the first tracked change.
+     */
+    @Query("select c.lastSeq from AccountChangeCounter c where c.id = 1")
+    Optional<Long> findLastAccountChangeSeq();
+
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.user.AccountStatusTarget(s.id, u.id, u.status)"
+            + " from Student s join s.user u where s.id in :studentIds")
+    List<AccountStatusTarget> findStatusTargetsByIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query("update Student s set s.profileVersion = s.profileVersion + 1 where s.id = :studentId")
+    int incrementProfileVersion(@Param("studentId") Long studentId);
+
 }
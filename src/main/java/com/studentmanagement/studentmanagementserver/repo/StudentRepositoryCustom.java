@@ -0,0 +1,22 @@
+package com.studentmanagement.studentmanagementserver.repo;
+
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountQuery;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface StudentRepositoryCustom {
+
+    /**
+     * Keyset page of account rows in the query's sort order, projected without hydrating Student/User
+     * entities. Returns up to {@code limit + 1} rows so callers can tell whether another page follows.
+     */
+    List<StudentAccountItem> findAccountPage(StudentAccountQuery query);
+
+    /**
+     * Every account row matching the query's filters, in its sort order, read through a fetch-size cursor.
+     * The limit is ignored. Must be consumed and closed inside a transaction.
+     */
+    Stream<StudentAccountItem> streamAccounts(StudentAccountQuery query);
+}
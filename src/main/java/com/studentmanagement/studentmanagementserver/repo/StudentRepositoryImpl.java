@@ -0,0 +1,104 @@
+package com.studentmanagement.studentmanagementserver.repo;
+
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountQuery;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The account list predicate depends on which filters are set and on the sort key, so the JPQL is assembled
+ * from fixed fragments here; every value is still bound as a parameter.
+ */
+class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    private static final String ACCOUNT_ITEM_SELECT =
+            "select new com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem("
+                    + "s.id, u.username, u.role, u.status, s.firstName, s.lastName, s.nickName)"
+                    + " from Student s join s.user u";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.student-account.stream-fetch-size:500}")
+    private int streamFetchSize;
+
+    @Override
+    public List<StudentAccountItem> findAccountPage(StudentAccountQuery query) {
+        return accountQuery(query).setMaxResults(query.getLimit() + 1).getResultList();
+    }
+
+    @Override
+    public Stream<StudentAccountItem> streamAccounts(StudentAccountQuery query) {
+        return accountQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Math.max(1, streamFetchSize))
+                .setHint(QueryHints.HINT_READONLY, Boolean.TRUE)
+                .getResultStream();
+    }
+
+    private TypedQuery<StudentAccountItem> accountQuery(StudentAccountQuery query) {
+        StringBuilder jpql = new StringBuilder(ACCOUNT_ITEM_SELECT).append(" where 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<String, Object>();
+
+        if (query.getStatus() != null) {
+            jpql.append(" and u.status = :status");
+            params.put("status", query.getStatus());
+        }
+        if (query.getNamePrefix() != null) {
+            jpql.append(" and (lower(u.username) like :prefix escape '\\'")
+                    .append(" or lower(s.firstName) like :prefix escape '\\'")
+                    .append(" or lower(s.lastName) like :prefix escape '\\')");
+            params.put("prefix", escapeLike(query.getNamePrefix()) + "%");
+        }
+
+        String sortColumn = sortColumn(query.getSortKey());
+        String comparator = query.isDescending() ? "<" : ">";
+        if (query.getAfterId() != null) {
+            if (query.getSortKey() == StudentAccountQuery.SortKey.ID) {
+                jpql.append(" and s.id ").append(comparator).append(" :afterId");
+            } else {
+                jpql.append(" and (").append(sortColumn).append(' ').append(comparator).append(" :afterValue")
+                        .append(" or (").append(sortColumn).append(" = :afterValue and s.id ")
+                        .append(comparator).append(" :afterId))");
+                params.put("afterValue", query.getAfterValue());
+            }
+            params.put("afterId", query.getAfterId());
+        }
+
+        String direction = query.isDescending() ? " desc" : " asc";
+        jpql.append(" order by ");
+        if (query.getSortKey() != StudentAccountQuery.SortKey.ID) {
+            jpql.append(sortColumn).append(direction).append(", ");
+        }
+        jpql.append("s.id").append(direction);
+
+        TypedQuery<StudentAccountItem> typedQuery = entityManager.createQuery(jpql.toString(), StudentAccountItem.class);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            typedQuery.setParameter(param.getKey(), param.getValue());
+        }
+        return typedQuery;
+    }
+
+    private static String sortColumn(StudentAccountQuery.SortKey sortKey) {
+        switch (sortKey) {
+            case USERNAME:
+                return "u.username";
+            case LAST_NAME:
+                return "s.lastName";
+            default:
+                return "s.id";
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,17 +1,59 @@
 package com.studentmanagement.studentmanagementserver.repo;
 
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.user.AccountStatusTarget;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
 
     Optional<Teacher> findByUser_Id(Long userId);
 
-    @Query("select t from Teacher t join fetch t.user")
-    List<Teacher> findAllWithUser();
+    /**
+     * Account list row with workload counts from left joins grouped per teacher, so the whole list is one
+     * statement answered from the (teacher_id, status, ...) indexes. Both joins hang off the teacher, so the
+     * counts are distinct to stay exact. Invites count as pending until they expire.
+     */
+    String ACCOUNT_ITEM_SELECT = "select new com.studentmanagement.studentmanagementserver.domain.teacher.TeacherAccountItem("
+            + "t.id, u.username, u.role, u.status, t.name, count(distinct ts.id), count(distinct i.id))"
+            + " from Teacher t join t.user u"
+            + " left join TeacherStudent ts on ts.teacher = t"
+            + " and ts.status = com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus.ACTIVE"
+            + " left join StudentInvite i on i.teacher = t"
+            + " and i.status = com.studentmanagement.studentmanagementserver.domain.enums.StudentInviteStatus.PENDING"
+            + " and i.expiresAt > :now"
+            + " group by t.id, u.username, u.role, u.status, t.name"
+            + " order by t.id";
+
+    /**
+     * List rows without hydrating Teacher/User entities (no password hashes, no dirty-checking snapshots).
+     */
+    @Query(ACCOUNT_ITEM_SELECT)
+    List<TeacherAccountItem> findAllAccountItems(@Param("now") LocalDateTime now);
+
+    /**
+     * Same rows as {@link #findAllAccountItems(LocalDateTime)} through a fetch-size cursor; consume inside a
+     * transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query(ACCOUNT_ITEM_SELECT)
+    Stream<TeacherAccountItem> streamAllAccountItems(@Param("now") LocalDateTime now);
+
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.user.AccountStatusTarget(t.id, u.id, u.status)"
+            + " from Teacher t join t.user u where t.id in :teacherIds")
+    List<AccountStatusTarget> findStatusTargetsByIdIn(@Param("teacherIds") Collection<Long> teacherIds);
 
 }
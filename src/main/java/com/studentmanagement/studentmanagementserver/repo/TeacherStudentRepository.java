@@ -1,12 +1,39 @@
 package com.studentmanagement.studentmanagementserver.repo;
 
 import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
 import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface TeacherStudentRepository extends JpaRepository<TeacherStudent, Long> {
 
     boolean existsByTeacher_IdAndStudent_IdAndStatus(Long teacherId,
                                                      Long studentId,
                                                      TeacherStudentStatus status);
+
+    @Query("select ts.student.id from TeacherStudent ts"
+            + " where ts.teacher.id = :teacherId and ts.status = :status and ts.student.id in :studentIds")
+    List<Long> findStudentIdsByTeacherAndStatusAndStudentIdIn(@Param("teacherId") Long teacherId,
+                                                               @Param("status") TeacherStudentStatus status,
+                                                               @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * One roster page, projected straight into list rows and seeking past {@code afterStudentId};
+     * the Pageable only carries the row limit.
+     */
+    @Query("select new com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem("
+            + "s.id, u.username, u.role, u.status, s.firstName, s.lastName, s.nickName)"
+            + " from TeacherStudent ts join ts.student s join s.user u"
+            + " where ts.teacher.id = :teacherId and ts.status = :status and s.id > :afterStudentId"
+            + " order by s.id")
+    List<StudentAccountItem> findRosterPage(@Param("teacherId") Long teacherId,
+                                            @Param("status") TeacherStudentStatus status,
+                                            @Param("afterStudentId") Long afterStudentId,
+                                            Pageable pageable);
 }
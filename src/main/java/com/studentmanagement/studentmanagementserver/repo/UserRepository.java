@@ -1,9 +1,14 @@
 package com.studentmanagement.studentmanagementserver.repo;
 
+import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +19,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByStatusIsNull();
 
     List<User> findByRoleIn(Collection<UserRole> roles);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Set-based {@link User#updateStatus}. Bulk updates skip entity callbacks, so {@code updatedAt} is stamped
+     * here.
+     */
+    @Modifying
+    @Query("update User u set u.status = :status, u.statusUpdatedAt = :now, u.statusUpdatedBy = :operatorId,"
+            + " u.updatedAt = :now where u.id in :userIds")
+    int updateStatusByIdIn(@Param("userIds") Collection<Long> userIds,
+                           @Param("status") UserAccountStatus status,
+                           @Param("operatorId") Long operatorId,
+                           @Param("now") LocalDateTime now);
 }
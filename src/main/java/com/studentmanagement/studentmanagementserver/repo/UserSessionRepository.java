@@ -7,14 +7,21 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
 
     Optional<UserSession> findByTokenHash(String tokenHash);
 
+    @Query("select s.expiresAt from UserSession s"
+            + " where s.user.id in :userIds and s.revokedAt is null and s.expiresAt > :now")
+    List<LocalDateTime> findActiveSessionExpiries(@Param("userIds") Collection<Long> userIds,
+                                                  @Param("now") LocalDateTime now);
+
     @Modifying
-    @Query("update UserSession s set s.revokedAt = :revokedAt where s.user.id = :userId and s.revokedAt is null")
-    int revokeAllActiveSessions(@Param("userId") Long userId, @Param("revokedAt") LocalDateTime revokedAt);
+    @Query("update UserSession s set s.revokedAt = :revokedAt where s.user.id in :userIds and s.revokedAt is null")
+    int revokeAllActiveSessions(@Param("userIds") Collection<Long> userIds, @Param("revokedAt") LocalDateTime revokedAt);
 
 }
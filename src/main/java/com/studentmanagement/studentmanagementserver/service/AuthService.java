@@ -7,9 +7,11 @@ import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountSta
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.student.Student;
 import com.studentmanagement.studentmanagementserver.domain.student.StudentInvite;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentNameSearchIndex;
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
 import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
 import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
@@ -33,7 +35,9 @@ public class AuthService {
     private final PasswordPolicyValidator passwordPolicyValidator;
     private final AuthSessionService authSessionService;
     private final StudentInviteService studentInviteService;
+    private final StudentNameSearchIndex studentNameSearchIndex;
     private final TeacherStudentRepository teacherStudentRepository;
+    private final AdminDashboardStatistics adminDashboardStatistics;
 
     public AuthService(UserRepository userRepository,
                        StudentRepository studentRepository,
@@ -42,7 +46,9 @@ public class AuthService {
                        PasswordEncoder passwordEncoder,
                        PasswordPolicyValidator passwordPolicyValidator,
                        AuthSessionService authSessionService,
-                       StudentInviteService studentInviteService) {
+                       StudentInviteService studentInviteService,
+                       StudentNameSearchIndex studentNameSearchIndex,
+                       AdminDashboardStatistics adminDashboardStatistics) {
         this.userRepository = userRepository;
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
@@ -51,6 +57,8 @@ public class AuthService {
         this.passwordPolicyValidator = passwordPolicyValidator;
         this.authSessionService = authSessionService;
         this.studentInviteService = studentInviteService;
+        this.studentNameSearchIndex = studentNameSearchIndex;
+        this.adminDashboardStatistics = adminDashboardStatistics;
     }
 
     @Transactional
@@ -98,6 +106,8 @@ public class AuthService {
 
             Student student = new Student(user, firstName, lastName, preferredName, invitedTeacher);
             student = studentRepository.save(student);
+            studentNameSearchIndex.refreshAfterCommit(student.getId());
+            adminDashboardStatistics.studentCreated(user.getCreatedAt());
             if (invitedTeacher != null) {
                 boolean hasActiveRelation = teacherStudentRepository.existsByTeacher_IdAndStudent_IdAndStatus(
                         invitedTeacher.getId(),
@@ -125,6 +135,7 @@ public class AuthService {
 
             Teacher teacher = new Teacher(user, displayName);
             teacher = teacherRepository.save(teacher);
+            adminDashboardStatistics.teacherCreated(user.getCreatedAt());
             teacherId = teacher.getId();
         } else {
             throw new IllegalArgumentException("Unsupported role: " + role);
@@ -1,5 +1,6 @@
 package com.studentmanagement.studentmanagementserver.service;
 
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.domain.user.UserSession;
 import com.studentmanagement.studentmanagementserver.repo.UserSessionRepository;
@@ -16,6 +17,9 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 @Service
 public class AuthSessionService {
@@ -24,12 +28,15 @@ public class AuthSessionService {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final UserSessionRepository userSessionRepository;
+    private final AdminDashboardStatistics adminDashboardStatistics;
     private final SecureRandom secureRandom = new SecureRandom();
     private final long sessionHours;
 
     public AuthSessionService(UserSessionRepository userSessionRepository,
+                              AdminDashboardStatistics adminDashboardStatistics,
                               @Value("${app.auth.session-hours:12}") long sessionHours) {
         this.userSessionRepository = userSessionRepository;
+        this.adminDashboardStatistics = adminDashboardStatistics;
         this.sessionHours = sessionHours;
     }
 
@@ -41,6 +48,7 @@ public class AuthSessionService {
 
         UserSession session = new UserSession(user, tokenHash, expiresAt);
         userSessionRepository.save(session);
+        adminDashboardStatistics.sessionIssued(expiresAt);
 
         return new IssuedSession(accessToken, "Bearer", expiresAt.toString());
     }
@@ -55,6 +63,32 @@ public class AuthSessionService {
         UserSession session = requireActiveSession(request);
         session.revokeNow();
         userSessionRepository.save(session);
+        adminDashboardStatistics.sessionRevoked(session.getExpiresAt());
+    }
+
+    /**
+     * Signs the user out everywhere, e.g. after a password reset or archive.
+     */
+    @Transactional
+    public void revokeAllSessions(Long userId) {
+        revokeAllSessions(Collections.singleton(userId));
+    }
+
+    /**
+     * Signs all the given users out with one statement; returns how many sessions were still active.
+     */
+    @Transactional
+    public int revokeAllSessions(Collection<Long> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> expiries = userSessionRepository.findActiveSessionExpiries(userIds, now);
+        if (expiries.isEmpty()) {
+            return 0;
+        }
+        userSessionRepository.revokeAllActiveSessions(userIds, now);
+        for (LocalDateTime expiresAt : expiries) {
+            adminDashboardStatistics.sessionRevoked(expiresAt);
+        }
+        return expiries.size();
     }
 
     private UserSession requireActiveSession(HttpServletRequest request) {
@@ -0,0 +1,102 @@
+package com.studentmanagement.studentmanagementserver.service;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Migration step for tables created while ids were IDENTITY columns: ddl-auto creates the per-entity
+ * sequences starting at 1, so each sequence is restarted past the table's current max(id) before any insert.
+ * Runs at bean initialization (before the web server and the ApplicationReadyEvent backfills) and is a no-op
+ * once the sequences are ahead.
+ */
+@Component
+public class EntityIdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityIdSequenceAligner.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntityIdSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void runOnStartup() {
+        AlignResult result = alignSequences();
+        log.info(
+                "Entity id sequence alignment completed. scanned={}, restarted={}",
+                result.getScanned(),
+                result.getRestarted()
+        );
+    }
+
+    public AlignResult alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        int scanned = 0;
+        int restarted = 0;
+
+        for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            IdentifierGenerator generator = persister.getIdentifierGenerator();
+            if (!(generator instanceof SequenceStyleGenerator) || !(persister instanceof AbstractEntityPersister)) {
+                continue;
+            }
+            DatabaseStructure structure = ((SequenceStyleGenerator) generator).getDatabaseStructure();
+            if (!structure.isPhysicalSequence()) {
+                continue;
+            }
+            AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+            String sequenceName = structure.getPhysicalName().render();
+            scanned++;
+
+            Long maxId = jdbcTemplate.queryForObject(
+                    "select max(" + entityPersister.getIdentifierColumnNames()[0] + ") from "
+                            + entityPersister.getTableName(),
+                    Long.class
+            );
+            if (maxId == null) {
+                continue;
+            }
+            Long nextValue = jdbcTemplate.queryForObject(dialect.getSequenceNextValString(sequenceName), Long.class);
+            if (nextValue != null && nextValue.longValue() > maxId.longValue()) {
+                continue;
+            }
+            jdbcTemplate.execute("alter sequence " + sequenceName + " restart with " + (maxId.longValue() + 1L));
+            log.info("Restarted id sequence {} after max id {} of {}", sequenceName, maxId, entityPersister.getTableName());
+            restarted++;
+        }
+        return new AlignResult(scanned, restarted);
+    }
+
+    public static class AlignResult {
+        private final int scanned;
+        private final int restarted;
+
+        public AlignResult(int scanned, int restarted) {
+            this.scanned = scanned;
+            this.restarted = restarted;
+        }
+
+        public int getScanned() {
+            return scanned;
+        }
+
+        public int getRestarted() {
+            return restarted;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.studentmanagement.studentmanagementserver.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a list response as {@code {"data": [...]}} one row at a time, so peak heap stays flat whatever the
+ * result size. Rows come from a Stream-returning query, which is opened inside a read-only transaction on the
+ * async response thread and closed when the array is finished.
+ */
+@Component
+public class JsonListStreamWriter {
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JsonListStreamWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        // Streaming repository queries require a surrounding transaction; Postgres also needs one for cursors.
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> StreamingResponseBody dataEnvelope(Supplier<Stream<T>> rows) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<T> stream = rows.get()) {
+                        stream.forEach(row -> writeRow(generator, row));
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+        };
+    }
+
+    private static void writeRow(JsonGenerator generator, Object row) {
+        try {
+            generator.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
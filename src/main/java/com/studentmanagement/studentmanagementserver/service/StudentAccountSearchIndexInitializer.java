@@ -0,0 +1,58 @@
+package com.studentmanagement.studentmanagementserver.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Expression indexes for the student account list's case-insensitive prefix filter. JPA index annotations
+ * cannot express {@code lower(column) varchar_pattern_ops}, so on PostgreSQL they are created here after
+ * ddl-auto has built the tables; other databases (the H2 test profile) fall back to scans.
+ */
+@Component
+public class StudentAccountSearchIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentAccountSearchIndexInitializer.class);
+
+    private static final List<String> INDEX_STATEMENTS = Arrays.asList(
+            "create index if not exists idx_users_username_lower_prefix"
+                    + " on users (lower(username) varchar_pattern_ops)",
+            "create index if not exists idx_students_first_name_lower_prefix"
+                    + " on students (lower(first_name) varchar_pattern_ops)",
+            "create index if not exists idx_students_last_name_lower_prefix"
+                    + " on students (lower(last_name) varchar_pattern_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentAccountSearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexesOnStartup() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        int created = 0;
+        for (String statement : INDEX_STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+                created++;
+            } catch (DataAccessException ex) {
+                log.warn("Could not create student account search index: {}", ex.getMessage());
+            }
+        }
+        log.info("Student account search indexes ensured. statements={}", created);
+    }
+}
@@ -4,6 +4,7 @@ import com.studentmanagement.studentmanagementserver.domain.enums.StudentInviteS
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.student.StudentInvite;
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.StudentInviteRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
@@ -23,14 +24,17 @@ public class StudentInviteService {
 
     private final StudentInviteRepository studentInviteRepository;
     private final TeacherRepository teacherRepository;
+    private final AdminDashboardStatistics adminDashboardStatistics;
     private final SecureRandom secureRandom = new SecureRandom();
     private final long defaultInviteTtlHours;
 
     public StudentInviteService(StudentInviteRepository studentInviteRepository,
                                 TeacherRepository teacherRepository,
+                                AdminDashboardStatistics adminDashboardStatistics,
                                 @Value("${app.student-invite.ttl-hours:72}") long defaultInviteTtlHours) {
         this.studentInviteRepository = studentInviteRepository;
         this.teacherRepository = teacherRepository;
+        this.adminDashboardStatistics = adminDashboardStatistics;
         this.defaultInviteTtlHours = defaultInviteTtlHours;
     }
 
@@ -43,6 +47,7 @@ public class StudentInviteService {
 
         StudentInvite invite = new StudentInvite(teacher, token, expiresAt);
         studentInviteRepository.save(invite);
+        adminDashboardStatistics.inviteCreated(expiresAt);
         return new CreateStudentInviteResponse(
                 token,
                 REGISTER_PATH_PREFIX + token,
@@ -99,6 +104,7 @@ public class StudentInviteService {
     public void markInviteUsed(StudentInvite invite, Long usedUserId) {
         invite.markUsed(usedUserId);
         studentInviteRepository.save(invite);
+        adminDashboardStatistics.inviteClosed(invite.getExpiresAt());
     }
 
     private Teacher resolveTeacherForInvite(User operator, Long requestedTeacherId) {
@@ -4,6 +4,7 @@ import com.studentmanagement.studentmanagementserver.domain.enums.SchoolType;
 import com.studentmanagement.studentmanagementserver.domain.student.StudentCourseRecord;
 import com.studentmanagement.studentmanagementserver.domain.student.StudentSchoolRecord;
 import com.studentmanagement.studentmanagementserver.repo.StudentCourseRecordRepository;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.StudentSchoolRecordRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
 @Profile("!test")
@@ -24,11 +27,14 @@ public class StudentProfileDataMigrationService {
 
     private final StudentCourseRecordRepository studentCourseRecordRepository;
     private final StudentSchoolRecordRepository studentSchoolRecordRepository;
+    private final StudentRepository studentRepository;
 
     public StudentProfileDataMigrationService(StudentCourseRecordRepository studentCourseRecordRepository,
-                                              StudentSchoolRecordRepository studentSchoolRecordRepository) {
+                                              StudentSchoolRecordRepository studentSchoolRecordRepository,
+                                              StudentRepository studentRepository) {
         this.studentCourseRecordRepository = studentCourseRecordRepository;
         this.studentSchoolRecordRepository = studentSchoolRecordRepository;
+        this.studentRepository = studentRepository;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -48,6 +54,7 @@ public class StudentProfileDataMigrationService {
         List<StudentCourseRecord> allCourses = studentCourseRecordRepository.findAll();
         int movedToSchools = 0;
         List<StudentCourseRecord> toDelete = new ArrayList<StudentCourseRecord>();
+        Set<Long> changedStudentIds = new LinkedHashSet<Long>();
 
         for (StudentCourseRecord course : allCourses) {
             if (!isSchoolHistoryRecord(course)) {
@@ -74,11 +81,16 @@ public class StudentProfileDataMigrationService {
                 movedToSchools++;
             }
             toDelete.add(course);
+            changedStudentIds.add(course.getStudent().getId());
         }
 
         if (!toDelete.isEmpty()) {
             studentCourseRecordRepository.deleteAll(toDelete);
         }
+        // Invalidate ETags clients may still hold for the rewritten profiles.
+        for (Long studentId : changedStudentIds) {
+            studentRepository.incrementProfileVersion(studentId);
+        }
 
         return new MigrationResult(allCourses.size(), movedToSchools, toDelete.size());
     }
@@ -0,0 +1,195 @@
+package com.studentmanagement.studentmanagementserver.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccountChangeFeedApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TeacherStudentRepository teacherStudentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthSessionService authSessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void changesSinceCursor_returnAccountsAndAssignmentTombstonesInOrder() throws Exception {
+        User admin = userRepository.save(new User("feed_admin", passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
+        String bearer = bearerFor(admin);
+        String cursor = drain(bearer, null, 1000, new ArrayList<JsonNode>());
+
+        Teacher teacher = teacherRepository.save(new Teacher(
+                userRepository.save(new User("feed_teacher", passwordEncoder.encode("Teacher!234"), UserRole.TEACHER)),
+                "Feed Teacher"
+        ));
+        Student student = studentRepository.save(new Student(
+                userRepository.save(new User("feed_student", passwordEncoder.encode("Student!234"), UserRole.STUDENT)),
+                "Fay",
+                "Feed",
+                null
+        ));
+        TeacherStudent assignment = teacherStudentRepository.save(
+                new TeacherStudent(teacher, student, TeacherStudentStatus.ACTIVE, "feed")
+        );
+        assignment.setStatus(TeacherStudentStatus.ARCHIVED);
+        teacherStudentRepository.save(assignment);
+        mockMvc.perform(patch("/api/teacher/student-accounts/{studentId}/status", student.getId())
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isOk());
+
+        List<JsonNode> changes = new ArrayList<JsonNode>();
+        String next = drain(bearer, cursor, 1, changes);
+
+        assertEquals(3, changes.size());
+        JsonNode teacherChange = find(changes, "TEACHER_ACCOUNT");
+        assertEquals("feed_teacher", teacherChange.get("teacher").get("username").asText());
+        JsonNode studentChange = find(changes, "STUDENT_ACCOUNT");
+        assertEquals(student.getId().longValue(), studentChange.get("student").get("studentId").asLong());
+        assertEquals("ARCHIVED", studentChange.get("student").get("status").asText());
+        JsonNode assignmentChange = find(changes, "ASSIGNMENT");
+        assertEquals(teacher.getId().longValue(), assignmentChange.get("assignment").get("teacherId").asLong());
+        assertTrue(assignmentChange.get("assignment").get("removed").asBoolean());
+        // Ordered by the commit of each row's latest change, not by when the row was created.
+        assertEquals("TEACHER_ACCOUNT", changes.get(0).get("kind").asText());
+        assertEquals("ASSIGNMENT", changes.get(1).get("kind").asText());
+        assertEquals("STUDENT_ACCOUNT", changes.get(2).get("kind").asText());
+
+        List<JsonNode> none = new ArrayList<JsonNode>();
+        drain(bearer, next, 10, none);
+        assertTrue(none.isEmpty());
+
+        mockMvc.perform(get("/api/teacher/account-changes")
+                        .header("Authorization", bearer)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/teacher/account-changes")
+                        .header("Authorization", bearerFor(teacher.getUser())))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void onlyChangesToFeedFieldsAdvanceTheFeed() throws Exception {
+        String bearer = bearerFor(userRepository.save(
+                new User("feed_fields_admin", passwordEncoder.encode("Admin!234"), UserRole.ADMIN)));
+        User user = userRepository.save(new User("feed_fields_student", passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+        Student student = studentRepository.save(new Student(user, "Gil", "Grey", null));
+        String cursor = drain(bearer, null, 1000, new ArrayList<JsonNode>());
+
+        // A login stamps lastLoginAt and a profile save bumps the profile version; neither is in the feed.
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"feed_fields_student\",\"password\":\"Student!234\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearerFor(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"legalFirstName\":\"Gil\",\"legalLastName\":\"Grey\",\"phone\":\"555-0100\"}"))
+                .andExpect(status().isOk());
+        List<JsonNode> none = new ArrayList<JsonNode>();
+        cursor = drain(bearer, cursor, 10, none);
+        assertTrue(none.isEmpty(), none.toString());
+
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearerFor(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"legalFirstName\":\"Gil\",\"legalLastName\":\"Greyson\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/teacher/student-accounts/status")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":[" + student.getId() + "],\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isOk());
+        List<JsonNode> changes = new ArrayList<JsonNode>();
+        drain(bearer, cursor, 10, changes);
+        assertEquals(1, changes.size());
+        assertEquals("Greyson", changes.get(0).get("student").get("lastName").asText());
+        assertEquals("ARCHIVED", changes.get(0).get("student").get("status").asText());
+    }
+
+    private String drain(String bearer, String cursor, int limit, List<JsonNode> collected) throws Exception {
+        boolean hasMore = true;
+        while (hasMore) {
+            String body = mockMvc.perform(get("/api/teacher/account-changes")
+                            .header("Authorization", bearer)
+                            .param("cursor", cursor == null ? "" : cursor)
+                            .param("limit", String.valueOf(limit)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode change : page.get("data")) {
+                collected.add(change);
+            }
+            hasMore = page.get("hasMore").asBoolean();
+            assertFalse(page.get("nextCursor").asText().isEmpty());
+            cursor = page.get("nextCursor").asText();
+        }
+        return cursor;
+    }
+
+    private static JsonNode find(List<JsonNode> changes, String kind) {
+        for (JsonNode change : changes) {
+            if (kind.equals(change.get("kind").asText())) {
+                return change;
+            }
+        }
+        throw new AssertionError("No " + kind + " change in " + changes);
+    }
+
+    private String bearerFor(User user) {
+        AuthSessionService.IssuedSession issuedSession = authSessionService.issueSession(user);
+        return issuedSession.getTokenType() + " " + issuedSession.getAccessToken();
+    }
+}
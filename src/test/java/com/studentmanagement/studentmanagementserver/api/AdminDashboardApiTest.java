@@ -0,0 +1,144 @@
+package com.studentmanagement.studentmanagementserver.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.user.AdminDashboardStatistics;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminDashboardApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthSessionService authSessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void dashboard_followsRegistrationInviteSessionAndStatusChanges() throws Exception {
+        User admin = userRepository.save(new User("dash_admin", passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
+        Teacher teacher = teacherRepository.save(new Teacher(
+                userRepository.save(new User("dash_teacher", passwordEncoder.encode("Teacher!234"), UserRole.TEACHER)),
+                "Dash Teacher"
+        ));
+        String bearer = bearerFor(admin);
+        JsonNode before = dashboard(bearer);
+
+        String inviteToken = createInvite(bearer, teacher.getId());
+        createInvite(bearer, teacher.getId());
+        JsonNode registered = objectMapper.readTree(mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"dash_student\",\"password\":\"Student!234\",\"role\":\"STUDENT\","
+                                + "\"firstName\":\"Dana\",\"lastName\":\"Dash\",\"inviteToken\":\"" + inviteToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"dash_teacher_two\",\"password\":\"Teacher!234\",\"role\":\"TEACHER\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"dash_student\",\"password\":\"Student!234\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/teacher/student-accounts/{studentId}/status", registered.get("studentId").asLong())
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isOk());
+
+        JsonNode after = dashboard(bearer);
+        assertEquals(0L, delta(before, after, "studentsByStatus", "ACTIVE"));
+        assertEquals(1L, delta(before, after, "studentsByStatus", "ARCHIVED"));
+        assertEquals(1L, delta(before, after, "teachersByStatus", "ACTIVE"));
+        assertEquals(1L, after.get("pendingInvites").asLong() - before.get("pendingInvites").asLong());
+        // The student's login session was revoked by the archive.
+        assertEquals(0L, after.get("activeSessions").asLong() - before.get("activeSessions").asLong());
+        assertEquals(2L, delta(before, after, "registrationsByDay", LocalDate.now().toString()));
+        assertEquals(30, after.get("registrationsByDay").size());
+
+        mockMvc.perform(get("/api/teacher/dashboard")
+                        .header("Authorization", bearerFor(teacher.getUser())))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void reconcile_countsRegistrationsOfStudentsAndTeachersOnly() {
+        // Reconciles on every read.
+        AdminDashboardStatistics statistics = new AdminDashboardStatistics(jdbcTemplate, 0L);
+        String today = LocalDate.now().toString();
+        long before = statistics.snapshot().getRegistrationsByDay().get(today);
+
+        userRepository.save(new User("dash_reconcile_admin", passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
+        assertEquals(before, statistics.snapshot().getRegistrationsByDay().get(today).longValue());
+
+        teacherRepository.save(new Teacher(
+                userRepository.save(new User("dash_reconcile_teacher", passwordEncoder.encode("Teacher!234"), UserRole.TEACHER)),
+                "Reconcile Teacher"
+        ));
+        assertEquals(before + 1L, statistics.snapshot().getRegistrationsByDay().get(today).longValue());
+    }
+
+    private JsonNode dashboard(String bearer) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/teacher/dashboard")
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private String createInvite(String bearer, Long teacherId) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post("/api/teacher/student-invites")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"teacherId\":" + teacherId + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("inviteToken").asText();
+    }
+
+    private static long delta(JsonNode before, JsonNode after, String group, String key) {
+        return after.get(group).get(key).asLong() - before.get(group).get(key).asLong();
+    }
+
+    private String bearerFor(User user) {
+        AuthSessionService.IssuedSession issuedSession = authSessionService.issueSession(user);
+        return issuedSession.getTokenType() + " " + issuedSession.getAccessToken();
+    }
+}
@@ -2,7 +2,10 @@ package com.studentmanagement.studentmanagementserver.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.reference.CanadianHighSchoolReferenceService;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.UserRepository;
 import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
@@ -10,15 +13,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,6 +52,9 @@ class CanadianHighSchoolReferenceApiTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CanadianHighSchoolReferenceService canadianHighSchoolReferenceService;
+
     @Test
     void search_withoutToken_returns401() throws Exception {
         mockMvc.perform(get("/api/reference/canadian-high-schools/search")
@@ -114,6 +127,132 @@ class CanadianHighSchoolReferenceApiTest {
         assertAllOntario(payload);
     }
 
+    @Test
+    void search_responseMatchesDtoSerialization() throws Exception {
+        User user = userRepository.save(new User("school_ref_bytes", passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+
+        MvcResult result = mockMvc.perform(get("/api/reference/canadian-high-schools/search")
+                        .header("Authorization", bearerFor(user))
+                        .param("q", "secondary")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        JsonNode payload = objectMapper.readTree(result.getResponse().getContentAsString());
+        JsonNode expected = objectMapper.valueToTree(canadianHighSchoolReferenceService.search("secondary", 20));
+        assertEquals(20, payload.size());
+        assertEquals(expected, payload);
+    }
+
+    @Test
+    void dataset_returnsVersionedGzipPayload_andAnswersIfNoneMatchWith304() throws Exception {
+        User user = userRepository.save(new User("school_ref_dataset", passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+        String version = canadianHighSchoolReferenceService.getDataset().getVersion();
+
+        MvcResult result = mockMvc.perform(get("/api/reference/canadian-high-schools/dataset")
+                        .header("Authorization", bearerFor(user))
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + version + "-gz\""))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn();
+
+        JsonNode payload;
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            payload = objectMapper.readTree(in);
+        }
+        assertEquals(version, payload.get("version").asText());
+        assertEquals(payload.get("count").asInt(), payload.get("rows").size());
+        JsonNode entries = datasetEntries(payload);
+        assertNotNull(findSchoolByName(entries, "Unionville High School"));
+        assertAllOntario(entries);
+
+        mockMvc.perform(get("/api/reference/canadian-high-schools/dataset")
+                        .header("Authorization", bearerFor(user))
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"" + version + "-gz\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/reference/canadian-high-schools/dataset")
+                        .header("Authorization", bearerFor(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + version + "\""))
+                .andExpect(jsonPath("$.version").value(version))
+                .andExpect(jsonPath("$.fields[1]").value("name"))
+                .andExpect(jsonPath("$.rows").isArray())
+                .andExpect(inflated -> assertEquals(
+                        inflated.getResponse().getContentLength(),
+                        inflated.getResponse().getContentAsByteArray().length
+                ));
+
+        for (String refused : new String[]{"gzip;q=0", "identity, gzip;q=0", "*, gzip; q=0.0", "identity"}) {
+            mockMvc.perform(get("/api/reference/canadian-high-schools/dataset")
+                            .header("Authorization", bearerFor(user))
+                            .header("Accept-Encoding", refused))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + version + "\""))
+                    .andExpect(header().doesNotExist("Content-Encoding"));
+        }
+        mockMvc.perform(get("/api/reference/canadian-high-schools/dataset")
+                        .header("Authorization", bearerFor(user))
+                        .header("Accept-Encoding", "identity;q=0.5, *;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void dataset_withoutToken_returns401() throws Exception {
+        mockMvc.perform(get("/api/reference/canadian-high-schools/dataset"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.code").value("UNAUTHENTICATED"));
+    }
+
+    @Test
+    void searchMetrics_adminSeesLatencyAndCountHistograms_teacherForbidden() throws Exception {
+        User student = userRepository.save(new User("school_ref_metrics_student", passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+        User admin = userRepository.save(new User("school_ref_metrics_admin", passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
+        User teacher = userRepository.save(new User("school_ref_metrics_teacher", passwordEncoder.encode("Teacher!234"), UserRole.TEACHER));
+
+        mockMvc.perform(get("/api/reference/canadian-high-schools/search")
+                        .header("Authorization", bearerFor(student))
+                        .param("q", "unionville"))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/reference/search-metrics")
+                        .header("Authorization", bearerFor(admin)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode endpoint = objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("data").path("endpoints").path("canadian-high-schools");
+        assertTrue(endpoint.path("latencyMicros").path("count").asLong() >= 1L);
+        assertTrue(endpoint.path("candidates").path("max").asLong() > 0L);
+        assertTrue(endpoint.path("matched").path("buckets").isObject());
+
+        mockMvc.perform(get("/api/reference/search-metrics")
+                        .header("Authorization", bearerFor(teacher)))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Rebuilds search-shaped objects from the dataset's fields + rows layout.
+     */
+    private JsonNode datasetEntries(JsonNode payload) {
+        ArrayNode entries = objectMapper.createArrayNode();
+        JsonNode fields = payload.get("fields");
+        for (JsonNode row : payload.get("rows")) {
+            assertEquals(fields.size(), row.size());
+            ObjectNode entry = entries.addObject();
+            for (int i = 0; i < fields.size(); i++) {
+                entry.set(fields.get(i).asText(), row.get(i));
+            }
+        }
+        return entries;
+    }
+
     private JsonNode findSchoolByName(JsonNode listNode, String schoolName) {
         if (listNode == null || !listNode.isArray()) {
             return null;
@@ -2,11 +2,16 @@ package com.studentmanagement.studentmanagementserver.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.UserRepository;
 import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
 import com.studentmanagement.studentmanagementserver.service.PasswordPolicyValidator;
@@ -23,9 +28,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,6 +50,12 @@ class StudentAccountsApiTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TeacherStudentRepository teacherStudentRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -79,6 +92,233 @@ class StudentAccountsApiTest {
                 .andExpect(jsonPath("$.data[*].status", hasItem("ARCHIVED")));
     }
 
+    @Test
+    void listStudentAccounts_withoutCursorOrLimitStaysUnpaged() throws Exception {
+        User admin = createAdmin("student_unpaged_admin");
+        createStudentAccount("unpaged_a", "Una", "Paged", "U", UserAccountStatus.ACTIVE);
+        createStudentAccount("unpaged_b", "Ned", "Paged", "N", UserAccountStatus.ACTIVE);
+        String bearer = bearerFor(admin);
+
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value((int) studentRepository.count()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").exists());
+    }
+
+    @Test
+    void listStudentAccounts_keysetPagesFilteredByPrefixAndStatus() throws Exception {
+        User admin = createAdmin("student_page_admin");
+        createStudentAccount("kpage_c", "Cleo", "Zed", "C", UserAccountStatus.ACTIVE);
+        createStudentAccount("kpage_a", "Ava", "Young", "A", UserAccountStatus.ACTIVE);
+        createStudentAccount("kpage_b", "Bea", "Young", "B", UserAccountStatus.ARCHIVED);
+        String bearer = bearerFor(admin);
+
+        MvcResult first = mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("q", "KPAGE_")
+                        .param("sort", "username")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].username").value("kpage_a"))
+                .andExpect(jsonPath("$.data[1].username").value("kpage_b"))
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("q", "KPAGE_")
+                        .param("sort", "username")
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("kpage_c"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("q", "young")
+                        .param("sort", "lastName")
+                        .param("status", "active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].username", hasItem("kpage_a")))
+                .andExpect(jsonPath("$.data[?(@.username=='kpage_b')]").isEmpty());
+
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("sort", "lastName")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listStudentAccounts_streamModeWritesAllMatchesInDataEnvelope() throws Exception {
+        User admin = createAdmin("student_stream_admin");
+        createStudentAccount("kstream_b", "Bo", "Stream", "B", UserAccountStatus.ACTIVE);
+        createStudentAccount("kstream_a", "Al", "Stream", "A", UserAccountStatus.ACTIVE);
+        createStudentAccount("kstream_c", "Cy", "Stream", "C", UserAccountStatus.ARCHIVED);
+        String bearer = bearerFor(admin);
+
+        MvcResult started = mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("stream", "true")
+                        .param("q", "kstream_")
+                        .param("sort", "username")
+                        .param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].username").value("kstream_a"))
+                .andExpect(jsonPath("$.data[1].username").value("kstream_b"))
+                .andExpect(jsonPath("$.data[0].firstName").value("Al"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .header("Authorization", bearer)
+                        .param("stream", "true")
+                        .param("sort", "nickName"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/teacher/student-accounts")
+                        .param("stream", "true"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void searchStudentAccounts_indexFollowsRegistrationNameAndStatusChanges() throws Exception {
+        String bearer = bearerFor(createAdmin("student_search_admin"));
+        registerStudent("srch_wren", "Wrenna", "Halvorsen");
+        registerStudent("srch_renata", "Renata", "Halvorsen");
+
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "halv wren"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("srch_wren"));
+
+        User wren = userRepository.findByUsername("srch_wren").orElseThrow(IllegalStateException::new);
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearerFor(wren))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"legalFirstName\":\"Wrenna\",\"legalLastName\":\"Okonkwo\",\"preferredName\":\"Ren\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "REN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].username").value("srch_wren"))
+                .andExpect(jsonPath("$.data[0].lastName").value("Okonkwo"))
+                .andExpect(jsonPath("$.data[1].username").value("srch_renata"));
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "halvorsen"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].username", hasItem("srch_renata")))
+                .andExpect(jsonPath("$.data[?(@.username=='srch_wren')]").isEmpty());
+
+        Long wrenStudentId = studentRepository.findByUser_Id(wren.getId()).orElseThrow(IllegalStateException::new).getId();
+        mockMvc.perform(patch("/api/teacher/student-accounts/{studentId}/status", wrenStudentId)
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "okonkwo")
+                        .param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "okonkwo")
+                        .param("status", "ARCHIVED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].studentId").value(wrenStudentId));
+
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchStudentAccounts_matchesNonLatinNames() throws Exception {
+        String bearer = bearerFor(createAdmin("student_search_intl_admin"));
+        registerStudent("srch_zhang", "伟", "张");
+        registerStudent("srch_lukasz", "Łukasz", "Żółwiński");
+        registerStudent("srch_olga", "Ольга", "Смирнова");
+
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "张"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("srch_zhang"));
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "łuk żół"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("srch_lukasz"));
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearer)
+                        .param("q", "СМИР"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("srch_olga"));
+    }
+
+    @Test
+    void teacherRoster_listsOnlyActiveAssignments_inPages() throws Exception {
+        User teacherUser = createTeacherUser("roster_teacher");
+        Teacher teacher = teacherRepository.save(new Teacher(teacherUser, "Roster Teacher"));
+        Student first = createStudentAccount("roster_student_1", "Ray", "One", "R1", UserAccountStatus.ACTIVE);
+        Student second = createStudentAccount("roster_student_2", "Rae", "Two", "R2", UserAccountStatus.ACTIVE);
+        Student archived = createStudentAccount("roster_student_3", "Rob", "Three", "R3", UserAccountStatus.ACTIVE);
+        createStudentAccount("roster_unassigned", "Rex", "Four", "R4", UserAccountStatus.ACTIVE);
+        teacherStudentRepository.save(new TeacherStudent(teacher, second, TeacherStudentStatus.ACTIVE, "roster"));
+        teacherStudentRepository.save(new TeacherStudent(teacher, first, TeacherStudentStatus.ACTIVE, "roster"));
+        teacherStudentRepository.save(new TeacherStudent(teacher, archived, TeacherStudentStatus.ARCHIVED, "roster"));
+        String bearer = bearerFor(teacherUser);
+
+        MvcResult page = mockMvc.perform(get("/api/teacher/students")
+                        .header("Authorization", bearer)
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].studentId").value(first.getId()))
+                .andExpect(jsonPath("$.data[0].username").value("roster_student_1"))
+                .andExpect(jsonPath("$.data[0].status").value("ACTIVE"))
+                .andReturn();
+        String cursor = objectMapper.readTree(page.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/teacher/students")
+                        .header("Authorization", bearer)
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].studentId").value(second.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/teacher/students")
+                        .header("Authorization", bearerFor(createTeacherUser("roster_teacher_unbound"))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void listStudentAccounts_studentForbidden() throws Exception {
         User studentOperator = createStudentUserOnly("student_list_forbidden");
@@ -213,6 +453,56 @@ class StudentAccountsApiTest {
                 .andExpect(jsonPath("$.code").value("NOT_FOUND"));
     }
 
+    @Test
+    void patchStatuses_archivesCohortAndRevokesSessionsInOneRequest() throws Exception {
+        User teacherOperator = createTeacherUser("student_bulk_teacher");
+        Student first = createStudentAccount("student_bulk_first", "Bulk", "First", null, UserAccountStatus.ACTIVE);
+        Student second = createStudentAccount("student_bulk_second", "Bulk", "Second", null, UserAccountStatus.ACTIVE);
+        Student archived = createStudentAccount("student_bulk_archived", "Bulk", "Archived", null, UserAccountStatus.ARCHIVED);
+        String firstBearer = bearerFor(first.getUser());
+        String ids = "[" + first.getId() + "," + second.getId() + "," + archived.getId() + "," + first.getId() + "]";
+
+        mockMvc.perform(patch("/api/teacher/student-accounts/status")
+                        .header("Authorization", bearerFor(teacherOperator))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":[" + first.getId() + ",999999],\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Student account not found: [999999]"));
+        assertEquals(UserAccountStatus.ACTIVE, userRepository.findById(first.getUser().getId())
+                .orElseThrow(IllegalStateException::new).getStatus());
+
+        mockMvc.perform(patch("/api/teacher/student-accounts/status")
+                        .header("Authorization", bearerFor(teacherOperator))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":" + ids + ",\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ARCHIVED"))
+                .andExpect(jsonPath("$.updatedCount").value(2))
+                .andExpect(jsonPath("$.unchangedCount").value(1))
+                .andExpect(jsonPath("$.revokedSessionCount").value(1));
+
+        for (Student student : new Student[]{first, second}) {
+            User user = userRepository.findById(student.getUser().getId()).orElseThrow(IllegalStateException::new);
+            assertEquals(UserAccountStatus.ARCHIVED, user.getStatus());
+            assertEquals(teacherOperator.getId(), user.getStatusUpdatedBy());
+        }
+        mockMvc.perform(get("/api/student/profile").header("Authorization", firstBearer))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/teacher/student-accounts/search")
+                        .header("Authorization", bearerFor(teacherOperator))
+                        .param("q", "bulk second")
+                        .param("status", "ARCHIVED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].username").value("student_bulk_second"));
+
+        mockMvc.perform(patch("/api/teacher/student-accounts/status")
+                        .header("Authorization", bearerFor(teacherOperator))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":[],\"status\":\"ARCHIVED\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("studentIds is required"));
+    }
+
     @Test
     void archiveAndEnable_studentLoginFlow_matchesAcceptance() throws Exception {
         User teacherOperator = createTeacherUser("student_flow_teacher");
@@ -272,6 +562,14 @@ class StudentAccountsApiTest {
         return studentRepository.save(new Student(user, firstName, lastName, nickName));
     }
 
+    private void registerStudent(String username, String firstName, String lastName) throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"Student!234\",\"role\":\"STUDENT\","
+                                + "\"firstName\":\"" + firstName + "\",\"lastName\":\"" + lastName + "\"}"))
+                .andExpect(status().isOk());
+    }
+
     private String bearerFor(User user) {
         AuthSessionService.IssuedSession issuedSession = authSessionService.issueSession(user);
         return issuedSession.getTokenType() + " " + issuedSession.getAccessToken();
@@ -28,6 +28,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -366,6 +367,296 @@ class StudentProfileApiTest {
         assertEquals(Integer.valueOf(95), records.get(0).getMark());
     }
 
+    @Test
+    void putProfile_unchangedResave_keepsRecordRows_andIdEditsUpdateInPlace() throws Exception {
+        Student student = createStudentAccount("profile_diff_save_student", "Amy", "Chen", "Amy");
+        String bearer = bearerFor(student.getUser());
+
+        Map<String, Object> payload = buildProfilePayload(
+                "Amy",
+                "Chen",
+                "Amy",
+                false,
+                Arrays.asList(
+                        buildSchool("MAIN", "A High School", "2023-09-01", null)
+                ),
+                Arrays.asList(
+                        buildCourse("ABC Private School", "MHF4U", 93, 12, "2025-02-01", "2025-06-30"),
+                        buildCourse("Night School", "ENG4U", 90, 12, "2025-02-01", "2025-06-30")
+                )
+        );
+
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.schools[0].id").isNumber())
+                .andExpect(jsonPath("$.otherCourses[0].id").isNumber());
+        List<StudentCourseRecord> before = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+        assertEquals(2, before.size());
+
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.otherCourses[0].id").value(before.get(0).getId()))
+                .andExpect(jsonPath("$.otherCourses[1].id").value(before.get(1).getId()));
+        List<StudentCourseRecord> unchanged = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+        assertEquals(2, unchanged.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getId(), unchanged.get(i).getId());
+            assertEquals(before.get(i).getUpdatedAt(), unchanged.get(i).getUpdatedAt());
+        }
+
+        Map<String, Object> keptCourse = buildCourse("Night School", "ENG4U", 97, 12, "2025-02-01", "2025-06-30");
+        keptCourse.put("id", before.get(1).getId());
+        payload.put("otherCourses", Arrays.asList(keptCourse));
+
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.otherCourses.length()").value(1))
+                .andExpect(jsonPath("$.otherCourses[0].id").value(before.get(1).getId()))
+                .andExpect(jsonPath("$.otherCourses[0].mark").value(97));
+        List<StudentCourseRecord> after = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+        assertEquals(1, after.size());
+        assertEquals(before.get(1).getId(), after.get(0).getId());
+        assertEquals(Integer.valueOf(97), after.get(0).getMark());
+    }
+
+    @Test
+    void getProfile_afterSave_returnsSameRepresentationAsSaveResponse() throws Exception {
+        Student student = createStudentAccount("profile_read_model_student", "Amy", "Chen", "Amy");
+        String bearer = bearerFor(student.getUser());
+
+        Map<String, Object> payload = buildProfilePayload(
+                "Amy",
+                "Chen",
+                "Amy",
+                true,
+                Arrays.asList(
+                        buildSchoolWithAddress("MAIN", "A High School", "1 King St", "Toronto", "ON", "Canada", "M5V1A1",
+                                "2023-09-01", null),
+                        buildSchool("OTHER", "B High School", "2021-09-01", "2023-06-30")
+                ),
+                Arrays.asList(
+                        buildCourse("ABC Private School", "MHF4U", 93, 12, "2025-02-01", "2025-06-30"),
+                        buildCourse("Night School", "ENG4U", null, null, null, null)
+                )
+        );
+
+        String saved = mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String loaded = mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.readTree(saved), objectMapper.readTree(loaded));
+    }
+
+    @Test
+    void getProfile_withMatchingIfNoneMatch_returns304() throws Exception {
+        Student student = createStudentAccount("profile_etag_student", "Amy", "Chen", "Amy");
+        String bearer = bearerFor(student.getUser());
+
+        String etag = mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/student/profile")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void putProfile_withStaleIfMatch_returns412_andCurrentIfMatchSucceeds() throws Exception {
+        Student student = createStudentAccount("profile_if_match_student", "Amy", "Chen", "Amy");
+        String bearer = bearerFor(student.getUser());
+        Map<String, Object> payload = buildProfilePayload(
+                "Amy",
+                "Chen",
+                "Amy",
+                false,
+                Arrays.asList(buildSchool("MAIN", "A High School", "2023-09-01", null)),
+                new ArrayList<Map<String, Object>>()
+        );
+
+        String staleEtag = mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String currentEtag = mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-Match", staleEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(!staleEtag.equals(currentEtag));
+
+        payload.put("phone", "(416) 000-0000");
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-Match", staleEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-Match", currentEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("(416) 000-0000"));
+    }
+
+    @Test
+    void patchProfile_mergePatch_changesOnlyGivenFields_andKeepsRecordRows() throws Exception {
+        Student student = createStudentAccount("profile_patch_student", "Amy", "Chen", "Amy");
+        String bearer = bearerFor(student.getUser());
+        Map<String, Object> payload = buildProfilePayload(
+                "Amy",
+                "Chen",
+                "Amy",
+                true,
+                Arrays.asList(buildSchool("MAIN", "A High School", "2023-09-01", null)),
+                Arrays.asList(buildCourse("ABC Private School", "MHF4U", 93, 12, "2025-02-01", "2025-06-30"))
+        );
+        String etag = mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        List<StudentCourseRecord> before = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+
+        Map<String, Object> patch = new LinkedHashMap<String, Object>();
+        patch.put("phone", "(416) 555-0000");
+        patch.put("email", null);
+        patch.put("nickName", "Ames");
+        Map<String, Object> addressPatch = new LinkedHashMap<String, Object>();
+        addressPatch.put("city", "Ottawa");
+        patch.put("address", addressPatch);
+
+        mockMvc.perform(patch("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-Match", etag)
+                        .contentType("application/merge-patch+json")
+                        .content(toJson(patch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("(416) 555-0000"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.preferredName").value("Ames"))
+                .andExpect(jsonPath("$.legalFirstName").value("Amy"))
+                .andExpect(jsonPath("$.address.city").value("Ottawa"))
+                .andExpect(jsonPath("$.address.streetAddress").value("123 Main St"))
+                .andExpect(jsonPath("$.schools[0].schoolName").value("A High School"))
+                .andExpect(jsonPath("$.otherCourses[0].id").value(before.get(0).getId()));
+
+        List<StudentCourseRecord> after = studentCourseRecordRepository.findByStudent_IdOrderByIdAsc(student.getId());
+        assertEquals(1, after.size());
+        assertEquals(before.get(0).getUpdatedAt(), after.get(0).getUpdatedAt());
+
+        mockMvc.perform(patch("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-Match", etag)
+                        .contentType("application/merge-patch+json")
+                        .content(toJson(patch)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void getProfile_v2_isCompact_andFieldsSelectsTopLevelFields() throws Exception {
+        Student student = createStudentAccount("profile_v2_student", "Amy", "Chen", "Amy");
+        String bearer = bearerFor(student.getUser());
+        Map<String, Object> payload = buildProfilePayload(
+                "Amy",
+                "Chen",
+                "Amy",
+                false,
+                Arrays.asList(buildSchool("MAIN", "A High School", "2023-09-01", null)),
+                Arrays.asList(buildCourse("ABC Private School", "MHF4U", 93, 12, "2025-02-01", "2025-06-30"))
+        );
+        String v1Etag = mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String v2Etag = mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .accept("application/vnd.studentmanagement.profile.v2+json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.legalFirstName").value("Amy"))
+                .andExpect(jsonPath("$.firstName").doesNotExist())
+                .andExpect(jsonPath("$.schoolRecords").doesNotExist())
+                .andExpect(jsonPath("$.externalCourses").doesNotExist())
+                .andExpect(jsonPath("$.schools[0].schoolName").value("A High School"))
+                .andExpect(jsonPath("$.schools[0].endTime").doesNotExist())
+                .andExpect(jsonPath("$.schools[0].city").doesNotExist())
+                .andExpect(jsonPath("$.otherCourses[0].courseCode").value("MHF4U"))
+                .andExpect(jsonPath("$.otherCourses[0].streetAddress").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(!v1Etag.equals(v2Etag));
+
+        mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-None-Match", v1Etag)
+                        .param("version", "2"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .param("version", "2")
+                        .param("fields", "legalFirstName,schools"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.legalFirstName").value("Amy"))
+                .andExpect(jsonPath("$.schools[0].schoolName").value("A High School"))
+                .andExpect(jsonPath("$.otherCourses").doesNotExist())
+                .andExpect(jsonPath("$.phone").doesNotExist());
+
+        mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .param("fields", "firstName,externalCourses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Amy"))
+                .andExpect(jsonPath("$.externalCourses[0].courseCode").value("MHF4U"))
+                .andExpect(jsonPath("$.schools").doesNotExist());
+
+        mockMvc.perform(get("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .param("fields", "password"))
+                .andExpect(status().isBadRequest());
+
+        payload.put("phone", "(416) 000-0000");
+        mockMvc.perform(put("/api/student/profile")
+                        .header("Authorization", bearer)
+                        .header("If-Match", v2Etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk());
+    }
+
     private Student createStudentAccount(String username, String firstName, String lastName, String nickName) {
         User user = userRepository.save(new User(username, passwordEncoder.encode("Student!234"), UserRole.STUDENT));
         return studentRepository.save(new Student(user, firstName, lastName, nickName));
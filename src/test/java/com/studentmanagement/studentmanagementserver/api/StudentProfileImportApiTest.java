@@ -0,0 +1,214 @@
+package com.studentmanagement.studentmanagementserver.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentProfileImportApiTest {
+
+    private static final String IMPORT_URL = "/api/teacher/students/profiles/import";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TeacherStudentRepository teacherStudentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthSessionService authSessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonImport_savesValidRows_andReportsRowErrors() throws Exception {
+        Teacher teacher = createTeacherAccount("import_teacher_ndjson", "Teacher Import");
+        Student first = createStudentAccount("import_student_ndjson_1", "Amy", "Chen", "Amy");
+        Student second = createStudentAccount("import_student_ndjson_2", "Ben", "Li", "Ben");
+        Student unassigned = createStudentAccount("import_student_ndjson_other", "Dan", "Ng", "Dan");
+        assignTeacherStudent(teacher, first, TeacherStudentStatus.ACTIVE);
+        assignTeacherStudent(teacher, second, TeacherStudentStatus.ACTIVE);
+        String bearer = bearerFor(teacher.getUser());
+
+        String body = "{\"studentId\":" + first.getId() + ",\"phone\":\"(416) 555-0101\",\"address\":{\"city\":\"Ottawa\"},"
+                + "\"schools\":[{\"schoolType\":\"MAIN\",\"schoolName\":\"A High School\",\"startTime\":\"2023-09-01\"}]}\n"
+                + "{\"studentId\":" + second.getId() + ",\"birthday\":\"2008/01/01\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"studentId\":" + unassigned.getId() + ",\"phone\":\"(416) 555-0303\"}\n"
+                + "{\"studentId\":" + first.getId() + ",\"phone\":\"(416) 555-0404\"}\n";
+
+        String location = mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearer)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.totalRows").value(5))
+                .andReturn().getResponse().getHeader("Location");
+
+        JsonNode job = awaitCompletion(location, bearer);
+        assertEquals("COMPLETED", job.get("state").asText());
+        assertEquals(5, job.get("processedRows").asInt());
+        assertEquals(1, job.get("savedRows").asInt());
+        assertEquals(4, job.get("failedRows").asInt());
+        assertEquals(2, job.get("errors").get(0).get("line").asInt());
+        assertTrue(job.get("errors").get(0).get("message").asText().contains("birthday"));
+        assertEquals(3, job.get("errors").get(1).get("line").asInt());
+        assertEquals(5, job.get("errors").get(2).get("line").asInt());
+        assertTrue(job.get("errors").get(2).get("message").asText().startsWith("Forbidden"));
+        assertTrue(job.get("errors").get(3).get("message").asText().contains("duplicate studentId"));
+
+        mockMvc.perform(get("/api/teacher/students/{studentId}/profile", first.getId())
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("(416) 555-0101"))
+                .andExpect(jsonPath("$.address.city").value("Ottawa"))
+                .andExpect(jsonPath("$.legalFirstName").value("Amy"))
+                .andExpect(jsonPath("$.schools[0].schoolName").value("A High School"));
+
+        Teacher otherTeacher = createTeacherAccount("import_teacher_ndjson_other", "Teacher Other");
+        mockMvc.perform(get(location).header("Authorization", bearerFor(otherTeacher.getUser())))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void csvImport_byAdmin_updatesScalarFieldsAndKeepsRecords() throws Exception {
+        Student student = createStudentAccount("import_student_csv", "Cara", "Wu", "Cara");
+        String bearer = bearerFor(createAdmin("import_admin_csv"));
+
+        String csv = "studentId,preferredName,identityFileNote,ap,city,schools\r\n"
+                + student.getId() + ",CW,\"Passport, \"\"renewed\"\"\nsecond line\",yes,Toronto,ignored summary\r\n";
+        String location = mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearer)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        JsonNode job = awaitCompletion(location, bearer);
+        assertEquals(1, job.get("savedRows").asInt());
+        assertEquals(0, job.get("failedRows").asInt());
+
+        mockMvc.perform(get("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.preferredName").value("CW"))
+                .andExpect(jsonPath("$.legalFirstName").value("Cara"))
+                .andExpect(jsonPath("$.identityFileNote").value("Passport, \"renewed\"\nsecond line"))
+                .andExpect(jsonPath("$.ap").value(true))
+                .andExpect(jsonPath("$.address.city").value("Toronto"));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearer)
+                        .contentType("text/csv")
+                        .content("studentId,password\r\n1,secret\r\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void csvImport_rejectsRepeatedStudentId_andKeepsFirstRow() throws Exception {
+        Student student = createStudentAccount("import_student_csv_duplicate", "Eva", "Ho", "Eva");
+        Student other = createStudentAccount("import_student_csv_duplicate_other", "Fay", "Lu", "Fay");
+        String bearer = bearerFor(createAdmin("import_admin_csv_duplicate"));
+
+        String csv = "studentId,preferredName\r\n"
+                + student.getId() + ",First\r\n"
+                + other.getId() + ",Other\r\n"
+                + student.getId() + ",Second\r\n";
+        String location = mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearer)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        JsonNode job = awaitCompletion(location, bearer);
+        assertEquals(2, job.get("savedRows").asInt());
+        assertEquals(1, job.get("failedRows").asInt());
+        assertEquals(4, job.get("errors").get(0).get("line").asInt());
+        assertTrue(job.get("errors").get(0).get("message").asText().contains("duplicate studentId"));
+
+        mockMvc.perform(get("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.preferredName").value("First"));
+    }
+
+    private JsonNode awaitCompletion(String location, String bearer) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (true) {
+            String body = mockMvc.perform(get(location).header("Authorization", bearer))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            if (!"RUNNING".equals(job.get("state").asText()) || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(20L);
+        }
+    }
+
+    private User createAdmin(String username) {
+        return userRepository.save(new User(username, passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
+    }
+
+    private Teacher createTeacherAccount(String username, String displayName) {
+        User user = userRepository.save(new User(username, passwordEncoder.encode("Teacher!234"), UserRole.TEACHER));
+        return teacherRepository.save(new Teacher(user, displayName));
+    }
+
+    private Student createStudentAccount(String username, String firstName, String lastName, String nickName) {
+        User user = userRepository.save(new User(username, passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+        return studentRepository.save(new Student(user, firstName, lastName, nickName));
+    }
+
+    private void assignTeacherStudent(Teacher teacher, Student student, TeacherStudentStatus status) {
+        teacherStudentRepository.save(new TeacherStudent(teacher, student, status, "test assignment"));
+    }
+
+    private String bearerFor(User user) {
+        AuthSessionService.IssuedSession issuedSession = authSessionService.issueSession(user);
+        return issuedSession.getTokenType() + " " + issuedSession.getAccessToken();
+    }
+}
@@ -0,0 +1,152 @@
+package com.studentmanagement.studentmanagementserver.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentRosterImportApiTest {
+
+    private static final String IMPORT_URL = "/api/teacher/students/roster/import";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TeacherStudentRepository teacherStudentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthSessionService authSessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void csvImport_createsAssignedAccounts_andReportsRowErrors() throws Exception {
+        Teacher teacher = createTeacherAccount("rimport_teacher", "Roster Teacher");
+        userRepository.save(new User("rimport_taken", passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+
+        String body = "username,firstName,lastName,preferredName\n"
+                + "rimport_amy,Amy,Chen,\n"
+                + "rimport_ben,Ben,\"Li, Jr.\",Benny\n"
+                + "rimport_taken,Tia,Kim,\n"
+                + "rimport_amy,Amy,Again,\n"
+                + "rimport_nolast,No,,\n";
+
+        JsonNode result = objectMapper.readTree(mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teacherId").value(teacher.getId()))
+                .andExpect(jsonPath("$.createdCount").value(2))
+                .andExpect(jsonPath("$.failedCount").value(3))
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals(4, result.get("errors").get(0).get("line").asInt());
+        assertEquals("Username already exists", result.get("errors").get(0).get("message").asText());
+        assertTrue(result.get("errors").get(1).get("message").asText().contains("duplicate username"));
+        assertEquals(6, result.get("errors").get(2).get("line").asInt());
+
+        JsonNode ben = result.get("data").get(1);
+        assertEquals("rimport_ben", ben.get("username").asText());
+        Student student = studentRepository.findById(ben.get("studentId").asLong()).orElseThrow(IllegalStateException::new);
+        assertEquals("Li, Jr.", student.getLastName());
+        assertEquals("Benny", student.getNickName());
+        assertTrue(teacherStudentRepository.existsByTeacher_IdAndStudent_IdAndStatus(
+                teacher.getId(), student.getId(), TeacherStudentStatus.ACTIVE));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"rimport_ben\",\"password\":\""
+                                + ben.get("tempPassword").asText().replace("\\", "\\\\").replace("\"", "\\\"") + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentId").value(student.getId()))
+                .andExpect(jsonPath("$.mustChangePassword").value(true));
+    }
+
+    @Test
+    void csvImport_adminTargetsTeacher_andStudentsAreForbidden() throws Exception {
+        Teacher teacher = createTeacherAccount("rimport_admin_target", "Roster Target");
+        User admin = userRepository.save(new User("rimport_admin", passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
+        User student = userRepository.save(new User("rimport_student_caller", passwordEncoder.encode("Student!234"), UserRole.STUDENT));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearerFor(admin))
+                        .param("teacherId", String.valueOf(teacher.getId()))
+                        .contentType("text/csv")
+                        .content("username,firstName,lastName\nrimport_admin_made,Ada,Lovelace\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teacherId").value(teacher.getId()))
+                .andExpect(jsonPath("$.createdCount").value(1));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearerFor(admin))
+                        .param("teacherId", String.valueOf(teacher.getId()))
+                        .contentType("text/csv")
+                        .content("username,grade\nrimport_bad_header,9\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown CSV column: grade"));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearerFor(admin))
+                        .param("teacherId", "987654321")
+                        .contentType("text/csv")
+                        .content("username,firstName,lastName\nrimport_no_teacher,No,Teacher\n"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Teacher not found: 987654321"));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", bearerFor(student))
+                        .contentType("text/csv")
+                        .content("username,firstName,lastName\nrimport_nope,No,Pe\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    private Teacher createTeacherAccount(String username, String displayName) {
+        User user = userRepository.save(new User(username, passwordEncoder.encode("Teacher!234"), UserRole.TEACHER));
+        return teacherRepository.save(new Teacher(user, displayName));
+    }
+
+    private String bearerFor(User user) {
+        AuthSessionService.IssuedSession issuedSession = authSessionService.issueSession(user);
+        return issuedSession.getTokenType() + " " + issuedSession.getAccessToken();
+    }
+}
@@ -2,13 +2,20 @@ package com.studentmanagement.studentmanagementserver.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserAccountStatus;
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentInvite;
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
 import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherPasswordResetAuditLog;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentInviteRepository;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherPasswordResetAuditLogRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.UserRepository;
 import com.studentmanagement.studentmanagementserver.service.AuthSessionService;
 import com.studentmanagement.studentmanagementserver.service.PasswordPolicyValidator;
@@ -22,12 +29,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -48,6 +57,15 @@ class TeacherAccountsApiTest {
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherStudentRepository teacherStudentRepository;
+
+    @Autowired
+    private StudentInviteRepository studentInviteRepository;
+
     @Autowired
     private TeacherPasswordResetAuditLogRepository teacherPasswordResetAuditLogRepository;
 
@@ -76,6 +94,48 @@ class TeacherAccountsApiTest {
                 .andExpect(jsonPath("$.data[*].status", hasItem("ACTIVE")));
     }
 
+    @Test
+    void listTeacherAccounts_includesActiveStudentAndPendingInviteCounts() throws Exception {
+        User admin = createAdmin("count_admin_user");
+        Teacher busy = createTeacherAccount("count_busy_teacher", "Busy Teacher");
+        createTeacherAccount("count_idle_teacher", "Idle Teacher");
+        for (int i = 0; i < 3; i++) {
+            User studentUser = userRepository.save(new User(
+                    "count_student_" + i, passwordEncoder.encode("Student!234"), UserRole.STUDENT
+            ));
+            Student student = studentRepository.save(new Student(studentUser, "Count", "Student" + i, null));
+            TeacherStudentStatus status = i == 2 ? TeacherStudentStatus.ARCHIVED : TeacherStudentStatus.ACTIVE;
+            teacherStudentRepository.save(new TeacherStudent(busy, student, status, "count"));
+        }
+        studentInviteRepository.save(new StudentInvite(busy, "count-invite-open", LocalDateTime.now().plusDays(1)));
+        studentInviteRepository.save(new StudentInvite(busy, "count-invite-expired", LocalDateTime.now().minusDays(1)));
+
+        mockMvc.perform(get("/api/teacher/accounts")
+                        .header("Authorization", bearerFor(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.username=='count_busy_teacher')].activeStudentCount", hasItem(2)))
+                .andExpect(jsonPath("$.data[?(@.username=='count_busy_teacher')].pendingInviteCount", hasItem(1)))
+                .andExpect(jsonPath("$.data[?(@.username=='count_idle_teacher')].activeStudentCount", hasItem(0)))
+                .andExpect(jsonPath("$.data[?(@.username=='count_idle_teacher')].pendingInviteCount", hasItem(0)));
+    }
+
+    @Test
+    void listTeacherAccounts_streamMode_keepsDataEnvelope() throws Exception {
+        User admin = createAdmin("stream_admin_user");
+        createTeacherAccount("stream_teacher_user", "Stream Teacher");
+
+        MvcResult started = mockMvc.perform(get("/api/teacher/accounts")
+                        .header("Authorization", bearerFor(admin))
+                        .param("stream", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(jsonPath("$.data[*].username", hasItem("stream_teacher_user")))
+                .andExpect(jsonPath("$.data[*].displayName", hasItem("Stream Teacher")));
+    }
+
     @Test
     void resetPassword_success_returnsTempPassword() throws Exception {
         User admin = createAdmin("reset_admin_user");
@@ -238,6 +298,39 @@ class TeacherAccountsApiTest {
         assertEquals(UserAccountStatus.ACTIVE, activatedUser.getStatus());
     }
 
+    @Test
+    void patchStatuses_archivesAndReactivatesTeachersInBulk() throws Exception {
+        User admin = createAdmin("bulk_status_admin");
+        Teacher first = createTeacherAccount("bulk_status_teacher_a", "Bulk A");
+        Teacher second = createTeacherAccount("bulk_status_teacher_b", "Bulk B");
+        String body = "{\"teacherIds\":[" + first.getId() + "," + second.getId() + "],\"status\":\"%s\"}";
+
+        mockMvc.perform(patch("/api/teacher/accounts/status")
+                        .header("Authorization", bearerFor(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(body, "ARCHIVED")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedCount").value(2))
+                .andExpect(jsonPath("$.unchangedCount").value(0));
+        assertEquals(UserAccountStatus.ARCHIVED, userRepository.findById(second.getUser().getId())
+                .orElseThrow(IllegalStateException::new).getStatus());
+
+        mockMvc.perform(patch("/api/teacher/accounts/status")
+                        .header("Authorization", bearerFor(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(body, "ACTIVE")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andExpect(jsonPath("$.updatedCount").value(2))
+                .andExpect(jsonPath("$.revokedSessionCount").value(0));
+
+        mockMvc.perform(patch("/api/teacher/accounts/status")
+                        .header("Authorization", bearerFor(first.getUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(body, "ARCHIVED")))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void patchStatus_unauthenticated_returns401() throws Exception {
         Teacher teacher = createTeacherAccount("status_unauth_target", "Status Unauth Target");
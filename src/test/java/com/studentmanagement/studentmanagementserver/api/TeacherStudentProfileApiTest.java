@@ -5,10 +5,15 @@ import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudent
 import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
 import com.studentmanagement.studentmanagementserver.domain.student.Student;
 import com.studentmanagement.studentmanagementserver.domain.student.StudentCourseRecord;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentProfileDto;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentProfileSnapshot;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentProfileSnapshotStore;
+import com.studentmanagement.studentmanagementserver.domain.student.VersionedStudentProfile;
 import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
 import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherStudent;
 import com.studentmanagement.studentmanagementserver.domain.user.User;
 import com.studentmanagement.studentmanagementserver.repo.StudentCourseRecordRepository;
+import com.studentmanagement.studentmanagementserver.repo.StudentProfileSnapshotRepository;
 import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
 import com.studentmanagement.studentmanagementserver.repo.TeacherStudentRepository;
@@ -22,15 +27,25 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -57,6 +72,12 @@ class TeacherStudentProfileApiTest {
     @Autowired
     private StudentCourseRecordRepository studentCourseRecordRepository;
 
+    @Autowired
+    private StudentProfileSnapshotRepository studentProfileSnapshotRepository;
+
+    @Autowired
+    private StudentProfileSnapshotStore studentProfileSnapshotStore;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -255,6 +276,220 @@ class TeacherStudentProfileApiTest {
         assertEquals(1, records.size());
     }
 
+    @Test
+    void teacherProfile_ifNoneMatch_returns304UntilSaved_andStillChecksAccess() throws Exception {
+        Teacher teacher = createTeacherAccount("phase2_teacher_etag", "Teacher ETag");
+        Teacher otherTeacher = createTeacherAccount("phase2_teacher_etag_other", "Teacher Other");
+        Student student = createStudentAccount("phase2_student_etag", "Amy", "Chen", "Amy");
+        assignTeacherStudent(teacher, student, TeacherStudentStatus.ACTIVE);
+        String bearer = bearerFor(teacher.getUser());
+
+        String etag = mockMvc.perform(get("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearer)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearerFor(otherTeacher.getUser()))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isForbidden());
+
+        Map<String, Object> payload = buildProfilePayload();
+        payload.put("legalFirstName", "Edited");
+        mockMvc.perform(put("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(payload)))
+                .andExpect(status().isOk());
+
+        String newEtag = mockMvc.perform(get("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearer)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.legalFirstName").value("Edited"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void teacherProfile_patch_updatesField_andUnassignedTeacherForbidden() throws Exception {
+        Teacher teacher = createTeacherAccount("phase2_teacher_patch", "Teacher Patch");
+        Teacher otherTeacher = createTeacherAccount("phase2_teacher_patch_other", "Teacher Other");
+        Student student = createStudentAccount("phase2_student_patch", "Amy", "Chen", "Amy");
+        assignTeacherStudent(teacher, student, TeacherStudentStatus.ACTIVE);
+
+        mockMvc.perform(put("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildProfilePayload())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearerFor(otherTeacher.getUser()))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"oenNumber\":\"987654321\"}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(patch("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"oenNumber\":\"987654321\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.oenNumber").value("987654321"))
+                .andExpect(jsonPath("$.otherCourses[0].courseCode").value("MHF4U"));
+    }
+
+    @Test
+    void profileExport_teacherStreamsOwnStudentsAsNdjson_adminGetsCsv() throws Exception {
+        Teacher teacher = createTeacherAccount("phase2_teacher_export", "Teacher Export");
+        Student first = createStudentAccount("phase2_student_export_1", "Amy", "Chen", "Amy");
+        Student second = createStudentAccount("phase2_student_export_2", "Ben", "Li", "Ben");
+        Student third = createStudentAccount("phase2_student_export_3", "Cara", "Wu", "Cara");
+        Student unassigned = createStudentAccount("phase2_student_export_other", "Dan", "Ng", "Dan");
+        assignTeacherStudent(teacher, first, TeacherStudentStatus.ACTIVE);
+        assignTeacherStudent(teacher, second, TeacherStudentStatus.ACTIVE);
+        assignTeacherStudent(teacher, third, TeacherStudentStatus.ACTIVE);
+
+        mockMvc.perform(put("/api/teacher/students/{studentId}/profile", third.getId())
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildProfilePayload())))
+                .andExpect(status().isOk());
+
+        MvcResult started = mockMvc.perform(get("/api/teacher/students/profiles/export")
+                        .header("Authorization", bearerFor(teacher.getUser())))
+                .andExpect(status().isOk())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.trim().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(first.getId().longValue(), objectMapper.readTree(lines[0]).get("studentId").asLong());
+        assertEquals("Ben", objectMapper.readTree(lines[1]).get("legalFirstName").asText());
+        assertEquals("MHF4U", objectMapper.readTree(lines[2]).get("otherCourses").get(0).get("courseCode").asText());
+        assertTrue(objectMapper.readTree(lines[0]).get("schools").isArray());
+        assertTrue(!ndjson.contains("\"Dan\""));
+
+        MvcResult adminStarted = mockMvc.perform(get("/api/teacher/students/profiles/export")
+                        .header("Authorization", bearerFor(createAdmin("phase2_admin_export")))
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(adminStarted))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(csv.startsWith("studentId,legalFirstName,legalLastName"));
+        assertTrue(csv.contains(unassigned.getId() + ",Dan,Ng,Dan"));
+        assertTrue(csv.contains("MHF4U 93"));
+
+        mockMvc.perform(get("/api/teacher/students/profiles/export")
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void profileBatch_returnsAssignedProfiles_andReportsUnavailableIds() throws Exception {
+        Teacher teacher = createTeacherAccount("phase2_teacher_batch", "Teacher Batch");
+        Student first = createStudentAccount("phase2_student_batch_1", "Amy", "Chen", "Amy");
+        Student second = createStudentAccount("phase2_student_batch_2", "Ben", "Li", "Ben");
+        Student unassigned = createStudentAccount("phase2_student_batch_other", "Dan", "Ng", "Dan");
+        assignTeacherStudent(teacher, first, TeacherStudentStatus.ACTIVE);
+        assignTeacherStudent(teacher, second, TeacherStudentStatus.ACTIVE);
+
+        mockMvc.perform(put("/api/teacher/students/{studentId}/profile", second.getId())
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildProfilePayload())))
+                .andExpect(status().isOk());
+        String secondEtag = mockMvc.perform(get("/api/teacher/students/{studentId}/profile", second.getId())
+                        .header("Authorization", bearerFor(teacher.getUser())))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String ids = second.getId() + "," + unassigned.getId() + "," + first.getId() + ",999999";
+        mockMvc.perform(get("/api/teacher/students/profiles")
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .param("studentIds", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].studentId").value(second.getId()))
+                .andExpect(jsonPath("$.data[0].etag").value(secondEtag))
+                .andExpect(jsonPath("$.data[0].profile.otherCourses[0].courseCode").value("MHF4U"))
+                .andExpect(jsonPath("$.data[1].profile.legalFirstName").value("Amy"))
+                .andExpect(jsonPath("$.missingStudentIds[0]").value(unassigned.getId()))
+                .andExpect(jsonPath("$.missingStudentIds[1]").value(999999));
+
+        mockMvc.perform(get("/api/teacher/students/profiles")
+                        .header("Authorization", bearerFor(createAdmin("phase2_admin_batch")))
+                        .param("studentIds", String.valueOf(unassigned.getId()))
+                        .param("version", "2")
+                        .param("fields", "legalFirstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].profile.legalFirstName").value("Dan"))
+                .andExpect(jsonPath("$.data[0].profile.schools").doesNotExist())
+                .andExpect(jsonPath("$.missingStudentIds").isEmpty());
+
+        mockMvc.perform(get("/api/teacher/students/profiles")
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .param("studentIds", "1,abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void profileSnapshot_writtenOnSave_andRebuiltByAdmin() throws Exception {
+        Teacher teacher = createTeacherAccount("phase2_teacher_snapshot", "Teacher Snapshot");
+        Student student = createStudentAccount("phase2_student_snapshot", "Amy", "Chen", "Amy");
+        assignTeacherStudent(teacher, student, TeacherStudentStatus.ACTIVE);
+
+        String etag = mockMvc.perform(put("/api/teacher/students/{studentId}/profile", student.getId())
+                        .header("Authorization", bearerFor(teacher.getUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildProfilePayload())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        StudentProfileSnapshot snapshot = studentProfileSnapshotRepository.findById(student.getId()).orElse(null);
+        assertNotNull(snapshot);
+        assertEquals("\"profile-" + student.getId() + "-" + snapshot.getProfileVersion() + "\"", etag);
+        assertEquals(2, objectMapper.readTree(snapshot.getDocument()).get("schools").size());
+        assertTrue(!snapshot.getDocument().contains("schoolsOrEmpty"));
+
+        mockMvc.perform(post("/api/teacher/students/profiles/snapshots/rebuild")
+                        .header("Authorization", bearerFor(teacher.getUser())))
+                .andExpect(status().isForbidden());
+
+        studentProfileSnapshotRepository.deleteById(student.getId());
+        mockMvc.perform(post("/api/teacher/students/profiles/snapshots/rebuild")
+                        .header("Authorization", bearerFor(createAdmin("phase2_admin_snapshot"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.written").isNumber());
+        StudentProfileSnapshot rebuilt = studentProfileSnapshotRepository.findById(student.getId()).orElse(null);
+        assertNotNull(rebuilt);
+        assertEquals(snapshot.getProfileVersion(), rebuilt.getProfileVersion());
+        assertEquals(objectMapper.readTree(snapshot.getDocument()), objectMapper.readTree(rebuilt.getDocument()));
+
+        // Existing rows go through the same upsert; an older version never replaces a newer document.
+        assertEquals(1, studentProfileSnapshotStore.writeAll(Collections.singletonList(new VersionedStudentProfile(
+                student.getId(), rebuilt.getProfileVersion(), new StudentProfileDto()))));
+        assertEquals(0, studentProfileSnapshotStore.writeAll(Collections.singletonList(new VersionedStudentProfile(
+                student.getId(), rebuilt.getProfileVersion() - 1L, new StudentProfileDto()))));
+        StudentProfileSnapshot rewritten = studentProfileSnapshotRepository.findById(student.getId()).orElse(null);
+        assertNotNull(rewritten);
+        assertEquals(rebuilt.getProfileVersion(), rewritten.getProfileVersion());
+        assertEquals(0, objectMapper.readTree(rewritten.getDocument()).path("schools").size());
+    }
+
     private User createAdmin(String username) {
         return userRepository.save(new User(username, passwordEncoder.encode("Admin!234"), UserRole.ADMIN));
     }
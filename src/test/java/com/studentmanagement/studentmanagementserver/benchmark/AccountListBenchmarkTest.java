@@ -0,0 +1,298 @@
+package com.studentmanagement.studentmanagementserver.benchmark;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.StudentInviteStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.TeacherStudentStatus;
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentAccountService;
+import com.studentmanagement.studentmanagementserver.domain.teacher.Teacher;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherAccountItem;
+import com.studentmanagement.studentmanagementserver.domain.teacher.TeacherAccountService;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.TeacherRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the account list queries against the entity-hydrating queries they replaced, and the teacher list's
+ * inline counts against counting per teacher, on a seeded dataset.
+ * Reports p50 latency and allocated bytes per call. Scale with -Daccount.benchmark.students=N,
+ * -Daccount.benchmark.teachers=N and -Daccount.benchmark.iterations=N when comparing changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AccountListBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountListBenchmarkTest.class);
+
+    private static final String USERNAME_PREFIX = "bench_account_";
+    private static final int PAGE_LIMIT = 200;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentAccountService studentAccountService;
+
+    @Autowired
+    private TeacherAccountService teacherAccountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeAll
+    void seed() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // Listing never touches the hash, so one pre-encoded value keeps seeding fast.
+        String passwordHash = "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmark";
+        int students = Integer.getInteger("account.benchmark.students", 2000).intValue();
+        int teachers = Integer.getInteger("account.benchmark.teachers", 300).intValue();
+
+        List<User> studentUsers = new ArrayList<User>();
+        for (int i = 0; i < students; i++) {
+            studentUsers.add(new User(USERNAME_PREFIX + "s" + i, passwordHash, UserRole.STUDENT));
+        }
+        List<Student> seededStudents = new ArrayList<Student>();
+        for (User user : userRepository.saveAll(studentUsers)) {
+            seededStudents.add(new Student(user, "First" + user.getId(), "Last" + user.getId(), null));
+        }
+        studentRepository.saveAll(seededStudents);
+
+        List<User> teacherUsers = new ArrayList<User>();
+        for (int i = 0; i < teachers; i++) {
+            teacherUsers.add(new User(USERNAME_PREFIX + "t" + i, passwordHash, UserRole.TEACHER));
+        }
+        List<Teacher> seededTeachers = new ArrayList<Teacher>();
+        for (User user : userRepository.saveAll(teacherUsers)) {
+            seededTeachers.add(new Teacher(user, "Teacher " + user.getId()));
+        }
+        teacherRepository.saveAll(seededTeachers);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        String usersLike = "select id from users where username like '" + USERNAME_PREFIX + "%'";
+        jdbcTemplate.update("delete from students where user_id in (" + usersLike + ")");
+        jdbcTemplate.update("delete from teachers where user_id in (" + usersLike + ")");
+        jdbcTemplate.update("delete from users where username like '" + USERNAME_PREFIX + "%'");
+    }
+
+    @Test
+    void studentAccountPage_projectionAllocatesLessThanEntities() {
+        Supplier<List<StudentAccountItem>> projection = () -> studentAccountService
+                .listStudentAccounts(null, null, "id", "asc", null, String.valueOf(PAGE_LIMIT))
+                .getItems();
+        Supplier<List<StudentAccountItem>> entities = () -> readOnlyTransaction.execute(status -> {
+            List<Student> page = entityManager
+                    .createQuery("select s from Student s join fetch s.user order by s.id asc", Student.class)
+                    .setMaxResults(PAGE_LIMIT + 1)
+                    .getResultList();
+            List<StudentAccountItem> items = new ArrayList<StudentAccountItem>();
+            for (Student student : page.subList(0, Math.min(PAGE_LIMIT, page.size()))) {
+                items.add(new StudentAccountItem(
+                        student.getId(),
+                        student.getUser().getUsername(),
+                        student.getUser().getRole(),
+                        student.getUser().getStatus(),
+                        student.getFirstName(),
+                        student.getLastName(),
+                        student.getNickName()
+                ));
+            }
+            return items;
+        });
+
+        assertEquals(usernames(entities.get()), usernames(projection.get()));
+        compare("student-accounts page", "projection", projection, "entities", entities);
+    }
+
+    @Test
+    void teacherAccountList_projectionAllocatesLessThanEntities() {
+        Supplier<List<TeacherAccountItem>> projection = () -> teacherAccountService.listTeacherAccounts();
+        // Same single statement and correlated counts, but hydrating Teacher and User for every row.
+        Supplier<List<TeacherAccountItem>> entities = () -> readOnlyTransaction.execute(status -> {
+            List<Object[]> rows = entityManager
+                    .createQuery("select t,"
+                            + " (select count(ts.id) from TeacherStudent ts where ts.teacher = t and ts.status = :active),"
+                            + " (select count(i.id) from StudentInvite i where i.teacher = t"
+                            + " and i.status = :pending and i.expiresAt > :now)"
+                            + " from Teacher t join fetch t.user order by t.id", Object[].class)
+                    .setParameter("active", TeacherStudentStatus.ACTIVE)
+                    .setParameter("pending", StudentInviteStatus.PENDING)
+                    .setParameter("now", LocalDateTime.now())
+                    .getResultList();
+            List<TeacherAccountItem> items = new ArrayList<TeacherAccountItem>();
+            for (Object[] row : rows) {
+                items.add(accountItem((Teacher) row[0], (Long) row[1], (Long) row[2]));
+            }
+            return items;
+        });
+
+        assertEquals(entities.get().size(), projection.get().size());
+        compare("teacher-accounts list", "projection", projection, "entities", entities);
+    }
+
+    @Test
+    void teacherAccountList_inlineCountsAllocateLessThanPerTeacherCounts() {
+        Supplier<List<TeacherAccountItem>> projection = () -> teacherAccountService.listTeacherAccounts();
+        // What callers did before the counts were in the list: hydrate, then two count queries per teacher.
+        Supplier<List<TeacherAccountItem>> perTeacher = () -> readOnlyTransaction.execute(status -> {
+            List<Teacher> teachers = entityManager
+                    .createQuery("select t from Teacher t join fetch t.user order by t.id", Teacher.class)
+                    .getResultList();
+            LocalDateTime now = LocalDateTime.now();
+            List<TeacherAccountItem> items = new ArrayList<TeacherAccountItem>();
+            for (Teacher teacher : teachers) {
+                Long activeStudents = entityManager
+                        .createQuery("select count(ts) from TeacherStudent ts"
+                                + " where ts.teacher.id = :teacherId and ts.status = :status", Long.class)
+                        .setParameter("teacherId", teacher.getId())
+                        .setParameter("status", TeacherStudentStatus.ACTIVE)
+                        .getSingleResult();
+                Long pendingInvites = entityManager
+                        .createQuery("select count(i) from StudentInvite i where i.teacher.id = :teacherId"
+                                + " and i.status = :status and i.expiresAt > :now", Long.class)
+                        .setParameter("teacherId", teacher.getId())
+                        .setParameter("status", StudentInviteStatus.PENDING)
+                        .setParameter("now", now)
+                        .getSingleResult();
+                items.add(accountItem(teacher, activeStudents, pendingInvites));
+            }
+            return items;
+        });
+
+        assertEquals(perTeacher.get().size(), projection.get().size());
+        compare("teacher-accounts counts", "inline counts", projection, "per-teacher counts", perTeacher);
+    }
+
+    private static TeacherAccountItem accountItem(Teacher teacher, Long activeStudents, Long pendingInvites) {
+        return new TeacherAccountItem(
+                teacher.getId(),
+                teacher.getUser().getUsername(),
+                teacher.getUser().getRole(),
+                teacher.getUser().getStatus(),
+                teacher.getName(),
+                activeStudents,
+                pendingInvites
+        );
+    }
+
+    private <T> void compare(String name,
+                             String candidateLabel,
+                             Supplier<List<T>> candidate,
+                             String baselineLabel,
+                             Supplier<List<T>> baseline) {
+        Measurement measured = measure(candidate);
+        Measurement reference = measure(baseline);
+        log.info(
+                "account list benchmark [{}] {} p50={}ms alloc/call={}B | {} p50={}ms alloc/call={}B",
+                name,
+                candidateLabel,
+                measured.p50Nanos / 1_000_000d,
+                measured.allocatedBytesPerCall,
+                baselineLabel,
+                reference.p50Nanos / 1_000_000d,
+                reference.allocatedBytesPerCall
+        );
+        if (measured.allocatedBytesPerCall >= 0L) {
+            assertTrue(
+                    measured.allocatedBytesPerCall < reference.allocatedBytesPerCall,
+                    name + ": " + candidateLabel + " allocated " + measured.allocatedBytesPerCall
+                            + "B/call, " + baselineLabel + " " + reference.allocatedBytesPerCall + "B/call"
+            );
+        }
+    }
+
+    private Measurement measure(Supplier<?> call) {
+        int warmup = Integer.getInteger("account.benchmark.warmup", 3).intValue();
+        int iterations = Math.max(1, Integer.getInteger("account.benchmark.iterations", 10).intValue());
+        for (int i = 0; i < warmup; i++) {
+            call.get();
+        }
+        long[] latencies = new long[iterations];
+        long allocatedBytes = 0L;
+        boolean trackAllocation = allocatedBytes() >= 0L;
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            call.get();
+            latencies[i] = System.nanoTime() - start;
+            allocatedBytes += allocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(latencies);
+        return new Measurement(
+                latencies[(latencies.length - 1) / 2],
+                trackAllocation ? allocatedBytes / iterations : -1L
+        );
+    }
+
+    private static List<String> usernames(List<StudentAccountItem> items) {
+        List<String> usernames = new ArrayList<String>();
+        for (StudentAccountItem item : items) {
+            usernames.add(item.getUsername());
+        }
+        return usernames;
+    }
+
+    private long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    private static class Measurement {
+        private final long p50Nanos;
+        private final long allocatedBytesPerCall;
+
+        private Measurement(long p50Nanos, long allocatedBytesPerCall) {
+            this.p50Nanos = p50Nanos;
+            this.allocatedBytesPerCall = allocatedBytesPerCall;
+        }
+    }
+}
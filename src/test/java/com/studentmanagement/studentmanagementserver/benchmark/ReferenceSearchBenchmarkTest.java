@@ -0,0 +1,284 @@
+package com.studentmanagement.studentmanagementserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.studentmanagementserver.domain.reference.CanadianHighSchoolReferenceDto;
+import com.studentmanagement.studentmanagementserver.domain.reference.CanadianHighSchoolReferenceService;
+import com.studentmanagement.studentmanagementserver.domain.reference.OntarioCourseProviderReferenceDto;
+import com.studentmanagement.studentmanagementserver.domain.reference.OntarioCourseProviderReferenceService;
+import com.studentmanagement.studentmanagementserver.domain.reference.ReferenceSearchMetrics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Offline quality/latency harness for the reference search services.
+ * Runs the labeled corpus in reference-search-benchmark.csv and reports recall@k, MRR,
+ * p50/p99 latency and allocated bytes per query. Increase the measured passes with
+ * -Dreference.benchmark.iterations=N (and -Dreference.benchmark.warmup=N) when comparing changes.
+ */
+class ReferenceSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceSearchBenchmarkTest.class);
+
+    private static final String CORPUS_FILE = "reference-search-benchmark.csv";
+    private static final int K = 10;
+    private static final double MIN_RECALL_AT_K = 1.00d;
+    private static final double MIN_MRR = 0.90d;
+    private static final int RETAINED_COPIES = 10;
+
+    private static CanadianHighSchoolReferenceService highSchoolService;
+    private static OntarioCourseProviderReferenceService courseProviderService;
+
+    @BeforeAll
+    static void loadServices() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReferenceSearchMetrics searchMetrics = new ReferenceSearchMetrics(Long.MAX_VALUE, 0d);
+        highSchoolService = new CanadianHighSchoolReferenceService(objectMapper, searchMetrics);
+        courseProviderService = new OntarioCourseProviderReferenceService(objectMapper, searchMetrics);
+    }
+
+    @Test
+    void highSchoolSearch_keepsRankingQuality() throws IOException {
+        Report report = run("high-schools", new SearchFunction() {
+            @Override
+            public List<String> names(String query, int limit) {
+                List<String> names = new ArrayList<String>();
+                for (CanadianHighSchoolReferenceDto dto : highSchoolService.search(query, limit)) {
+                    names.add(dto.getName());
+                }
+                return names;
+            }
+        });
+        assertQuality(report);
+    }
+
+    @Test
+    void courseProviderSearch_keepsRankingQuality() throws IOException {
+        Report report = run("course-providers", new SearchFunction() {
+            @Override
+            public List<String> names(String query, int limit) {
+                List<String> names = new ArrayList<String>();
+                for (OntarioCourseProviderReferenceDto dto : courseProviderService.search(query, limit)) {
+                    names.add(dto.getName());
+                }
+                return names;
+            }
+        });
+        assertQuality(report);
+    }
+
+    /**
+     * Heap retained per loaded service: the used heap after a full GC with {@code RETAINED_COPIES} instances held,
+     * minus the baseline, divided by the copies. Reported only; GC timing makes it too noisy to assert on.
+     */
+    @Test
+    void referenceServices_reportRetainedHeap() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReferenceSearchMetrics searchMetrics = new ReferenceSearchMetrics(Long.MAX_VALUE, 0d);
+        long highSchools = retainedBytesPerInstance(
+                () -> new CanadianHighSchoolReferenceService(objectMapper, searchMetrics));
+        long courseProviders = retainedBytesPerInstance(
+                () -> new OntarioCourseProviderReferenceService(objectMapper, searchMetrics));
+        log.info(
+                "reference retained heap high-schools={}KB course-providers={}KB",
+                highSchools / 1024L,
+                courseProviders / 1024L
+        );
+    }
+
+    private long retainedBytesPerInstance(Supplier<Object> factory) {
+        Object[] held = new Object[RETAINED_COPIES];
+        long baseline = usedHeapAfterGc();
+        for (int i = 0; i < held.length; i++) {
+            held[i] = factory.get();
+        }
+        long loaded = usedHeapAfterGc();
+        // Reading held after the measurement keeps the instances reachable through it.
+        return (loaded - baseline) / held.length;
+    }
+
+    private long usedHeapAfterGc() {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private void assertQuality(Report report) {
+        log.info(report.toString());
+        assertTrue(report.recallAtK >= MIN_RECALL_AT_K, "recall@" + K + " dropped: " + report);
+        assertTrue(report.mrr >= MIN_MRR, "MRR dropped: " + report);
+    }
+
+    private Report run(String dataset, SearchFunction search) throws IOException {
+        List<LabeledQuery> corpus = loadCorpus(dataset);
+        int warmup = Integer.getInteger("reference.benchmark.warmup", 1).intValue();
+        int iterations = Math.max(1, Integer.getInteger("reference.benchmark.iterations", 3).intValue());
+
+        for (int i = 0; i < warmup; i++) {
+            for (LabeledQuery labeled : corpus) {
+                search.names(labeled.query, K);
+            }
+        }
+
+        int hitsAtOne = 0;
+        int hitsAtK = 0;
+        double reciprocalRankSum = 0d;
+        List<String> missed = new ArrayList<String>();
+        for (LabeledQuery labeled : corpus) {
+            int rank = search.names(labeled.query, K).indexOf(labeled.expectedName) + 1;
+            if (rank == 1) {
+                hitsAtOne++;
+            }
+            if (rank > 0) {
+                hitsAtK++;
+                reciprocalRankSum += 1d / rank;
+            } else {
+                missed.add(labeled.query);
+            }
+        }
+
+        boolean trackAllocation = allocatedBytes() >= 0L;
+        long[] latencies = new long[corpus.size() * iterations];
+        long allocatedBytes = 0L;
+        int sample = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (LabeledQuery labeled : corpus) {
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                search.names(labeled.query, K);
+                latencies[sample++] = System.nanoTime() - start;
+                allocatedBytes += allocatedBytes() - allocatedBefore;
+            }
+        }
+        Arrays.sort(latencies);
+
+        int total = corpus.size();
+        return new Report(
+                dataset,
+                total,
+                ((double) hitsAtOne) / total,
+                ((double) hitsAtK) / total,
+                reciprocalRankSum / total,
+                percentile(latencies, 0.50d),
+                percentile(latencies, 0.99d),
+                trackAllocation ? allocatedBytes / latencies.length : -1L,
+                missed
+        );
+    }
+
+    private List<LabeledQuery> loadCorpus(String dataset) throws IOException {
+        List<LabeledQuery> corpus = new ArrayList<LabeledQuery>();
+        ClassPathResource resource = new ClassPathResource(CORPUS_FILE);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.substring(1, line.length() - 1).split("\",\"");
+                if (fields.length == 3 && dataset.equals(fields[0])) {
+                    corpus.add(new LabeledQuery(fields[1], fields[2]));
+                }
+            }
+        }
+        assertTrue(!corpus.isEmpty(), "benchmark corpus is empty for " + dataset);
+        return corpus;
+    }
+
+    private long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    private interface SearchFunction {
+        List<String> names(String query, int limit);
+    }
+
+    private static class LabeledQuery {
+        private final String query;
+        private final String expectedName;
+
+        private LabeledQuery(String query, String expectedName) {
+            this.query = query;
+            this.expectedName = expectedName;
+        }
+    }
+
+    private static class Report {
+        private final String dataset;
+        private final int queries;
+        private final double recallAtOne;
+        private final double recallAtK;
+        private final double mrr;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long allocatedBytesPerQuery;
+        private final List<String> missed;
+
+        private Report(String dataset,
+                       int queries,
+                       double recallAtOne,
+                       double recallAtK,
+                       double mrr,
+                       long p50Nanos,
+                       long p99Nanos,
+                       long allocatedBytesPerQuery,
+                       List<String> missed) {
+            this.dataset = dataset;
+            this.queries = queries;
+            this.recallAtOne = recallAtOne;
+            this.recallAtK = recallAtK;
+            this.mrr = mrr;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.allocatedBytesPerQuery = allocatedBytesPerQuery;
+            this.missed = missed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "reference search benchmark [%s] queries=%d recall@1=%.3f recall@%d=%.3f MRR=%.3f "
+                            + "p50=%.3fms p99=%.3fms alloc/query=%dB missed=%s",
+                    dataset,
+                    queries,
+                    recallAtOne,
+                    K,
+                    recallAtK,
+                    mrr,
+                    p50Nanos / 1_000_000d,
+                    p99Nanos / 1_000_000d,
+                    allocatedBytesPerQuery,
+                    missed
+            );
+        }
+    }
+}
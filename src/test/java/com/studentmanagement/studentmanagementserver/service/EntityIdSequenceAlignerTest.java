@@ -0,0 +1,66 @@
+package com.studentmanagement.studentmanagementserver.service;
+
+import com.studentmanagement.studentmanagementserver.domain.enums.UserRole;
+import com.studentmanagement.studentmanagementserver.domain.student.Student;
+import com.studentmanagement.studentmanagementserver.domain.student.StudentCourseRecord;
+import com.studentmanagement.studentmanagementserver.domain.user.User;
+import com.studentmanagement.studentmanagementserver.repo.StudentCourseRecordRepository;
+import com.studentmanagement.studentmanagementserver.repo.StudentRepository;
+import com.studentmanagement.studentmanagementserver.repo.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class EntityIdSequenceAlignerTest {
+
+    @Autowired EntityIdSequenceAligner aligner;
+    @Autowired UserRepository userRepository;
+    @Autowired StudentRepository studentRepository;
+    @Autowired StudentCourseRecordRepository studentCourseRecordRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void alignSequences_restartsSequenceBehindExistingIds() {
+        User existing = userRepository.save(new User("seq_align_existing", "hash", UserRole.STUDENT));
+        // Simulate a table populated while ids were IDENTITY columns and a freshly created sequence.
+        jdbcTemplate.execute("alter sequence user_seq restart with 1");
+
+        EntityIdSequenceAligner.AlignResult result = aligner.alignSequences();
+
+        assertTrue(result.getRestarted() >= 1);
+        Long nextValue = jdbcTemplate.queryForObject("select nextval('user_seq')", Long.class);
+        assertTrue(nextValue > existing.getId());
+        assertEquals(0, aligner.alignSequences().getRestarted());
+    }
+
+    @Test
+    void saveAll_batchesInsertsIntoFewStatements() {
+        User user = userRepository.save(new User("seq_batch_student", "hash", UserRole.STUDENT));
+        Student student = studentRepository.save(new Student(user, "Amy", "Chen", "Amy"));
+        List<StudentCourseRecord> courses = new ArrayList<StudentCourseRecord>();
+        for (int i = 0; i < 20; i++) {
+            courses.add(new StudentCourseRecord(student, "Night School", "MHF4U-" + i, 90, 12, null, null));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        studentCourseRecordRepository.saveAll(courses);
+
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "expected batched inserts, prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+}